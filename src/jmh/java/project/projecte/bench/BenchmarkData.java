@@ -0,0 +1,168 @@
+package project.projecte.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import project.projecte.DAO.AtomicFiles;
+import project.projecte.DAO.BillPartitionStore;
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillItem;
+import project.projecte.Model.BillManager;
+
+/**
+ * Synthetic datasets for the benchmarks, generated with a fixed seed into
+ * target/jmh-data/&lt;name&gt; and reused by later runs (a "ready" marker is
+ * written last, so an interrupted generation is redone).
+ *
+ * Bills are spread evenly over one year starting at {@link #FIRST_DAY}, with
+ * 1-5 lines each from a catalog of {@link #CATALOG_SIZE} items and
+ * {@link #CASHIERS} cashiers.
+ */
+final class BenchmarkData {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    static final int DAYS = 365;
+    static final int CATALOG_SIZE = 1000;
+    static final int CASHIERS = 20;
+    static final int CATEGORIES = 25;
+
+    private static final Path ROOT = Path.of("target", "jmh-data");
+    private static final String READY_MARKER = "ready";
+
+    private BenchmarkData() {
+    }
+
+    /** Data directory holding {@code billCount} bills in day partitions. */
+    static Path bills(int billCount) throws IOException {
+        Path directory = ROOT.resolve("bills-" + billCount);
+        if (Files.exists(directory.resolve(READY_MARKER))) {
+            return directory;
+        }
+        deleteRecursively(directory);
+        BillPartitionStore store = new BillPartitionStore(directory.resolve("bills"));
+        Random random = new Random(42);
+        int number = 1;
+        for (int d = 0; d < DAYS; d++) {
+            // Spread the remainder over the first days
+            int today = billCount / DAYS + (d < billCount % DAYS ? 1 : 0);
+            LocalDate day = FIRST_DAY.plusDays(d);
+            List<Bill> bills = new ArrayList<>(today);
+            for (int b = 0; b < today; b++) {
+                bills.add(randomBill(random, number++, day));
+            }
+            if (!bills.isEmpty()) {
+                TreeMap<LocalDate, List<Bill>> partition = new TreeMap<>();
+                partition.put(day, bills);
+                store.writePartitions(partition);
+            }
+        }
+        new BillManager(directory.toString());  // builds and saves the sales rollups
+        Files.createFile(directory.resolve(READY_MARKER));
+        return directory;
+    }
+
+    static Bill randomBill(Random random, int number, LocalDate day) {
+        LocalDateTime time = day.atTime(8, 0).plusSeconds(random.nextInt(12 * 3600));
+        Bill bill = new Bill(number, cashierName(random.nextInt(CASHIERS)), time);
+        int lines = 1 + random.nextInt(5);
+        for (int i = 0; i < lines; i++) {
+            int item = random.nextInt(CATALOG_SIZE);
+            bill.getBillItems().add(new BillItem(itemName(item), priceCents(item), 1 + random.nextInt(4)));
+        }
+        return bill;
+    }
+
+    /** Data directory with an inventory.txt of {@code itemCount} items. */
+    static Path inventory(int itemCount) throws IOException {
+        Path directory = ROOT.resolve("inventory-" + itemCount);
+        if (Files.exists(directory.resolve(READY_MARKER))) {
+            return directory;
+        }
+        deleteRecursively(directory);
+        AtomicFiles.write(directory.resolve("inventory.txt"), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int i = 0; i < itemCount; i++) {
+                long selling = priceCents(i);
+                writer.write(String.format(Locale.ROOT, "%s,%s,%.2f,%.2f,%d", itemName(i),
+                        "Category" + (i % CATEGORIES), selling * 0.6 / 100.0, selling / 100.0, 10 + i % 500));
+                writer.newLine();
+            }
+            writer.flush();
+        });
+        Files.createFile(directory.resolve(READY_MARKER));
+        return directory;
+    }
+
+    /** A users.txt with {@code userCount} users, mostly cashiers. */
+    static Path users(int userCount) throws IOException {
+        Path directory = ROOT.resolve("users-" + userCount);
+        Path file = directory.resolve("users.txt");
+        if (Files.exists(directory.resolve(READY_MARKER))) {
+            return file;
+        }
+        deleteRecursively(directory);
+        AtomicFiles.write(file, out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int i = 0; i < userCount; i++) {
+                String role = i % 50 == 0 ? "Manager" : i % 50 == 1 ? "Administrator" : "Cashier";
+                writer.write("user" + i + ",password" + i + "," + role);
+                writer.newLine();
+            }
+            writer.flush();
+        });
+        Files.createFile(directory.resolve(READY_MARKER));
+        return file;
+    }
+
+    static String itemName(int item) {
+        return String.format(Locale.ROOT, "Item%07d", item);
+    }
+
+    static String cashierName(int cashier) {
+        return "cashier" + cashier;
+    }
+
+    private static long priceCents(int item) {
+        return 99 + (item * 37L) % 9900;
+    }
+
+    /** Fresh copy of a dataset for benchmarks that write to it. */
+    static Path copy(Path source) throws IOException {
+        Path target = Files.createTempDirectory("jmh-");
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path copy = target.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(file, copy);
+                }
+            }
+        }
+        return target;
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package project.projecte.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillManager;
+
+/**
+ * BillManager: startup load, reading the whole history (parallel partition
+ * reads), one-week range query and adding a bill (journal append plus
+ * amortized compaction) over 10k to 10M stored bills.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Dprojecte.log.level=WARN"})
+public class BillManagerBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int bills;
+
+    private Path dataDirectory;
+    private BillManager loaded;
+    private LocalDate weekStart;
+
+    private Path appendDirectory;
+    private BillManager appending;
+    private Random random;
+    private int nextNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDirectory = BenchmarkData.bills(bills);
+        loaded = new BillManager(dataDirectory.toString());
+        weekStart = BenchmarkData.FIRST_DAY.plusDays(BenchmarkData.DAYS / 2);
+
+        // addBill writes, so it gets its own copy of the dataset
+        appendDirectory = BenchmarkData.copy(dataDirectory);
+        appending = new BillManager(appendDirectory.toString());
+        random = new Random(7);
+        nextNumber = bills + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteRecursively(appendDirectory);
+    }
+
+    @Benchmark
+    public BillManager load() {
+        return new BillManager(dataDirectory.toString());
+    }
+
+    @Benchmark
+    public List<Bill> loadAllBills() {
+        return new BillManager(dataDirectory.toString()).getBills();
+    }
+
+    @Benchmark
+    public List<Bill> billsWithinWeek() {
+        return loaded.getBillsWithinDateRange(weekStart, weekStart.plusDays(6));
+    }
+
+    @Benchmark
+    public Bill addBill() {
+        Bill bill = BenchmarkData.randomBill(random, nextNumber++,
+                BenchmarkData.FIRST_DAY.plusDays(BenchmarkData.DAYS - 1));
+        appending.addBill(bill);
+        return bill;
+    }
+}
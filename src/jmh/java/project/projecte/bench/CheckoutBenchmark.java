@@ -0,0 +1,91 @@
+package project.projecte.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import project.projecte.DAO.BillNumberAllocator;
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillManager;
+import project.projecte.Model.CheckoutService;
+import project.projecte.Model.Inventory;
+
+/**
+ * End-to-end checkouts through CheckoutService without the UI: open a bill,
+ * add three lines, commit (stock log plus journal append). Runs with one
+ * till and with eight concurrent tills on one inventory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dprojecte.log.level=WARN"})
+public class CheckoutBenchmark {
+
+    private static final int CATALOG = 10_000;
+
+    private Path dataDirectory;
+    private Inventory inventory;
+    private CheckoutService checkout;
+    private String[] names;
+
+    @State(Scope.Thread)
+    public static class Till {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDirectory = BenchmarkData.copy(BenchmarkData.inventory(CATALOG));
+        inventory = new Inventory(dataDirectory.toString());
+        // Plenty of stock so no checkout runs dry during the measurement
+        inventory.getItems().forEach(item -> item.setStockLevel(Integer.MAX_VALUE / 2));
+        BillManager billManager = new BillManager(dataDirectory.toString());
+        BillNumberAllocator numbers = new BillNumberAllocator(dataDirectory.resolve("bill_counter.txt"),
+                10_000, () -> 1L);
+        checkout = new CheckoutService(inventory, billManager, numbers);
+        names = new String[1024];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = BenchmarkData.itemName((int) ((i * 7919L) % CATALOG));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteRecursively(dataDirectory);
+    }
+
+    private Bill checkout(Till till) {
+        CheckoutService.Session session = checkout.openSession("bench");
+        for (int line = 0; line < 3; line++) {
+            session.addLine(names[till.next++ & (names.length - 1)], 1);
+        }
+        return checkout.finalizeBill(session);
+    }
+
+    @Benchmark
+    public Bill singleTill(Till till) {
+        return checkout(till);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Bill eightTills(Till till) {
+        return checkout(till);
+    }
+}
@@ -0,0 +1,99 @@
+package project.projecte.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import project.projecte.Model.Inventory;
+import project.projecte.Model.Item;
+
+/**
+ * Inventory: loading inventory.txt, looking items up by name, picker searches
+ * (prefixes and typos, top 20) and saving the whole file, for 1k to 1M items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dprojecte.log.level=WARN"})
+public class InventoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int items;
+
+    private Path dataDirectory;
+    private Path saveDirectory;
+    private Inventory inventory;
+    private Inventory saving;
+    private String[] names;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDirectory = BenchmarkData.inventory(items);
+        inventory = new Inventory(dataDirectory.toString());
+        // Power-of-two table of names to look up, half of them missing
+        names = new String[1024];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = i % 2 == 0 ? BenchmarkData.itemName((int) ((i * 7919L) % items)) : "Missing" + i;
+        }
+        // What a cashier types: growing prefixes, a category, a typo
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            String name = BenchmarkData.itemName((int) ((i * 7919L) % items));
+            queries[i] = switch (i % 4) {
+                case 0 -> name.substring(0, 1 + i % name.length());
+                case 1 -> "categ " + (i % BenchmarkData.CATEGORIES);
+                case 2 -> "Itme" + name.substring(4);
+                default -> name.substring(4);
+            };
+        }
+        inventory.searchItems("", 1);  // builds the index outside the measurement
+        saveDirectory = BenchmarkData.copy(dataDirectory);
+        saving = new Inventory(saveDirectory.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteRecursively(saveDirectory);
+    }
+
+    @Benchmark
+    public Inventory load() {
+        return new Inventory(dataDirectory.toString());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Item findItemByName() {
+        return inventory.findItemByName(names[next++ & (names.length - 1)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Item> searchItems() {
+        return inventory.searchItems(queries[next++ & (queries.length - 1)], 20);
+    }
+
+    @Benchmark
+    public void save() {
+        saving.saveInventory();
+    }
+}
@@ -0,0 +1,80 @@
+package project.projecte.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillManager;
+import project.projecte.Model.Inventory;
+import project.projecte.Model.SalesColumns;
+import project.projecte.Model.SalesRollup;
+
+/**
+ * Sales statistics for one month: revenue per cashier from the rollups (what
+ * the manager dashboard uses), the same from streams over the bills, and
+ * revenue per category from the column store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Dprojecte.log.level=WARN"})
+public class StatisticsBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int bills;
+
+    private BillManager billManager;
+    private SalesColumns columns;
+    private LocalDateTime monthStart;
+    private LocalDateTime monthEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path dataDirectory = BenchmarkData.bills(bills);
+        billManager = new BillManager(dataDirectory.toString());
+        Inventory catalog = new Inventory(BenchmarkData.inventory(BenchmarkData.CATALOG_SIZE).toString());
+        columns = SalesColumns.from(billManager, catalog);
+        LocalDate first = BenchmarkData.FIRST_DAY.plusMonths(5);
+        monthStart = first.atStartOfDay();
+        monthEnd = first.plusMonths(1).atStartOfDay().minusNanos(1);
+    }
+
+    @Benchmark
+    public Map<String, SalesRollup.Totals> revenueByCashierFromRollups() {
+        return billManager.getSalesByCashier(monthStart, monthEnd);
+    }
+
+    @Benchmark
+    public Map<String, Double> revenueByCashierFromBills() {
+        return billManager.getBillsWithinDateRange(monthStart.toLocalDate(), monthEnd.toLocalDate()).stream()
+                .collect(Collectors.groupingBy(Bill::getCashierUsername,
+                        Collectors.summingDouble(Bill::getTotalAmount)));
+    }
+
+    @Benchmark
+    public Map<String, Long> revenueByCategoryFromColumns() {
+        return columns.query()
+                .between(monthStart, monthEnd)
+                .sumBy(SalesColumns.Dimension.CATEGORY, SalesColumns.Metric.REVENUE_CENTS);
+    }
+}
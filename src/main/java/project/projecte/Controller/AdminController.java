@@ -1,5 +1,6 @@
 package project.projecte.Controller;
 
+import project.projecte.DAO.DataRepository;
 import project.projecte.Model.*;
 import java.time.LocalDate;
 import javafx.geometry.Insets;
@@ -14,19 +15,21 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import project.projecte.Util.Log;
 
 public class AdminController {
 
+    private static final Log LOG = Log.get(AdminController.class);
+
     private final UserManager userManager;
     private final Inventory inventory;
     private final EmployeeManager employeeManager;
 
     public AdminController() {
-        this.userManager = new UserManager();
-        this.inventory = new Inventory();
-        this.employeeManager = new EmployeeManager();
-        userManager.loadUsers();
-        inventory.loadInventory();
+        DataRepository repository = DataRepository.getInstance();
+        this.userManager = repository.getUserManager();
+        this.inventory = repository.getInventory();
+        this.employeeManager = repository.getEmployeeManager();
     }
 
     public UserManager getUserManager() {
@@ -91,7 +94,7 @@ public class AdminController {
 
                 if (newUser != null) {
                     userManager.addUser(newUser);
-                    userManager.saveUsers();
+                    userManager.saveUsersAsync();
                     
                     // Create corresponding Employee record
                     Employee newEmployee = new Employee(name, username, dob, phone, email, salary, role);
@@ -174,7 +177,7 @@ public class AdminController {
                     
                     if (updatedUser != null) {
                         userManager.addUser(updatedUser);
-                        userManager.saveUsers();
+                        userManager.saveUsersAsync();
                         
                         // Update corresponding Employee
                         Employee employee = employeeManager.findEmployeeByUsername(username);
@@ -186,7 +189,7 @@ public class AdminController {
                             employee.setEmail(newEmail);
                             employee.setSalary(newSalary);
                             employee.setAccessLevel(newRole);
-                            employeeManager.saveEmployees();
+                            employeeManager.saveEmployeesAsync();
                         }
                         
                         showAlert(Alert.AlertType.INFORMATION, "User Updated", "User and employee record updated successfully.");
@@ -233,7 +236,7 @@ public class AdminController {
                 
                 // Delete User
                 userManager.removeUser(user);
-                userManager.saveUsers();
+                userManager.saveUsersAsync();
                 showAlert(Alert.AlertType.INFORMATION, "User Deleted", "User and employee record removed successfully.");
                 deleteUserWindow.close();
             } else {
@@ -255,10 +258,7 @@ public class AdminController {
 
         Label header = createHeader("Financial Overview");
 
-        // Ensure inventory is loaded
-        inventory.loadInventory();
-        
-        System.out.println("DEBUG AdminController.viewFinancials: Inventory has " + inventory.getItems().size() + " items");
+        LOG.debug(() -> "viewFinancials: Inventory has " + inventory.getItems().size() + " items");
 
         double totalIncome = inventory.getItems().stream()
                 .mapToDouble(item -> item.getSellingPrice() * item.getStockLevel())
@@ -268,7 +268,7 @@ public class AdminController {
                 .sum();
         double profit = totalIncome - totalCosts;
         
-        System.out.println("DEBUG AdminController.viewFinancials: Income=$" + totalIncome + " Costs=$" + totalCosts + " Profit=$" + profit);
+        LOG.debug(() -> "viewFinancials: Income=$" + totalIncome + " Costs=$" + totalCosts + " Profit=$" + profit);
 
         // Create table with lambda expressions instead of PropertyValueFactory
         TableView<FinancialController> tableView = new TableView<>();
@@ -291,7 +291,7 @@ public class AdminController {
                 new FinancialController("Profit", profit)
         );
         
-        System.out.println("DEBUG AdminController.viewFinancials: Table has " + tableView.getItems().size() + " rows");
+        LOG.debug(() -> "viewFinancials: Table has " + tableView.getItems().size() + " rows");
 
         VBox layout = new VBox(20, header, tableView);
         layout.setPadding(new Insets(20));
@@ -10,10 +10,13 @@ import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
+import java.io.IOException;
 import java.util.Optional;
 
+import project.projecte.DAO.DataRepository;
 import project.projecte.Model.Bill;
 import project.projecte.Model.Cashier;
+import project.projecte.Model.CheckoutService;
 import project.projecte.Model.Inventory;
 import project.projecte.Model.Item;
 
@@ -21,15 +24,18 @@ public class CashierController {
 
     private final Cashier cashier;
     private final Inventory inventory;
+    private final CheckoutService checkoutService;
     private final ObservableList<Item> availableItems;
     private final ObservableList<Item> billItems = FXCollections.observableArrayList();
     private TableView<Item> itemsTable;
     private TableView<Item> billTable;
     private Label totalLabel;
+    private CheckoutService.Session session; // bill in progress, opened by the first line
 
     public CashierController(Cashier cashier, Inventory inventory) {
         this.cashier = cashier;
         this.inventory = inventory;
+        this.checkoutService = DataRepository.getInstance().getCheckoutService();
         this.availableItems = FXCollections.observableArrayList(inventory.getItems());
     }
 
@@ -52,6 +58,13 @@ public class CashierController {
         Button finalizeBillButton = new Button("Finalize Bill");
         finalizeBillButton.setOnAction(event -> finalizeBill(primaryStage));
 
+        // Closing the dashboard with an unfinished bill puts the reserved stock back
+        primaryStage.setOnHidden(event -> {
+            if (session != null) {
+                session.rollback();
+            }
+        });
+
         // Layout for the Cashier dashboard
         VBox layout = new VBox(10, itemsTable, addItemButton, billTable, totalLabel, finalizeBillButton);
         layout.setStyle("-fx-padding: 10; -fx-alignment: center;");
@@ -115,7 +128,11 @@ public class CashierController {
         if (result.isPresent()) {
             try {
                 int quantity = Integer.parseInt(result.get());
-                if (quantity <= 0 || quantity > selectedItem.getStockLevel()) {
+                if (session == null) {
+                    session = checkoutService.openSession(cashier.getUsername());
+                }
+                // Reserves the stock, so the line cannot be oversold by another till
+                if (session.addLine(selectedItem, quantity) != CheckoutService.LineStatus.ADDED) {
                     showAlert(Alert.AlertType.ERROR, "Invalid Quantity",
                             "Please enter a valid quantity between 1 and " + selectedItem.getStockLevel());
                     return;
@@ -125,10 +142,6 @@ public class CashierController {
                 Item itemForBill = new Item(selectedItem.getName(), selectedItem.getCategory(),
                         selectedItem.getPurchasePrice(), selectedItem.getSellingPrice(), quantity);
                 billItems.add(itemForBill);
-
-                // Update stock level and total
-                selectedItem.setStockLevel(selectedItem.getStockLevel() - quantity);
-                inventory.saveInventory();
                 updateTotal();
 
                 // Refresh available items table
@@ -141,17 +154,20 @@ public class CashierController {
     }
 
     private void finalizeBill(Stage primaryStage) {
-        if (billItems.isEmpty()) {
-            showAlert(Alert.AlertType.ERROR, "Empty Bill", "Please add items to the bill before finalizing.");
+        String problem = session == null ? "Please add items to the bill before finalizing." : session.validate();
+        if (problem != null) {
+            showAlert(Alert.AlertType.ERROR, "Invalid Bill", problem);
             return;
         }
 
-        Bill bill = cashier.createBill();
-        for (Item item : billItems) {
-            bill.addItem(item, item.getStockLevel());
+        Bill bill = checkoutService.finalizeBill(session);
+        session = null;
+        cashier.getBills().add(bill);
+        try {
+            CheckoutService.printReceipt(bill, CheckoutService.BILLS_DIRECTORY);
+        } catch (IOException e) {
+            showAlert(Alert.AlertType.ERROR, "Save Error", "Failed to save the bill: " + e.getMessage());
         }
-
-        cashier.saveBillToFile(bill);
         showAlert(Alert.AlertType.INFORMATION, "Bill Finalized",
                 "Bill created successfully!\nTotal: $" + bill.getTotalAmount());
 
@@ -162,7 +178,7 @@ public class CashierController {
     }
 
     private void updateTotal() {
-        double total = billItems.stream().mapToDouble(item -> item.getSellingPrice() * item.getStockLevel()).sum();
+        double total = session == null ? 0 : session.getBill().getTotalAmount();
         totalLabel.setText(String.format("Total: $%.2f", total));
     }
 
@@ -89,7 +89,7 @@ public class EmployeeController {
         employee.setEmail(newEmail);
         employee.setSalary(newSalary);
         employee.setAccessLevel(newAccessLevel);
-        employeeManager.saveEmployees();
+        employeeManager.saveEmployeesAsync();
 
         // Update corresponding User
         if (oldUser != null) {
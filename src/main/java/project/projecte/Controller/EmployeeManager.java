@@ -1,12 +1,20 @@
 package project.projecte.Controller;
 
+import project.projecte.DAO.AtomicFiles;
+import project.projecte.DAO.FileManagement;
+import project.projecte.DAO.PersistenceExecutor;
 import project.projecte.Model.Employee;
+import project.projecte.Util.Log;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class EmployeeManager implements Serializable {
+
+    private static final Log LOG = Log.get(EmployeeManager.class);
     private static final long serialVersionUID = 1L;
     private static final String DATA_FILE = "data/employees.dat";
 
@@ -17,18 +25,23 @@ public class EmployeeManager implements Serializable {
         loadEmployees(); // Ngarko t� dh�nat nga skedari n� inicializim
     }
 
+    // Starts from employees already loaded, e.g. from the startup snapshot
+    public EmployeeManager(List<Employee> loadedEmployees) {
+        this.employees = new ArrayList<>(loadedEmployees);
+    }
+
     public List<Employee> getEmployees() {
         return employees;
     }
 
     public void addEmployee(Employee employee) {
         employees.add(employee);
-        saveEmployees(); // Ruaj t� dh�nat sa her� shtohet nj� punonj�s
+        saveEmployeesAsync(); // Ruaj t� dh�nat sa her� shtohet nj� punonj�s
     }
 
     public void removeEmployee(Employee employee) {
         employees.remove(employee);
-        saveEmployees(); // Ruaj t� dh�nat sa her� fshihet nj� punonj�s
+        saveEmployeesAsync(); // Ruaj t� dh�nat sa her� fshihet nj� punonj�s
     }
 
     public Employee findEmployeeByName(String name) {
@@ -53,27 +66,51 @@ public class EmployeeManager implements Serializable {
      * Ruajtja e t� dh�nave t� punonj�sve n� nj� skedar binar.
      */
     public void saveEmployees() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(DATA_FILE))) {
-            oos.writeObject(employees);
+        try {
+            writeEmployees(serializeEmployees());
         } catch (IOException e) {
-            System.err.println("Failed to save employees: " + e.getMessage());
+            LOG.error("Failed to save employees", e);
         }
     }
 
     /**
-     * Leximi i t� dh�nave t� punonj�sve nga nj� skedar binar.
+     * saveEmployees on the persistence thread; the list is serialized right away.
      */
-    private void loadEmployees() {
-        File file = new File(DATA_FILE);
-        if (!file.exists()) {
-            return; // Skedari nuk ekziston ende, kalo
+    public CompletableFuture<Void> saveEmployeesAsync() {
+        byte[] content;
+        try {
+            content = serializeEmployees();
+        } catch (IOException e) {
+            LOG.error("Failed to save employees", e);
+            return CompletableFuture.failedFuture(e);
         }
+        return PersistenceExecutor.shared().submit(DATA_FILE, () -> writeEmployees(content));
+    }
+
+    private byte[] serializeEmployees() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bytes);
+        oos.writeObject(new ArrayList<>(employees));
+        oos.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeEmployees(byte[] content) throws IOException {
+        AtomicFiles.write(Path.of(DATA_FILE), out -> out.write(content));
+    }
 
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            List<Employee> loadedEmployees = (List<Employee>) ois.readObject();
+    /**
+     * Leximi i t� dh�nave t� punonj�sve nga nj� skedar binar.
+     */
+    private void loadEmployees() {
+        try {
+            List<Employee> loadedEmployees = FileManagement.loadEmployees(DATA_FILE);
+            if (loadedEmployees == null) {
+                return; // Skedari nuk ekziston ende, kalo
+            }
             employees.clear();
             employees.addAll(loadedEmployees);
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             System.err.println("Failed to load employees: " + e.getMessage());
         }
     }
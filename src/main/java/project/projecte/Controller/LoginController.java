@@ -1,76 +1,72 @@
 package project.projecte.Controller;
 
+import project.projecte.DAO.DataRepository;
 import project.projecte.Model.*;
 import project.projecte.View.*;
 import project.projecte.Controller.*;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 import java.util.List;
+import project.projecte.Util.Log;
 
 public class LoginController {
+    private static final Log LOG = Log.get(LoginController.class);
     private final UserManager userManager;
+    private final AuthenticationService authenticationService;
     private final Stage primaryStage;
 
     public LoginController(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.userManager = new UserManager();
-        this.userManager.loadUsers();
+        this.userManager = DataRepository.getInstance().getUserManager();
+        this.authenticationService = DataRepository.getInstance().getAuthenticationService();
     }
 
     public void handleLogin(String username, String password, LoginView loginView) {
-        User user = userManager.findUserByUsername(username);
-
-        if (user != null && user.getPassword().equals(password)) {
-            loginView.showError(""); // Clear error message
-            navigateToDashboard(user);
-        } else {
-            loginView.showError("Invalid login credentials.");
-        }
+        loginView.showError(""); // Clear error message
+        // Hash verification runs on the auth workers; the result comes back on the FX thread
+        authenticationService.authenticate(username, password).whenComplete((user, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                loginView.showError("Too many sign-ins right now, please try again.");
+            } else if (user == null) {
+                loginView.showError("Invalid login credentials.");
+            } else {
+                navigateToDashboard(user, loginView);
+            }
+        }));
     }
 
-    private void navigateToDashboard(User user) {
+    private void navigateToDashboard(User user, LoginView loginView) {
         switch (user.getRole()) {
             case "Administrator" -> {
                 AdminController adminController = new AdminController();
                 new AdministratorView(adminController).display(primaryStage);
             }
-            case "Manager" -> {
-                // Load inventory
-                Inventory inventory = new Inventory();
-                inventory.loadInventory();
-                System.out.println("DEBUG LoginController: Loaded " + inventory.getItems().size() + " items");
-                
-                // Load all cashiers from the user manager
-                List<Cashier> cashiers = userManager.getUsers().stream()
-                        .filter(u -> u.getRole().equals("Cashier"))
-                        .map(u -> (Cashier) u)
-                        .toList();
-                
-                System.out.println("DEBUG LoginController: Found " + cashiers.size() + " cashiers");
-
-                // Load all bills and distribute them to the cashiers
-                BillManager billManager = new BillManager();
-                List<Bill> allBills = billManager.getBills();
-                System.out.println("DEBUG LoginController: Loaded " + allBills.size() + " bills");
-                
-                for (Cashier cashier : cashiers) {
-                    cashier.getBills().clear();
-                    List<Bill> cashierBills = allBills.stream()
-                            .filter(b -> b.getCashierUsername() != null
-                                    && b.getCashierUsername().equalsIgnoreCase(cashier.getUsername()))
-                            .toList();
-                    cashier.getBills().addAll(cashierBills);
-                    System.out.println("DEBUG LoginController: Cashier " + cashier.getUsername() + " has " + cashierBills.size() + " bills");
-                }
-
-                Manager manager = new Manager(user.getUsername(), user.getPassword(), inventory, cashiers, null);
-                new ManagerView(manager).showManagerDashboard(primaryStage);
-            }
+            case "Manager" -> showManagerDashboard(user);
             case "Cashier" -> {
-                Inventory inventory = new Inventory();
-                inventory.loadInventory();
-                System.out.println("DEBUG LoginController: Cashier " + user.getUsername() + " logging in");
+                Inventory inventory = DataRepository.getInstance().getInventory();
+                LOG.debug(() -> "Cashier " + user.getUsername() + " logging in");
                 new CashierView(inventory, user.getUsername()).showCashierDashboard(primaryStage);
             }
         }
     }
+
+    private void showManagerDashboard(User user) {
+        // Shared inventory, loaded once per process
+        Inventory inventory = DataRepository.getInstance().getInventory();
+        LOG.debug(() -> "Loaded " + inventory.getItems().size() + " items");
+        
+        // Load all cashiers from the user manager
+        List<Cashier> cashiers = userManager.getUsers().stream()
+                .filter(u -> u.getRole().equals("Cashier"))
+                .map(u -> (Cashier) u)
+                .toList();
+        
+        LOG.debug(() -> "Found " + cashiers.size() + " cashiers");
+
+        // No bills are read here: the dashboard reads totals from the sales
+        // rollup and pages bills per cashier on demand
+
+        Manager manager = new Manager(user.getUsername(), user.getPassword(), inventory, cashiers, null);
+        new ManagerView(manager).showManagerDashboard(primaryStage);
+    }
 }
@@ -57,7 +57,7 @@ public class SupplierController {
                 supplier.addProduct(product.trim());
             }
             manager.addSupplier(supplier);
-            manager.saveSuppliers(); // Save to file
+            manager.saveSuppliersAsync(); // Save to file
             showAlert(Alert.AlertType.INFORMATION, "Success", "Supplier added successfully.");
         } else {
             showAlert(Alert.AlertType.ERROR, "Error", "Name and contact information are required.");
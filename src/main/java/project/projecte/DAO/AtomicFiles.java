@@ -0,0 +1,375 @@
+package project.projecte.DAO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import project.projecte.Util.Log;
+
+/**
+ * Crash-safe replacement of whole data files.
+ *
+ * {@link #write} streams the new contents into {@code <file>.tmp} through a
+ * reusable direct buffer, appends a checksum footer and fsyncs. It then makes
+ * {@code <file>.bak} a hard link to (or, where links are unsupported, a copy
+ * of) the current file, and renames the temp file over the current one with
+ * {@code ATOMIC_MOVE}, so the file itself never goes missing, even for
+ * readers that take no lock. Finally it fsyncs the directory.
+ *
+ * {@link #read} checks the footer and falls back to the backup if the file is
+ * missing or damaged. Files without a footer (written before this existed)
+ * are returned as they are.
+ *
+ * Writes to one file are serialized by a per-path lock, keyed by the real
+ * path of its directory so aliases of one file share it. A temp file left by
+ * a crash is deleted the first time the file is read, under that same lock,
+ * so a read never removes the temp file of a write in progress.
+ *
+ * Footer: the 16 ASCII bytes {@code #crc32=XXXXXXXX\n}, the CRC-32 of
+ * everything before it in hex.
+ */
+public final class AtomicFiles {
+
+    private static final Log LOG = Log.get(AtomicFiles.class);
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".bak";
+    private static final String BACKUP_TEMP_SUFFIX = ".bak.new";
+    private static final byte[] FOOTER_PREFIX = "#crc32=".getBytes(StandardCharsets.US_ASCII);
+    private static final int FOOTER_SIZE = FOOTER_PREFIX.length + 9;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Files at least this large are memory-mapped by {@link #map}. */
+    public static final int MAP_THRESHOLD = 1024 * 1024;
+
+    // One lock per file, held by write(), and the files whose leftover temp
+    // files have been dealt with in this JVM
+    private static final ConcurrentHashMap<Path, Object> LOCKS = new ConcurrentHashMap<>();
+    private static final Set<Path> TEMP_CHECKED = ConcurrentHashMap.newKeySet();
+
+    // Staging buffer per thread; only used inside write(), which does not nest
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    /** Produces the file contents; closing the stream is optional and harmless. */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private AtomicFiles() {
+    }
+
+    public static Path backupPath(Path target) {
+        return target.resolveSibling(target.getFileName() + BACKUP_SUFFIX);
+    }
+
+    /** True if the file or its backup exists. */
+    public static boolean exists(Path target) {
+        return Files.exists(target) || Files.exists(backupPath(target));
+    }
+
+    /** Replaces {@code target} with the given contents plus a checksum footer. */
+    public static void write(Path target, ContentWriter content) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path key = lockKey(target);
+        synchronized (lockFor(key)) {
+            // Any temp file is overwritten below, so none is stale any more
+            TEMP_CHECKED.add(key);
+            Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+            ByteBuffer buffer = BUFFER.get();
+            buffer.clear();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ChannelOutput out = new ChannelOutput(channel, buffer);
+                content.writeTo(out);
+                out.drain();
+                buffer.put(footer(out.checksum()));
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            } finally {
+                buffer.clear();
+            }
+
+            if (Files.exists(target)) {
+                keepBackup(target);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(directory);
+        }
+    }
+
+    // Points the backup at the current contents without moving the file away.
+    // The link (or copy) is made under a temp name and renamed over the old
+    // backup, so a backup is present throughout as well.
+    private static void keepBackup(Path target) throws IOException {
+        Path staged = target.resolveSibling(target.getFileName() + BACKUP_TEMP_SUFFIX);
+        Files.deleteIfExists(staged);
+        try {
+            Files.createLink(staged, target);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(target, staged, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(staged, backupPath(target), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the contents of {@code target} without the footer, or of its
+     * backup if the file is missing or fails its checksum. Returns null if
+     * neither exists; throws if both are damaged.
+     */
+    public static byte[] read(Path target) throws IOException {
+        return readVerified(target, file -> stripFooter(Files.readAllBytes(file)));
+    }
+
+    /**
+     * Like {@link #read}, but returns a read-only buffer. Files of at least
+     * {@link #MAP_THRESHOLD} bytes are memory-mapped instead of copied onto
+     * the heap; the checksum is computed over the mapping.
+     *
+     * A mapping stays open until the buffer is garbage collected, and some
+     * platforms (Windows) refuse to rename a mapped file, so callers should
+     * drop the buffer as soon as they have parsed it.
+     */
+    public static ByteBuffer map(Path target) throws IOException {
+        return readVerified(target, AtomicFiles::mapVerified);
+    }
+
+    /**
+     * The checksum recorded in the footer of {@code target} (read without
+     * reading the rest of the file), or -1 if the file is missing or has no
+     * footer. It identifies the contents for caches derived from the file.
+     */
+    public static long storedChecksum(Path target) throws IOException {
+        if (!Files.exists(target)) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FOOTER_SIZE) {
+                return -1;
+            }
+            ByteBuffer tail = ByteBuffer.allocate(FOOTER_SIZE);
+            while (tail.hasRemaining()) {
+                if (channel.read(tail, size - FOOTER_SIZE + tail.position()) < 0) {
+                    return -1;
+                }
+            }
+            byte[] footer = tail.array();
+            if (!hasFooter(footer)) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(new String(footer, FOOTER_PREFIX.length, 8, StandardCharsets.US_ASCII), 16);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+
+    // The file under the real path of its directory, so that two spellings
+    // of one file (relative, through a symlink) map to the same lock
+    private static Path lockKey(Path target) {
+        Path absolute = target.toAbsolutePath().normalize();
+        Path directory = absolute.getParent();
+        if (directory != null) {
+            try {
+                return directory.toRealPath().resolve(absolute.getFileName());
+            } catch (IOException e) {
+                // No directory yet, so nothing to clean up or read either
+            }
+        }
+        return absolute;
+    }
+
+    private static Object lockFor(Path key) {
+        return LOCKS.computeIfAbsent(key, path -> new Object());
+    }
+
+    // Temp files found before this JVM wrote the path are left over from a
+    // crash. Checked and deleted under the write lock, so never while a write
+    // is running.
+    private static void removeStaleTemp(Path target) throws IOException {
+        Path key = lockKey(target);
+        if (TEMP_CHECKED.contains(key)) {
+            return;
+        }
+        synchronized (lockFor(key)) {
+            if (TEMP_CHECKED.add(key)) {
+                Files.deleteIfExists(target.resolveSibling(target.getFileName() + TEMP_SUFFIX));
+                Files.deleteIfExists(target.resolveSibling(target.getFileName() + BACKUP_TEMP_SUFFIX));
+            }
+        }
+    }
+
+    // Reads one copy of a file; returns null if its checksum does not match
+    @FunctionalInterface
+    private interface VerifiedLoader<T> {
+        T load(Path file) throws IOException;
+    }
+
+    private static <T> T readVerified(Path target, VerifiedLoader<T> loader) throws IOException {
+        removeStaleTemp(target);
+        Path backup = backupPath(target);
+        if (Files.exists(target)) {
+            try {
+                T content = loader.load(target);
+                if (content != null) {
+                    return content;
+                }
+                LOG.warn("Checksum mismatch in " + target + ", trying backup " + backup);
+            } catch (NoSuchFileException e) {
+                // Removed meanwhile by something other than write()
+                LOG.warn("Missing " + target + ", recovering from backup " + backup);
+            }
+        } else if (Files.exists(backup)) {
+            LOG.warn("Missing " + target + ", recovering from backup " + backup);
+        } else {
+            return null;
+        }
+        if (Files.exists(backup)) {
+            T content = loader.load(backup);
+            if (content != null) {
+                return content;
+            }
+        }
+        throw new IOException("No intact copy of " + target);
+    }
+
+    private static ByteBuffer mapVerified(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAP_THRESHOLD) {
+                byte[] content = stripFooter(Files.readAllBytes(file));
+                return content == null ? null : ByteBuffer.wrap(content).asReadOnlyBuffer();
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int size = data.limit();
+        byte[] tail = new byte[Math.min(FOOTER_SIZE, size)];
+        data.get(size - tail.length, tail);
+        if (!hasFooter(tail)) {
+            return data;
+        }
+        int length = size - FOOTER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(data.slice(0, length));
+        if (!Arrays.equals(tail, footer((int) crc.getValue()))) {
+            return null;
+        }
+        return data.slice(0, length);
+    }
+
+    // Contents without the footer, the data itself if it has no footer, or
+    // null if the footer does not match. For one copy, without the backup
+    // fallback of read().
+    static byte[] stripFooter(byte[] data) {
+        if (!hasFooter(data)) {
+            return data;
+        }
+        int length = data.length - FOOTER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        byte[] expected = footer((int) crc.getValue());
+        if (!Arrays.equals(data, length, data.length, expected, 0, FOOTER_SIZE)) {
+            return null;
+        }
+        return Arrays.copyOf(data, length);
+    }
+
+    private static boolean hasFooter(byte[] data) {
+        if (data.length < FOOTER_SIZE || data[data.length - 1] != '\n') {
+            return false;
+        }
+        int start = data.length - FOOTER_SIZE;
+        return Arrays.equals(data, start, start + FOOTER_PREFIX.length, FOOTER_PREFIX, 0, FOOTER_PREFIX.length);
+    }
+
+    private static byte[] footer(int checksum) {
+        return (String.format("#crc32=%08x", checksum) + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Makes the renames durable; not supported on every platform
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // e.g. Windows cannot open a directory as a channel
+        }
+    }
+
+    // Copies writes into the direct buffer and hands full buffers to the
+    // channel, updating the checksum on the way
+    private static final class ChannelOutput extends OutputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final CRC32 crc = new CRC32();
+
+        ChannelOutput(FileChannel channel, ByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int n = Math.min(len, buffer.remaining());
+                buffer.put(b, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        // flush() and close() are no-ops: the data is forced once, by write()
+
+        void drain() throws IOException {
+            buffer.flip();
+            crc.update(buffer);
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        int checksum() {
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package project.projecte.DAO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32;
+
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillItem;
+
+/**
+ * Compact binary format for bills, replacing Java serialization.
+ *
+ * Layout (version 3):
+ * <pre>
+ *   int    magic "BILC"
+ *   byte   version
+ *   int    index length in bytes
+ *   int    CRC-32 of the index
+ *   index:
+ *     varint dictionary size, then per entry: varint length + UTF-8 bytes
+ *     varint bill count, then per bill:
+ *       varint bill number (zigzag)
+ *       varint cashier dictionary id + 1 (0 = null)
+ *       varlong bill date as epoch millis, local time taken as UTC (zigzag)
+ *       varlong total in cents (zigzag)
+ *       varint item count
+ *       varint byte length of the bill's items
+ *       varint CRC-32 of the bill's items
+ *   items, per bill in index order, per item:
+ *     varint name dictionary id + 1 (0 = null)
+ *     varlong selling price in cents (zigzag)
+ *     varint quantity (zigzag)
+ * </pre>
+ * Item names and cashier usernames are stored once per file in the dictionary.
+ * Because the index comes first and records each bill's item length, a reader
+ * can load just the index and fetch one bill's items later with a single
+ * positional read (see {@link #readIndexed}). The index and each bill's items
+ * carry their own checksum, so neither read has to check the whole file.
+ * Version 2 files (the same without checksums) and version 1 files (no index,
+ * items interleaved with each bill) can still be decoded.
+ */
+public final class BillCodec {
+
+    private static final int MAGIC = 0x42494C43; // "BILC"
+    private static final byte VERSION = 3;
+    private static final byte VERSION_2 = 2;
+    private static final byte VERSION_1 = 1;
+    private static final int HEADER_SIZE = 13;
+    private static final int VERSION_2_HEADER_SIZE = 9;
+
+    private BillCodec() {
+    }
+
+    public static byte[] encode(List<Bill> bills) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        for (Bill bill : bills) {
+            intern(bill.getCashierUsername(), ids, dictionary);
+            for (BillItem item : bill.getBillItems()) {
+                intern(item.getName(), ids, dictionary);
+            }
+        }
+
+        // Items first, so the index can record each bill's item length
+        Output items = new Output(bills.size() * 16);
+        int[] itemLengths = new int[bills.size()];
+        int[] itemChecksums = new int[bills.size()];
+        for (int b = 0; b < bills.size(); b++) {
+            int before = items.size();
+            for (BillItem item : bills.get(b).getBillItems()) {
+                items.writeVarInt(idOf(item.getName(), ids));
+                items.writeVarLong(zigZag(item.getPriceCents()));
+                items.writeVarInt(zigZag(item.getQuantity()));
+            }
+            itemLengths[b] = items.size() - before;
+            itemChecksums[b] = items.checksum(before, itemLengths[b]);
+        }
+
+        Output index = new Output(64 + bills.size() * 16);
+        index.writeVarInt(dictionary.size());
+        for (String value : dictionary) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            index.writeVarInt(utf8.length);
+            index.writeBytes(utf8);
+        }
+        index.writeVarInt(bills.size());
+        for (int b = 0; b < bills.size(); b++) {
+            Bill bill = bills.get(b);
+            index.writeVarInt(zigZag(bill.getBillNumber()));
+            index.writeVarInt(idOf(bill.getCashierUsername(), ids));
+            index.writeVarLong(zigZag(toEpochMillis(bill.getBillDate())));
+            index.writeVarLong(zigZag(bill.getTotalCents()));
+            index.writeVarInt(bill.getBillItems().size());
+            index.writeVarInt(itemLengths[b]);
+            index.writeVarInt(itemChecksums[b]);
+        }
+
+        Output out = new Output(HEADER_SIZE + index.size() + items.size());
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(index.size());
+        out.writeInt(index.checksum(0, index.size()));
+        index.writeTo(out);
+        items.writeTo(out);
+        return out.toByteArray();
+    }
+
+    public static List<Bill> decode(byte[] data) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a bill file (bad magic)");
+            }
+            byte version = in.get();
+            if (version == VERSION_1) {
+                return decodeVersion1(in);
+            }
+            if (version != VERSION && version != VERSION_2) {
+                throw new IOException("Unsupported bill file version " + version);
+            }
+            int headerSize = version == VERSION ? HEADER_SIZE : VERSION_2_HEADER_SIZE;
+            int indexLength = in.getInt();
+            if (version == VERSION) {
+                int indexChecksum = in.getInt();
+                checkIndex(ByteBuffer.wrap(data, HEADER_SIZE, indexLength), indexChecksum, "bill data");
+            }
+            List<IndexEntry> entries = new ArrayList<>();
+            String[] dictionary = readIndex(in.limit(headerSize + indexLength), entries, version);
+            ByteBuffer items = ByteBuffer.wrap(data).position(headerSize + indexLength);
+            List<Bill> bills = new ArrayList<>(entries.size());
+            for (IndexEntry entry : entries) {
+                Bill bill = new Bill(entry.number(), entry.cashier(), entry.date());
+                if (version == VERSION && checksum(items.slice(items.position(), entry.itemsLength()))
+                        != entry.itemsChecksum()) {
+                    throw new IOException("Item checksum mismatch in bill " + entry.number());
+                }
+                int end = items.position() + entry.itemsLength();
+                for (int i = 0; i < entry.itemCount(); i++) {
+                    bill.getBillItems().add(readItem(items, dictionary));
+                }
+                if (items.position() != end) {
+                    throw new IOException("Item length mismatch in bill " + entry.number());
+                }
+                bill.seal();
+                bills.add(bill);
+            }
+            return bills;
+        } catch (RuntimeException e) {
+            // BufferUnderflow / IndexOutOfBounds from truncated or corrupt data
+            throw new IOException("Corrupt bill data: " + e, e);
+        }
+    }
+
+    /**
+     * Reads only the index of a bill file, after checking the index checksum.
+     * The returned bills carry their number, cashier, date and total; their
+     * items are read from the file the first time {@link Bill#getBillItems()}
+     * is called. {@code onItemsLoaded} (may be null) is told each time a
+     * bill's items are paged in, with the number of items, so a caller can
+     * keep a memory budget.
+     *
+     * Items are read by reopening the file, which may have been replaced
+     * meanwhile. The index checksum identifies the copy the offsets belong
+     * to: if the file no longer has it, its backup (which holds the previous
+     * copy, see {@link AtomicFiles}) is tried, and if neither has it the read
+     * fails rather than decode another copy's bytes. Each bill's items are
+     * also checked against their own checksum.
+     *
+     * Files in older versions have no checksums of their own. They are
+     * checked whole against their {@link AtomicFiles} footer, if any, and
+     * decoded eagerly.
+     */
+    public static List<Bill> readIndexed(Path file, ObjIntConsumer<Bill> onItemsLoaded) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readAt(channel, 0, VERSION_2_HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a bill file (bad magic): " + file);
+            }
+            byte version = header.get();
+            if (version != VERSION) {
+                byte[] content = AtomicFiles.stripFooter(Files.readAllBytes(file));
+                if (content == null) {
+                    throw new IOException("Checksum mismatch in bill file " + file);
+                }
+                return decode(content);
+            }
+            int indexLength = header.getInt();
+            int indexChecksum = readAt(channel, VERSION_2_HEADER_SIZE, 4).getInt();
+            ByteBuffer index = readAt(channel, HEADER_SIZE, indexLength);
+            checkIndex(index, indexChecksum, file.toString());
+            List<IndexEntry> entries = new ArrayList<>();
+            String[] dictionary = readIndex(index, entries, version);
+
+            List<Bill> bills = new ArrayList<>(entries.size());
+            long offset = HEADER_SIZE + (long) indexLength;
+            for (IndexEntry entry : entries) {
+                long itemsOffset = offset;
+                offset += entry.itemsLength();
+                bills.add(new Bill(entry.number(), entry.cashier(), entry.date(), entry.totalCents(), bill -> {
+                    List<BillItem> items = readItems(file, indexChecksum, itemsOffset, entry, dictionary);
+                    if (onItemsLoaded != null) {
+                        onItemsLoaded.accept(bill, items.size());
+                    }
+                    return items;
+                }));
+            }
+            return bills;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt bill file " + file + ": " + e, e);
+        }
+    }
+
+    private static List<BillItem> readItems(Path file, int indexChecksum, long offset, IndexEntry entry,
+                                            String[] dictionary) {
+        try {
+            ByteBuffer in = readCopy(file, indexChecksum, offset, entry.itemsLength());
+            if (in == null) {
+                in = readCopy(AtomicFiles.backupPath(file), indexChecksum, offset, entry.itemsLength());
+            }
+            if (in == null) {
+                throw new IOException("Bill file was rewritten since its index was read");
+            }
+            if (checksum(in.duplicate()) != entry.itemsChecksum()) {
+                throw new IOException("Item checksum mismatch in bill " + entry.number());
+            }
+            List<BillItem> items = new ArrayList<>(entry.itemCount());
+            for (int i = 0; i < entry.itemCount(); i++) {
+                items.add(readItem(in, dictionary));
+            }
+            return items;
+        } catch (IOException | RuntimeException e) {
+            throw new UncheckedIOException(new IOException("Cannot read bill items from " + file + ": " + e, e));
+        }
+    }
+
+    // The bytes at the offset if the file is still the copy whose index has
+    // the given checksum; null if it is missing or another copy
+    private static ByteBuffer readCopy(Path file, int indexChecksum, long offset, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer header = readAt(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.get() != VERSION || header.getInt(9) != indexChecksum) {
+                return null;
+            }
+            return readAt(channel, offset, length);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static void checkIndex(ByteBuffer index, int expected, String source) throws IOException {
+        if (checksum(index.duplicate()) != expected) {
+            throw new IOException("Index checksum mismatch in " + source);
+        }
+    }
+
+    private static int checksum(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    // One index entry, before the caller decides how to build the Bill
+    private record IndexEntry(int number, String cashier, LocalDateTime date, long totalCents,
+                              int itemCount, int itemsLength, int itemsChecksum) {
+    }
+
+    private static String[] readIndex(ByteBuffer in, List<IndexEntry> entries, byte version) throws IOException {
+        String[] dictionary = readDictionary(in);
+        int billCount = readVarInt(in);
+        for (int b = 0; b < billCount; b++) {
+            int number = unZigZag(readVarInt(in));
+            String cashier = lookup(dictionary, readVarInt(in));
+            LocalDateTime date = fromEpochMillis(unZigZag(readVarLong(in)));
+            long totalCents = unZigZag(readVarLong(in));
+            int itemCount = readVarInt(in);
+            int itemsLength = readVarInt(in);
+            int itemsChecksum = version == VERSION ? readVarInt(in) : 0;
+            entries.add(new IndexEntry(number, cashier, date, totalCents, itemCount, itemsLength, itemsChecksum));
+        }
+        return dictionary;
+    }
+
+    private static List<Bill> decodeVersion1(ByteBuffer in) throws IOException {
+        String[] dictionary = readDictionary(in);
+        int billCount = readVarInt(in);
+        List<Bill> bills = new ArrayList<>(billCount);
+        for (int b = 0; b < billCount; b++) {
+            int number = unZigZag(readVarInt(in));
+            String cashier = lookup(dictionary, readVarInt(in));
+            LocalDateTime date = fromEpochMillis(unZigZag(readVarLong(in)));
+            Bill bill = new Bill(number, cashier, date);
+            int itemCount = readVarInt(in);
+            for (int i = 0; i < itemCount; i++) {
+                bill.getBillItems().add(readItem(in, dictionary));
+            }
+            bill.seal();
+            bills.add(bill);
+        }
+        return bills;
+    }
+
+    private static String[] readDictionary(ByteBuffer in) throws IOException {
+        String[] dictionary = new String[readVarInt(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] utf8 = new byte[readVarInt(in)];
+            in.get(utf8);
+            dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+
+    private static BillItem readItem(ByteBuffer in, String[] dictionary) throws IOException {
+        String name = lookup(dictionary, readVarInt(in));
+        long cents = unZigZag(readVarLong(in));
+        int quantity = unZigZag(readVarInt(in));
+        return new BillItem(name, cents, quantity);
+    }
+
+    private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of bill file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    public static void write(Path file, List<Bill> bills) throws IOException {
+        Files.write(file, encode(bills));
+    }
+
+    public static List<Bill> read(Path file) throws IOException {
+        return decode(Files.readAllBytes(file));
+    }
+
+    /**
+     * Reads a bills file written with Java serialization (the old
+     * bills_data.ser format), skipping null entries.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Bill> readLegacyFile(Path serializedFile) throws IOException {
+        List<Bill> bills = new ArrayList<>();
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(serializedFile.toFile()))) {
+            for (Bill bill : (List<Bill>) ois.readObject()) {
+                if (bill != null) {
+                    bills.add(bill);
+                }
+            }
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Unreadable legacy bill file " + serializedFile + ": " + e.getMessage(), e);
+        }
+        return bills;
+    }
+
+    private static long toEpochMillis(LocalDateTime date) {
+        return date.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static void intern(String value, Map<String, Integer> ids, List<String> dictionary) {
+        if (value != null && !ids.containsKey(value)) {
+            ids.put(value, dictionary.size());
+            dictionary.add(value);
+        }
+    }
+
+    private static int idOf(String value, Map<String, Integer> ids) {
+        return value == null ? 0 : ids.get(value) + 1;
+    }
+
+    private static String lookup(String[] dictionary, int id) throws IOException {
+        if (id == 0) {
+            return null;
+        }
+        if (id > dictionary.length) {
+            throw new IOException("Dictionary id out of range: " + id);
+        }
+        return dictionary[id - 1];
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int readVarInt(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long readVarLong(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varlong");
+    }
+
+    // Growable byte buffer with the fixed-width and varint writers used above
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output(int size) {
+            super(size);
+        }
+
+        void writeByte(int value) {
+            write(value);
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeTo(Output out) {
+            out.write(buf, 0, count);
+        }
+
+        int checksum(int offset, int length) {
+            CRC32 crc = new CRC32();
+            crc.update(buf, offset, length);
+            return (int) crc.getValue();
+        }
+    }
+}
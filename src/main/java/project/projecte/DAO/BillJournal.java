@@ -0,0 +1,302 @@
+package project.projecte.DAO;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import project.projecte.Model.Bill;
+import project.projecte.Util.Log;
+
+/**
+ * Append-only journal of finalized bills.
+ *
+ * File layout: a 16 byte header (magic, version, base count) followed by one
+ * record per bill: [int length][payload][int crc32(payload)]. Version 2
+ * payloads are {@link BillCodec} blobs holding one bill; version 1 journals
+ * (Java-serialized payloads) are still replayed. The base count is
+ * the number of bills the snapshot held when the journal was started, so a
+ * crash between writing a snapshot and resetting the journal can be detected on
+ * replay and the already-snapshotted records skipped.
+ */
+public class BillJournal implements AutoCloseable {
+
+    private static final Log LOG = Log.get(BillJournal.class);
+    private static final int MAGIC = 0x424A4E4C; // "BJNL"
+    private static final int VERSION = 2;
+    private static final int LEGACY_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    private final Path path;
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private long baseCount;
+    private int recordCount;
+
+    // Sequence numbers used for group commit: every append gets a sequence and
+    // a single force() makes every record up to the current sequence durable.
+    private long appendedSeq;
+    private long syncedSeq;
+
+    public BillJournal(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /** Number of bills the snapshot held when this journal was started. */
+    public synchronized long getBaseCount() {
+        return baseCount;
+    }
+
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized long size() throws IOException {
+        return Files.exists(path) ? Files.size(path) : 0;
+    }
+
+    /**
+     * Reads every intact record. A torn or corrupt tail (for example from a
+     * crash in the middle of an append) is truncated so new records are written
+     * after the last good one. A missing journal is created with the given base
+     * count.
+     */
+    public synchronized List<Bill> replay(long snapshotCount) throws IOException {
+        List<Bill> bills = new ArrayList<>();
+        if (!Files.exists(path) || Files.size(path) < HEADER_SIZE) {
+            reset(snapshotCount);
+            return bills;
+        }
+
+        int version;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(in, header, 0);
+            header.flip();
+            int magic = header.getInt();
+            version = header.getInt();
+            if (magic != MAGIC || (version != VERSION && version != LEGACY_VERSION)) {
+                throw new IOException("Not a bill journal: " + path);
+            }
+            baseCount = header.getLong();
+
+            long position = HEADER_SIZE;
+            long fileSize = in.size();
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+            while (position + 4 <= fileSize) {
+                lengthBuffer.clear();
+                readFully(in, lengthBuffer, position);
+                lengthBuffer.flip();
+                int length = lengthBuffer.getInt();
+                if (length <= 0 || length > MAX_RECORD_SIZE || position + 8 + length > fileSize) {
+                    break;
+                }
+                ByteBuffer record = ByteBuffer.allocate(length + 4);
+                readFully(in, record, position + 4);
+                record.flip();
+                byte[] payload = new byte[length];
+                record.get(payload);
+                if (record.getInt() != checksum(payload)) {
+                    break;
+                }
+                Bill bill = decode(payload, version);
+                if (bill == null) {
+                    break;
+                }
+                bills.add(bill);
+                position += 8 + length;
+            }
+
+            if (position < fileSize) {
+                LOG.warn("Bill journal " + path + ": truncating " + (fileSize - position)
+                        + " bytes of incomplete data after " + bills.size() + " records");
+                in.truncate(position);
+                in.force(true);
+            }
+        }
+        recordCount = bills.size();
+        if (version == LEGACY_VERSION) {
+            upgrade(bills);
+        }
+        return bills;
+    }
+
+    /**
+     * Appends one bill and returns once it is on disk. Concurrent callers share
+     * fsyncs: whoever forces the channel first makes every record appended so
+     * far durable, and the others return without forcing again.
+     */
+    public void append(Bill bill) throws IOException {
+        byte[] payload = encode(bill);
+        ByteBuffer record = ByteBuffer.allocate(payload.length + 8);
+        record.putInt(payload.length).put(payload).putInt(checksum(payload)).flip();
+
+        long seq;
+        synchronized (this) {
+            FileChannel out = channel();
+            while (record.hasRemaining()) {
+                out.write(record);
+            }
+            recordCount++;
+            seq = ++appendedSeq;
+        }
+        awaitDurable(seq);
+    }
+
+    private void awaitDurable(long seq) throws IOException {
+        synchronized (syncLock) {
+            if (syncedSeq >= seq) {
+                return;
+            }
+            long target;
+            FileChannel out;
+            synchronized (this) {
+                target = appendedSeq;
+                out = channel();
+            }
+            out.force(false);
+            syncedSeq = target;
+        }
+    }
+
+    // Rewrites an old journal in the current record format, keeping its base count
+    private void upgrade(List<Bill> bills) throws IOException {
+        rewrite(baseCount, bills);
+    }
+
+    /**
+     * Replaces the journal with one holding exactly the given bills. The new
+     * journal is written and forced under a temp name and renamed over the
+     * old one, so a crash leaves either journal complete. Use this, not
+     * {@link #reset}, whenever records that exist nowhere else are kept.
+     */
+    public synchronized void rewrite(long snapshotCount, List<Bill> bills) throws IOException {
+        closeChannel();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(snapshotCount).flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (Bill bill : bills) {
+                byte[] payload = encode(bill);
+                ByteBuffer record = ByteBuffer.allocate(payload.length + 8);
+                record.putInt(payload.length).put(payload).putInt(checksum(payload)).flip();
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+            }
+            out.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (parent != null) {
+            try (FileChannel directory = FileChannel.open(parent, StandardOpenOption.READ)) {
+                directory.force(true);
+            } catch (IOException e) {
+                // e.g. Windows cannot open a directory as a channel
+            }
+        }
+        baseCount = snapshotCount;
+        recordCount = bills.size();
+    }
+
+    /**
+     * Empties the journal in place after its contents were folded into a
+     * snapshot. Only safe once every record is stored elsewhere: a crash
+     * part way can lose the whole journal.
+     */
+    public synchronized void reset(long snapshotCount) throws IOException {
+        closeChannel();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(snapshotCount).flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            out.force(true);
+        }
+        baseCount = snapshotCount;
+        recordCount = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeChannel();
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of journal");
+            }
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(Bill bill) {
+        return BillCodec.encode(List.of(bill));
+    }
+
+    private static Bill decode(byte[] payload, int version) {
+        if (version == LEGACY_VERSION) {
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+                return (Bill) ois.readObject();
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                return null;
+            }
+        }
+        try {
+            List<Bill> decoded = BillCodec.decode(payload);
+            return decoded.size() == 1 ? decoded.get(0) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package project.projecte.DAO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import project.projecte.Util.Log;
+
+/**
+ * Hands out unique bill numbers without touching the disk per bill.
+ *
+ * A durable counter file holds the first number nobody has leased yet. The
+ * allocator leases a block of numbers by advancing that counter (under a file
+ * lock, so several processes on one data directory get disjoint blocks) and
+ * then serves numbers from the block with a lock-free increment. Numbers left
+ * unused in a block when the process exits are skipped, never reused.
+ *
+ * Counter file format: the next unleased number as decimal text, written with
+ * {@link AtomicFiles}. The counter is read without the usual fallback to its
+ * backup: the backup lags one lease behind, so numbers below the damaged
+ * counter may already be in use.
+ */
+public class BillNumberAllocator {
+
+    public static final int DEFAULT_BLOCK_SIZE = 100;
+
+    // File locks are held per JVM, so allocators in one process that share a
+    // counter file also take this in-process lock first
+    private static final ConcurrentHashMap<Path, Object> PROCESS_LOCKS = new ConcurrentHashMap<>();
+    private static final Log LOG = Log.get(BillNumberAllocator.class);
+
+    private final Path counterFile;
+    private final Path lockFile;
+    private final int blockSize;
+    private final LongSupplier initialValue;
+    private volatile Lease lease = new Lease(0, 0);
+
+    // Numbers [cursor, end) of one leased block
+    private static final class Lease {
+        final AtomicLong cursor;
+        final long end;
+
+        Lease(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    /**
+     * @param initialValue first number to hand out when the counter file does
+     *                     not exist yet (e.g. one past the highest stored bill)
+     */
+    public BillNumberAllocator(Path counterFile, int blockSize, LongSupplier initialValue) {
+        this.counterFile = counterFile;
+        this.lockFile = counterFile.resolveSibling(counterFile.getFileName() + ".lock");
+        this.blockSize = Math.max(1, blockSize);
+        this.initialValue = initialValue;
+    }
+
+    /** Next bill number, unique across tills, processes and restarts. */
+    public int next() {
+        while (true) {
+            Lease current = lease;
+            long number = current.cursor.getAndIncrement();
+            if (number < current.end) {
+                return Math.toIntExact(number);
+            }
+            synchronized (this) {
+                if (lease == current) {
+                    lease = leaseBlock();
+                }
+            }
+        }
+    }
+
+    private Lease leaseBlock() {
+        try {
+            Path parent = counterFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Object processLock = PROCESS_LOCKS.computeIfAbsent(lockFile.toAbsolutePath().normalize(),
+                    path -> new Object());
+            synchronized (processLock) {
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        long start = readCounter();
+                        long end = start + blockSize;
+                        AtomicFiles.write(counterFile,
+                                out -> out.write((end + "\n").getBytes(StandardCharsets.US_ASCII)));
+                        return new Lease(start, end);
+                    } finally {
+                        lock.release();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Handing out numbers that are not durably leased could repeat them
+            throw new UncheckedIOException("Failed to lease bill numbers from " + counterFile, e);
+        }
+    }
+
+    private long readCounter() throws IOException {
+        Long counter = readValue(counterFile);
+        if (counter != null) {
+            return counter;
+        }
+        Path backupFile = AtomicFiles.backupPath(counterFile);
+        if (!Files.exists(counterFile) && !Files.exists(backupFile)) {
+            return Math.max(1, initialValue.getAsLong());
+        }
+
+        // The counter is damaged or gone. Its backup is the counter before the
+        // last lease, so skip one block past it; the stored bills give a floor
+        // for numbers leased by any allocator.
+        LOG.warn("Bill number counter " + counterFile + " is unusable, recovering from "
+                + backupFile + " and the stored bills");
+        Long backup = readValue(backupFile);
+        long stored;
+        try {
+            stored = initialValue.getAsLong();
+        } catch (RuntimeException e) {
+            if (backup == null) {
+                throw new IOException("Neither the bill number counter " + counterFile
+                        + " nor its backup or the stored bills are usable", e);
+            }
+            LOG.error("Could not read the stored bills, recovering from the counter backup only", e);
+            stored = 1;
+        }
+        long next = backup == null ? stored : Math.max(backup + blockSize, stored);
+        return Math.max(1, next);
+    }
+
+    // Value of one copy of the counter, or null if it is missing or damaged
+    private static Long readValue(Path file) throws IOException {
+        try {
+            byte[] content = AtomicFiles.stripFooter(Files.readAllBytes(file));
+            return content == null ? null : Long.parseLong(new String(content, StandardCharsets.US_ASCII).trim());
+        } catch (NoSuchFileException | NumberFormatException e) {
+            return null;
+        }
+    }
+}
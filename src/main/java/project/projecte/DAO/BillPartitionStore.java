@@ -0,0 +1,296 @@
+package project.projecte.DAO;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjIntConsumer;
+
+import project.projecte.Model.Bill;
+import project.projecte.Util.Log;
+
+/**
+ * Bills stored as one {@link BillCodec} file per day under a directory, plus a
+ * manifest listing every partition and its bill count. Range queries only
+ * need to open the partitions whose day falls inside the range.
+ *
+ * Manifest format (manifest.txt), one line per partition: {@code yyyy-MM-dd,billCount}
+ */
+public class BillPartitionStore {
+
+    private static final Log LOG = Log.get(BillPartitionStore.class);
+    private static final String MANIFEST_FILE = "manifest.txt";
+    private static final String PARTITION_SUFFIX = ".bin";
+    // Partitions read by one fork-join leaf task
+    private static final int DAYS_PER_TASK = 4;
+
+    private final Path directory;
+    private final TreeMap<LocalDate, Integer> manifest = new TreeMap<>();
+    private boolean manifestPresent;
+
+    public BillPartitionStore(Path directory) {
+        this.directory = directory;
+        loadManifest();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** False until the first partition has been written to this directory. */
+    public boolean exists() {
+        return manifestPresent;
+    }
+
+    /** Days that have a stored partition, oldest first. */
+    public NavigableMap<LocalDate, Integer> getManifest() {
+        return Collections.unmodifiableNavigableMap(manifest);
+    }
+
+    public long totalBills() {
+        long total = 0;
+        for (int count : manifest.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Reads the index of one day's partition; items are paged in per bill
+     * (see {@link BillCodec#readIndexed}).
+     */
+    public List<Bill> readPartition(LocalDate day, ObjIntConsumer<Bill> onItemsLoaded) throws IOException {
+        if (!manifest.containsKey(day)) {
+            return new ArrayList<>();
+        }
+        return readVerified(day, onItemsLoaded);
+    }
+
+    /**
+     * Reads one day's partition file even if the manifest does not list it,
+     * and corrects the manifest if its count differs. writePartitions saves
+     * the manifest last, so a crash part way through leaves rewritten days
+     * that the manifest does not describe yet; startup uses this for the days
+     * still in the journal. Empty if the day has no partition file.
+     */
+    public synchronized List<Bill> recoverPartition(LocalDate day, ObjIntConsumer<Bill> onItemsLoaded)
+            throws IOException {
+        if (!AtomicFiles.exists(partitionPath(day))) {
+            return new ArrayList<>();
+        }
+        List<Bill> bills = readVerified(day, onItemsLoaded);
+        Integer listed = manifest.get(day);
+        if (listed == null || listed != bills.size()) {
+            LOG.warn("Bill partition manifest out of date for " + day + ", correcting it");
+            manifest.put(day, bills.size());
+            saveManifest();
+        }
+        return bills;
+    }
+
+    // Reads the index of the partition, or of its backup if the partition is
+    // missing or fails its index checksum; only the index is checked here,
+    // each bill's items when they are paged in (see BillCodec.readIndexed)
+    private List<Bill> readVerified(LocalDate day, ObjIntConsumer<Bill> onItemsLoaded) throws IOException {
+        Path file = partitionPath(day);
+        IOException failure = null;
+        for (Path copy : List.of(file, AtomicFiles.backupPath(file))) {
+            if (!Files.exists(copy)) {
+                continue;
+            }
+            try {
+                return BillCodec.readIndexed(copy, onItemsLoaded);
+            } catch (IOException e) {
+                LOG.warn("Unreadable bill partition " + copy + ": " + e.getMessage());
+                failure = e;
+            }
+        }
+        throw failure != null ? failure : new IOException("Missing bill partition " + file);
+    }
+
+    /**
+     * Reads the partitions of the given days in parallel on the common
+     * ForkJoin pool and returns them by day, so iterating the result gives
+     * bills in stored order. Days without a partition are left out. The
+     * progress callback, if any, is called from pool threads after each
+     * partition with (bills read so far, bills in all requested partitions).
+     * Only reads files: safe to call without the caller's lock as long as the
+     * days were taken from the manifest.
+     */
+    public NavigableMap<LocalDate, List<Bill>> readPartitions(Collection<LocalDate> days,
+            ObjIntConsumer<Bill> onItemsLoaded, LoadProgress progress) throws IOException {
+        List<LocalDate> wanted = new ArrayList<>();
+        long total = 0;
+        synchronized (this) {
+            for (LocalDate day : days) {
+                Integer count = manifest.get(day);
+                if (count != null) {
+                    wanted.add(day);
+                    total += count;
+                }
+            }
+        }
+        List<List<Bill>> results = new ArrayList<>(Collections.nCopies(wanted.size(), null));
+        ReadTask task = new ReadTask(wanted, 0, wanted.size(), results, onItemsLoaded, progress,
+                new AtomicLong(), total);
+        try {
+            ForkJoinPool.commonPool().invoke(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        TreeMap<LocalDate, List<Bill>> byDay = new TreeMap<>();
+        for (int i = 0; i < wanted.size(); i++) {
+            byDay.put(wanted.get(i), results.get(i));
+        }
+        return byDay;
+    }
+
+    /** Progress of {@link #readPartitions}. */
+    @FunctionalInterface
+    public interface LoadProgress {
+        void update(long billsRead, long billsTotal);
+    }
+
+    // Splits the day range in halves down to a few days per task. Never
+    // serialized: ForkJoinTask is Serializable only for remote execution.
+    @SuppressWarnings("serial")
+    private final class ReadTask extends RecursiveAction {
+        private final List<LocalDate> days;
+        private final int from;
+        private final int to;
+        private final List<List<Bill>> results;
+        private final ObjIntConsumer<Bill> onItemsLoaded;
+        private final LoadProgress progress;
+        private final AtomicLong read;
+        private final long total;
+
+        ReadTask(List<LocalDate> days, int from, int to, List<List<Bill>> results, ObjIntConsumer<Bill> onItemsLoaded,
+                LoadProgress progress, AtomicLong read, long total) {
+            this.days = days;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.onItemsLoaded = onItemsLoaded;
+            this.progress = progress;
+            this.read = read;
+            this.total = total;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > DAYS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ReadTask(days, from, middle, results, onItemsLoaded, progress, read, total),
+                        new ReadTask(days, middle, to, results, onItemsLoaded, progress, read, total));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                List<Bill> bills;
+                try {
+                    bills = readVerified(days.get(i), onItemsLoaded);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                // Each task sets its own slots; invoke() publishes them
+                results.set(i, bills);
+                long done = read.addAndGet(bills.size());
+                if (progress != null) {
+                    progress.update(done, total);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the given partitions and then the manifest, each through
+     * {@link AtomicFiles}, so readers see either the old or the new contents.
+     * Reads check the checksum footer after a partition's data; the codec
+     * itself stops at the end of the last bill's items.
+     * Synchronized with readPartitions, which may run on other threads.
+     */
+    public synchronized void writePartitions(NavigableMap<LocalDate, List<Bill>> partitions) throws IOException {
+        Files.createDirectories(directory);
+        for (var entry : partitions.entrySet()) {
+            byte[] encoded = BillCodec.encode(entry.getValue());
+            AtomicFiles.write(partitionPath(entry.getKey()), out -> out.write(encoded));
+            manifest.put(entry.getKey(), entry.getValue().size());
+        }
+        saveManifest();
+    }
+
+    private Path partitionPath(LocalDate day) {
+        return directory.resolve(day + PARTITION_SUFFIX);
+    }
+
+    private void saveManifest() throws IOException {
+        AtomicFiles.write(directory.resolve(MANIFEST_FILE), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (var entry : manifest.entrySet()) {
+                writer.write(entry.getKey() + "," + entry.getValue());
+                writer.newLine();
+            }
+            writer.flush();
+        });
+        manifestPresent = true;
+    }
+
+    private void loadManifest() {
+        Path file = directory.resolve(MANIFEST_FILE);
+        if (!AtomicFiles.exists(file)) {
+            return;
+        }
+        try {
+            byte[] content = AtomicFiles.read(file);
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length == 2) {
+                    manifest.put(LocalDate.parse(parts[0]), Integer.parseInt(parts[1]));
+                }
+            }
+            manifestPresent = true;
+        } catch (IOException | DateTimeParseException | NumberFormatException e) {
+            LOG.warn("Error loading bill partition manifest, rebuilding it: " + e.getMessage());
+            rebuildManifest();
+        }
+    }
+
+    // Recreates the manifest from the partition files themselves
+    private void rebuildManifest() {
+        manifest.clear();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PARTITION_SUFFIX)) {
+                    LocalDate day = LocalDate.parse(name.substring(0, name.length() - PARTITION_SUFFIX.length()));
+                    byte[] content = AtomicFiles.read(file);
+                    if (content != null) {
+                        manifest.put(day, BillCodec.decode(content).size());
+                    }
+                }
+            }
+            saveManifest();
+        } catch (IOException | DateTimeParseException e) {
+            LOG.error("Error rebuilding bill partition manifest", e);
+        }
+    }
+}
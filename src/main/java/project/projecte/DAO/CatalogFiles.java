@@ -0,0 +1,232 @@
+package project.projecte.DAO;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import project.projecte.Model.Item;
+import project.projecte.Util.Log;
+
+/**
+ * Fast loading of the item catalog (inventory.txt and items.txt).
+ *
+ * {@link #readCsv} parses rows of {@code name,category,purchase,selling,stock}
+ * straight from the file's bytes ({@link AtomicFiles#map}, memory-mapped
+ * for large files): it finds the commas itself and parses plain decimals
+ * without building a String per field. Only name and category become strings.
+ *
+ * A binary sidecar holds the same items ready to load in one read. It
+ * records the checksum of the CSV it was made from and is ignored once the
+ * CSV has changed, so the CSV stays the source of truth.
+ *
+ * Sidecar format (written with {@link AtomicFiles}): int magic, byte version,
+ * long CSV checksum, int count, then per item UTF name, UTF category, double
+ * purchase price, double selling price, int stock.
+ */
+public final class CatalogFiles {
+
+    private static final Log LOG = Log.get(CatalogFiles.class);
+    private static final int MAGIC = 0x43415431; // "CAT1"
+    private static final byte VERSION = 1;
+
+    // Powers of ten that are exact as doubles
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Up to 15 digits the mantissa is exact, so mantissa / 10^scale is the
+    // correctly rounded value, the same double Double.parseDouble returns
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private CatalogFiles() {
+    }
+
+    /**
+     * Items in the CSV file, or null if it does not exist. Lines without
+     * exactly five fields or with a bad number are reported and skipped.
+     */
+    public static List<Item> readCsv(Path csv) throws IOException {
+        ByteBuffer data = AtomicFiles.map(csv);
+        return data == null ? null : parseCsv(data, csv.toString());
+    }
+
+    static List<Item> parseCsv(ByteBuffer data, String source) {
+        List<Item> items = new ArrayList<>();
+        int[] commas = new int[4];
+        byte[] scratch = new byte[256];
+        int limit = data.limit();
+        int lineNumber = 0;
+        int start = data.position();
+        while (start < limit) {
+            lineNumber++;
+            int end = start;
+            int commaCount = 0;
+            byte b;
+            while (end < limit && (b = data.get(end)) != '\n') {
+                if (b == ',') {
+                    if (commaCount < commas.length) {
+                        commas[commaCount] = end;
+                    }
+                    commaCount++;
+                }
+                end++;
+            }
+            int next = end + 1;
+            if (end > start && data.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end == start) {
+                start = next;  // blank line
+                continue;
+            }
+            if (commaCount != 4) {
+                LOG.warn("Invalid catalog line " + lineNumber + " in " + source
+                        + " (expected 5 fields, got " + (commaCount + 1) + ")");
+                start = next;
+                continue;
+            }
+            if (scratch.length < end - start) {
+                scratch = new byte[end - start];
+            }
+            try {
+                String name = text(data, start, commas[0], scratch);
+                String category = text(data, commas[0] + 1, commas[1], scratch);
+                double purchasePrice = parseDecimal(data, commas[1] + 1, commas[2], scratch);
+                double sellingPrice = parseDecimal(data, commas[2] + 1, commas[3], scratch);
+                int stockLevel = parseInt(data, commas[3] + 1, end, scratch);
+                items.add(new Item(name, category, purchasePrice, sellingPrice, stockLevel));
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid catalog line " + lineNumber + " in " + source + " (" + e.getMessage() + ")");
+            }
+            start = next;
+        }
+        return items;
+    }
+
+    private static String text(ByteBuffer data, int from, int to, byte[] scratch) {
+        data.get(from, scratch, 0, to - from);
+        return new String(scratch, 0, to - from, StandardCharsets.UTF_8);
+    }
+
+    // [-]digits[.digits]; anything else (exponents, long mantissas, spaces)
+    // goes through Double.parseDouble
+    static double parseDecimal(ByteBuffer data, int from, int to, byte[] scratch) {
+        int i = from;
+        boolean negative = i < to && data.get(i) == '-';
+        if (negative || (i < to && data.get(i) == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < to; i++) {
+            byte b = data.get(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0 && ++digits > MAX_FAST_DIGITS) {
+                    return Double.parseDouble(text(data, from, to, scratch));
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return Double.parseDouble(text(data, from, to, scratch));
+            }
+        }
+        int start = negative || from < to && data.get(from) == '+' ? from + 1 : from;
+        if (i == start || (scale == 0 && i == start + 1) || scale >= POW10.length) {
+            return Double.parseDouble(text(data, from, to, scratch));  // "", "." or too many decimals
+        }
+        double value = scale > 0 ? mantissa / POW10[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    static int parseInt(ByteBuffer data, int from, int to, byte[] scratch) {
+        int i = from;
+        boolean negative = i < to && data.get(i) == '-';
+        if (negative || (i < to && data.get(i) == '+')) {
+            i++;
+        }
+        if (i == to || to - i > 9) {
+            return Integer.parseInt(text(data, from, to, scratch));  // empty or possibly out of range
+        }
+        int value = 0;
+        for (; i < to; i++) {
+            byte b = data.get(i);
+            if (b < '0' || b > '9') {
+                return Integer.parseInt(text(data, from, to, scratch));
+            }
+            value = value * 10 + (b - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Items from the sidecar, or null if it is missing, damaged or was made
+     * from a different version of the CSV.
+     */
+    public static List<Item> readSidecar(Path sidecar, Path csv) {
+        try {
+            long csvChecksum = AtomicFiles.storedChecksum(csv);
+            if (csvChecksum < 0 || !AtomicFiles.exists(sidecar)) {
+                return null;
+            }
+            byte[] content = AtomicFiles.read(sidecar);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+            if (in.readInt() != MAGIC || in.readByte() != VERSION || in.readLong() != csvChecksum) {
+                return null;
+            }
+            int count = in.readInt();
+            List<Item> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(new Item(in.readUTF(), in.readUTF(), in.readDouble(), in.readDouble(), in.readInt()));
+            }
+            return items;
+        } catch (IOException e) {
+            LOG.warn("Ignoring catalog sidecar " + sidecar + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rewrites the sidecar from the CSV as it is on disk now, so the two hold
+     * exactly the same values. Does nothing if the CSV has no checksum.
+     */
+    public static void writeSidecar(Path sidecar, Path csv) throws IOException {
+        long csvChecksum = AtomicFiles.storedChecksum(csv);
+        List<Item> items = csvChecksum < 0 ? null : readCsv(csv);
+        if (items == null) {
+            return;
+        }
+        AtomicFiles.write(sidecar, stream -> {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(csvChecksum);
+            out.writeInt(items.size());
+            for (Item item : items) {
+                out.writeUTF(item.getName());
+                out.writeUTF(item.getCategory());
+                out.writeDouble(item.getPurchasePrice());
+                out.writeDouble(item.getSellingPrice());
+                out.writeInt(item.getStockLevel());
+            }
+            out.flush();
+        });
+    }
+
+    /** Removes the sidecar and its backup. */
+    public static void deleteSidecar(Path sidecar) throws IOException {
+        Files.deleteIfExists(sidecar);
+        Files.deleteIfExists(AtomicFiles.backupPath(sidecar));
+    }
+}
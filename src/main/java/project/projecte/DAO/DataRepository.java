@@ -0,0 +1,176 @@
+package project.projecte.DAO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import project.projecte.Controller.EmployeeManager;
+import project.projecte.Model.AuthenticationService;
+import project.projecte.Model.BillManager;
+import project.projecte.Model.CheckoutService;
+import project.projecte.Model.Employee;
+import project.projecte.Model.Inventory;
+import project.projecte.Model.User;
+import project.projecte.Model.UserManager;
+import project.projecte.Util.Log;
+
+/**
+ * Process-wide holder for the store's datasets. Each one is loaded from disk
+ * the first time it is asked for and then shared by every controller and view,
+ * so opening a screen does not re-read the data files.
+ *
+ * The shared instances are the source of truth: their own save methods write
+ * through to disk (the screens use the async variants, which go through
+ * {@link PersistenceExecutor}) and the cached copy stays valid. Code that changes a data
+ * file any other way must call the matching invalidate method so the next
+ * caller gets a fresh load.
+ *
+ * The first load of users, inventory and employees comes from the
+ * {@link StartupSnapshot} written at the last clean shutdown, for each
+ * dataset whose file has not changed since.
+ */
+public final class DataRepository {
+
+    private static final Log LOG = Log.get(DataRepository.class);
+    private static final DataRepository INSTANCE = new DataRepository();
+    private static final Path DATA_DIRECTORY = Path.of("data");
+
+    private Inventory inventory;
+    private BillManager billManager;
+    private UserManager userManager;
+    private EmployeeManager employeeManager;
+    private CheckoutService checkoutService;
+    private BillNumberAllocator billNumberAllocator;
+    private AuthenticationService authenticationService;
+    private UserManager authenticatedUsers;
+    private StartupSnapshot snapshot;
+
+    private DataRepository() {
+    }
+
+    public static DataRepository getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized Inventory getInventory() {
+        if (inventory == null) {
+            inventory = new Inventory(DATA_DIRECTORY.toString(), snapshot().getItems());
+            inventory.setBinarySidecar(true);
+        }
+        return inventory;
+    }
+
+    public synchronized BillManager getBillManager() {
+        if (billManager == null) {
+            billManager = new BillManager();
+        }
+        return billManager;
+    }
+
+    // Shared by every till so stock reservations see one inventory
+    public synchronized CheckoutService getCheckoutService() {
+        if (checkoutService == null
+                || checkoutService.getInventory() != getInventory()
+                || checkoutService.getBillManager() != getBillManager()) {
+            checkoutService = new CheckoutService(getInventory(), getBillManager(), getBillNumberAllocator());
+            // Tills get control back before the journal fsync; flush() makes it durable
+            checkoutService.setAsyncPersistence(true);
+        }
+        return checkoutService;
+    }
+
+    // One allocator per process; the counter file keeps numbers unique across restarts
+    public synchronized BillNumberAllocator getBillNumberAllocator() {
+        if (billNumberAllocator == null) {
+            billNumberAllocator = new BillNumberAllocator(DATA_DIRECTORY.resolve("bill_counter.txt"),
+                    BillNumberAllocator.DEFAULT_BLOCK_SIZE, () -> getBillManager().getHighestBillNumber() + 1L);
+        }
+        return billNumberAllocator;
+    }
+
+    public synchronized UserManager getUserManager() {
+        if (userManager == null) {
+            List<User> users = snapshot().getUsers();
+            userManager = users == null ? new UserManager() : new UserManager(users);
+        }
+        return userManager;
+    }
+
+    // Follows the shared UserManager, so invalidateUsers also refreshes logins
+    public synchronized AuthenticationService getAuthenticationService() {
+        UserManager users = getUserManager();
+        if (authenticationService == null || authenticatedUsers != users) {
+            if (authenticationService != null) {
+                authenticationService.shutdown();
+            }
+            authenticationService = new AuthenticationService(users);
+            authenticatedUsers = users;
+        }
+        return authenticationService;
+    }
+
+    public synchronized EmployeeManager getEmployeeManager() {
+        if (employeeManager == null) {
+            List<Employee> employees = snapshot().getEmployees();
+            employeeManager = employees == null ? new EmployeeManager() : new EmployeeManager(employees);
+        }
+        return employeeManager;
+    }
+
+    // Waits for queued background writes, then writes out anything still held
+    // only in logs; called on application exit. Throws if a queued write
+    // failed, after the checkpoint has still been attempted.
+    public synchronized void flush() throws IOException {
+        try {
+            PersistenceExecutor.shared().flush();
+        } finally {
+            if (inventory != null) {
+                inventory.checkpoint();
+            }
+        }
+    }
+
+    /**
+     * Rewrites the startup snapshot from the data files; called on clean
+     * shutdown after {@link #flush()}, so the files hold every change.
+     */
+    public void saveSnapshot() {
+        try {
+            StartupSnapshot.write(DATA_DIRECTORY);
+        } catch (IOException e) {
+            LOG.error("Error writing startup snapshot", e);
+        }
+    }
+
+    // Read once per process; each dataset takes its section on first load
+    private StartupSnapshot snapshot() {
+        if (snapshot == null) {
+            snapshot = StartupSnapshot.load(DATA_DIRECTORY);
+        }
+        return snapshot;
+    }
+
+    public synchronized void invalidateInventory() {
+        inventory = null;
+    }
+
+    public synchronized void invalidateBills() {
+        billManager = null;
+    }
+
+    public synchronized void invalidateUsers() {
+        userManager = null;
+    }
+
+    public synchronized void invalidateEmployees() {
+        employeeManager = null;
+    }
+
+    public synchronized void invalidateAll() {
+        inventory = null;
+        billManager = null;
+        userManager = null;
+        employeeManager = null;
+        checkoutService = null;
+    }
+}
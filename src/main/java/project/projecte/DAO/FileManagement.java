@@ -1,35 +1,56 @@
 package project.projecte.DAO;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import project.projecte.Model.Employee;
 import project.projecte.Model.Item;
 import project.projecte.Model.User;
 import project.projecte.Model.Admin;
 import project.projecte.Model.Manager;
 import project.projecte.Model.Cashier;
+import project.projecte.Util.Log;
 
 public class FileManagement {
 
+    private static final Log LOG = Log.get(FileManagement.class);
+
     public static void saveUsers(String filename, List<User> users) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
+        try {
+            writeUsers(filename, users);
+        } catch (IOException e) {
+            LOG.error("Error saving users", e);
+        }
+    }
+
+    // Like saveUsers, but reports a failed write to the caller
+    public static void writeUsers(String filename, List<User> users) throws IOException {
+        AtomicFiles.write(Path.of(filename), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
             for (User user : users) {
                 writer.write(user.getUsername() + "," + user.getPassword() + "," + user.getRole());
                 writer.newLine();
             }
-        } catch (IOException e) {
-            System.err.println("Error saving users: " + e.getMessage());
-        }
+            writer.flush();
+        });
     }
 
     public static List<User> loadUsers(String filename) {
         List<User> users = new ArrayList<>();
-        File file = new File(filename);
-        if (!file.exists()) {
+        byte[] content;
+        try {
+            content = AtomicFiles.read(Path.of(filename));
+        } catch (IOException e) {
+            LOG.error("Error loading users", e);
+            return users;
+        }
+        if (content == null) {
             InputStream resourceStream = FileManagement.class.getResourceAsStream("/" + filename);
             if (resourceStream == null) {
-                System.err.println("Error loading users: missing file and resource: " + filename);
+                LOG.warn("Error loading users: missing file and resource: " + filename);
                 return users;
             }
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(resourceStream))) {
@@ -41,12 +62,7 @@ public class FileManagement {
                         String password = data[1];
                         String role = data[2];
 
-                        switch (role) {
-                            case "Administrator" -> users.add(new Admin(username, password, null));
-                            case "Manager" -> users.add(new Manager(username, password, null, null, null));
-                            case "Cashier" -> users.add(new Cashier(username, password, "General"));
-                            default -> users.add(new User(username, password, role));
-                        }
+                        users.add(createUser(username, password, role));
                     }
                 }
             } catch (IOException e) {
@@ -54,7 +70,8 @@ public class FileManagement {
             }
             return users;
         }
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 String[] data = line.split(",");
@@ -63,12 +80,7 @@ public class FileManagement {
                     String password = data[1];
                     String role = data[2];
 
-                    switch (role) {
-                        case "Administrator" -> users.add(new Admin(username, password, null));
-                        case "Manager" -> users.add(new Manager(username, password, null, null, null));
-                        case "Cashier" -> users.add(new Cashier(username, password, "General"));
-                        default -> users.add(new User(username, password, role));
-                    }
+                    users.add(createUser(username, password, role));
                 }
             }
         } catch (IOException e) {
@@ -77,37 +89,57 @@ public class FileManagement {
         return users;
     }
 
+    // The User subclass for a role, as stored in users.txt
+    public static User createUser(String username, String password, String role) {
+        return switch (role) {
+            case "Administrator" -> new Admin(username, password, null);
+            case "Manager" -> new Manager(username, password, null, null, null);
+            case "Cashier" -> new Cashier(username, password, "General");
+            default -> new User(username, password, role);
+        };
+    }
+
+    // Employees serialized as one List<Employee>; null if the file does not exist
+    @SuppressWarnings("unchecked")
+    public static List<Employee> loadEmployees(String filename) throws IOException {
+        byte[] content = AtomicFiles.read(Path.of(filename));
+        if (content == null) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(content))) {
+            return (List<Employee>) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unexpected data in " + filename, e);
+        }
+    }
+
     public static void saveItems(String filename, List<Item> items) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Item item : items) {
-                writer.write(item.getName() + "," + item.getCategory() + "," +
-                        item.getPurchasePrice() + "," + item.getSellingPrice() + "," + item.getStockLevel());
-                writer.newLine();
-            }
+        try {
+            AtomicFiles.write(Path.of(filename), out -> {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                for (Item item : items) {
+                    writer.write(item.getName() + "," + item.getCategory() + "," +
+                            item.getPurchasePrice() + "," + item.getSellingPrice() + "," + item.getStockLevel());
+                    writer.newLine();
+                }
+                writer.flush();
+            });
         } catch (IOException e) {
             System.err.println("Error saving items: " + e.getMessage());
         }
     }
 
     public static List<Item> loadItems(String filename) {
-        List<Item> items = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] data = line.split(",");
-                if (data.length == 5) { // Ensure there are exactly 5 fields for each item
-                    String name = data[0];
-                    String category = data[1];
-                    double purchasePrice = Double.parseDouble(data[2]);
-                    double sellingPrice = Double.parseDouble(data[3]);
-                    int stockLevel = Integer.parseInt(data[4]);
-
-                    // Create a new Item object with the correct order of parameters
-                    items.add(new Item(name, category, purchasePrice, sellingPrice, stockLevel));
-                }
-            }
+        List<Item> items;
+        try {
+            items = CatalogFiles.readCsv(Path.of(filename));
         } catch (IOException e) {
             System.err.println("Error loading items: " + e.getMessage());
+            return new ArrayList<>();
+        }
+        if (items == null) {
+            LOG.warn("Error loading items: missing file: " + filename);
+            return new ArrayList<>();
         }
         return items;
     }
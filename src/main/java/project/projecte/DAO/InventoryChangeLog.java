@@ -0,0 +1,162 @@
+package project.projecte.DAO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import project.projecte.Util.Log;
+
+/**
+ * Append-only log of stock level changes made since the inventory file was
+ * last rewritten. Each line is {@code name,stockLevel} with the item's new
+ * absolute stock, so replaying the log is idempotent and only the last line
+ * per item matters. A partial last line (crash mid-append) is dropped.
+ */
+public class InventoryChangeLog implements AutoCloseable {
+
+    private static final Log LOG = Log.get(InventoryChangeLog.class);
+
+    private final Path path;
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private int entryCount;
+
+    // Group commit, as in BillJournal: one force() covers every line appended
+    // up to the sequence number it observed
+    private long appendedSeq;
+    private long syncedSeq;
+
+    public InventoryChangeLog(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /** Lines appended since the log was last cleared, including replayed ones. */
+    public synchronized int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Reads the latest stock level per item name (names as written, in first
+     * appearance order) and truncates any incomplete trailing line.
+     */
+    public synchronized Map<String, Integer> replay() throws IOException {
+        Map<String, Integer> stockLevels = new LinkedHashMap<>();
+        entryCount = 0;
+        if (!Files.exists(path)) {
+            return stockLevels;
+        }
+        byte[] data = Files.readAllBytes(path);
+        int lineStart = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] != '\n') {
+                continue;
+            }
+            String line = new String(data, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            lineStart = i + 1;
+            int comma = line.lastIndexOf(',');
+            if (comma <= 0) {
+                LOG.warn("Skipping malformed inventory change: " + line);
+                continue;
+            }
+            try {
+                stockLevels.put(line.substring(0, comma), Integer.parseInt(line.substring(comma + 1).trim()));
+                entryCount++;
+            } catch (NumberFormatException e) {
+                LOG.warn("Skipping malformed inventory change: " + line);
+            }
+        }
+        if (lineStart < data.length) {
+            LOG.warn("Inventory change log " + path + ": dropping " + (data.length - lineStart)
+                    + " bytes of incomplete data");
+            try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                out.truncate(lineStart);
+                out.force(true);
+            }
+        }
+        return stockLevels;
+    }
+
+    /** Appends one change and returns once it is on disk. */
+    public void append(String itemName, int stockLevel) throws IOException {
+        append(itemName, () -> stockLevel);
+    }
+
+    /**
+     * Appends the stock level read from {@code stockLevel} at the moment the
+     * line is written. With several threads changing one item, the lines land
+     * in the order the values were read, so the last one is the latest value.
+     */
+    public void append(String itemName, IntSupplier stockLevel) throws IOException {
+        long seq;
+        synchronized (this) {
+            ByteBuffer line = ByteBuffer.wrap((itemName + "," + stockLevel.getAsInt() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            FileChannel out = channel();
+            while (line.hasRemaining()) {
+                out.write(line);
+            }
+            entryCount++;
+            seq = ++appendedSeq;
+        }
+        synchronized (syncLock) {
+            if (syncedSeq >= seq) {
+                return;
+            }
+            long target;
+            FileChannel out;
+            synchronized (this) {
+                target = appendedSeq;
+                out = channel();
+            }
+            out.force(false);
+            syncedSeq = target;
+        }
+    }
+
+    /** Empties the log once its changes are part of the inventory file. */
+    public synchronized void clear() throws IOException {
+        closeChannel();
+        if (Files.exists(path)) {
+            try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                out.force(true);
+            }
+        }
+        entryCount = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeChannel();
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
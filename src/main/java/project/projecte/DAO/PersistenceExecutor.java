@@ -0,0 +1,207 @@
+package project.projecte.DAO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import project.projecte.Util.Log;
+
+/**
+ * Runs file writes on one background thread so screens never wait on disk.
+ *
+ * Writes are queued under a key. A write whose key is already waiting in the
+ * queue replaces the waiting one instead of being queued again, and both
+ * callers get the same future: saving a file ten times while the writer is
+ * busy costs one write of the latest state. Writes run in submission order.
+ *
+ * The queue holds at most {@code capacity} distinct keys; a caller that
+ * finds it full waits for room. {@link #flush()} waits until everything
+ * submitted so far is written, and the shared instance is flushed by a
+ * shutdown hook so no queued write is lost when the JVM exits normally.
+ *
+ * A write that throws (including an IOException) fails its future, and is
+ * reported by the next {@link #flush()}, so a lost write is never mistaken
+ * for a durable one.
+ */
+public final class PersistenceExecutor {
+
+    private static final Log LOG = Log.get(PersistenceExecutor.class);
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static PersistenceExecutor shared;
+
+    private final String name;
+    private final int capacity;
+    private final LinkedHashMap<Object, Task> queue = new LinkedHashMap<>();
+    private long enqueued;  // tasks ever queued (coalesced submissions count once)
+    private long finished;  // tasks run to completion
+    private Thread writer;
+    // Writes that failed since the last flush
+    private final List<Throwable> failures = new ArrayList<>();
+
+    /** A queued write; it may throw IOException to report that nothing was saved. */
+    @FunctionalInterface
+    public interface Write {
+        void run() throws IOException;
+    }
+
+    private static final class Task {
+        Write write;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Task(Write write) {
+            this.write = write;
+        }
+    }
+
+    public PersistenceExecutor(String name, int capacity) {
+        this.name = name;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /** The executor every data file of the application is written through. */
+    public static synchronized PersistenceExecutor shared() {
+        if (shared == null) {
+            shared = new PersistenceExecutor("persistence-writer", DEFAULT_CAPACITY);
+            PersistenceExecutor executor = shared;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    executor.flush();
+                } catch (IOException e) {
+                    LOG.error("Some changes were not saved", e);
+                    Log.flush();
+                }
+            }, "persistence-flush"));
+        }
+        return shared;
+    }
+
+    /**
+     * Queues a write. If a write with an equal key is still waiting, it is
+     * replaced by this one and its future is returned. A null key is never
+     * coalesced. The future completes when the write has run, or
+     * exceptionally if it threw. Called from the writer thread itself, the
+     * write runs at once.
+     */
+    public CompletableFuture<Void> submit(Object key, Write write) {
+        if (Thread.currentThread() == writer) {
+            Task task = new Task(write);
+            run(task);
+            return task.done;
+        }
+        Object queueKey = key == null ? new Object() : key;
+        synchronized (this) {
+            Task waiting = queue.get(queueKey);
+            if (waiting != null) {
+                waiting.write = write;
+                return waiting.done;
+            }
+            boolean interrupted = false;
+            while (queue.size() >= capacity) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            Task task = new Task(write);
+            queue.put(queueKey, task);
+            enqueued++;
+            startWriter();
+            notifyAll();
+            return task.done;
+        }
+    }
+
+    /**
+     * Waits until every write submitted before this call has run. Throws if
+     * any write failed since the previous flush, with the first failure as
+     * the cause and the others suppressed.
+     */
+    public void flush() throws IOException {
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+        synchronized (this) {
+            long target = enqueued;
+            boolean interrupted = false;
+            while (finished < target && writer != null && writer.isAlive()) {
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (!failures.isEmpty()) {
+                IOException failed = new IOException(failures.size() + " background write(s) failed",
+                        failures.get(0));
+                for (int i = 1; i < failures.size(); i++) {
+                    failed.addSuppressed(failures.get(i));
+                }
+                failures.clear();
+                throw failed;
+            }
+        }
+    }
+
+    /** Writes queued and not yet started. */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void startWriter() {
+        if (writer == null) {
+            writer = new Thread(this::drain, name);
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Task task;
+            synchronized (this) {
+                while (queue.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                Iterator<Map.Entry<Object, Task>> first = queue.entrySet().iterator();
+                task = first.next().getValue();
+                first.remove();
+                notifyAll();  // room in the queue
+            }
+            run(task);
+            synchronized (this) {
+                finished++;
+                notifyAll();
+            }
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            task.write.run();
+            task.done.complete(null);
+        } catch (IOException | RuntimeException | Error e) {
+            LOG.error("Background write failed", e);
+            synchronized (this) {
+                failures.add(e);
+            }
+            task.done.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package project.projecte.DAO;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import project.projecte.Model.Employee;
+import project.projecte.Model.Item;
+import project.projecte.Model.User;
+import project.projecte.Util.Log;
+
+/**
+ * One binary image of the datasets read at startup (users, inventory and
+ * employees), so a launch reads a single file instead of parsing each one.
+ *
+ * Each section records the modification time, size and checksum footer of
+ * the source file it was made from. A section is only used while its source
+ * still matches; a stale one is ignored and that dataset is read from its
+ * own file, so the data files stay the source of truth. Bills are not
+ * included: they already start from the partition manifest and the sales
+ * rollup and load their partitions on demand.
+ *
+ * {@link #write} builds the image from the source files as they are on disk
+ * (not from memory), so it is called after queued saves have been flushed,
+ * on clean shutdown. {@link #load} maps the image (see
+ * {@link AtomicFiles#map}); a section is checked against its source and
+ * decoded when it is asked for.
+ *
+ * Format (written with {@link AtomicFiles}): int magic, byte version, int
+ * section count, then per section UTF name, long source mtime in
+ * nanoseconds, long source size, long source checksum, int length and the
+ * section bytes.
+ */
+public final class StartupSnapshot {
+
+    private static final Log LOG = Log.get(StartupSnapshot.class);
+
+    public static final String FILE_NAME = "startup.snapshot";
+
+    private static final int MAGIC = 0x534E5031; // "SNP1"
+    private static final byte VERSION = 1;
+
+    private static final String USERS = "users";
+    private static final String INVENTORY = "inventory";
+    private static final String EMPLOYEES = "employees";
+    private static final Map<String, String> SOURCES = Map.of(
+            USERS, "users.txt",
+            INVENTORY, "inventory.txt",
+            EMPLOYEES, "employees.dat");
+
+    private final Path dataDirectory;
+    // Section name -> sections not handed out yet
+    private final Map<String, Section> sections;
+
+    private StartupSnapshot(Path dataDirectory, Map<String, Section> sections) {
+        this.dataDirectory = dataDirectory;
+        this.sections = sections;
+    }
+
+    // Identifies a source file's contents without reading them
+    private record Stamp(long modified, long size, long checksum) {
+
+        static Stamp of(Path file) throws IOException {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            return new Stamp(Files.getLastModifiedTime(file).to(TimeUnit.NANOSECONDS), Files.size(file),
+                    AtomicFiles.storedChecksum(file));
+        }
+    }
+
+    private record Section(Stamp source, byte[] data) {
+    }
+
+    /**
+     * The image in the data directory with its still-valid sections. Never
+     * null: a missing, damaged or older-format image gives an empty snapshot.
+     */
+    public static StartupSnapshot load(Path dataDirectory) {
+        Map<String, Section> valid = new HashMap<>();
+        Path file = dataDirectory.resolve(FILE_NAME);
+        try {
+            ByteBuffer data = AtomicFiles.exists(file) ? AtomicFiles.map(file) : null;
+            if (data != null && data.getInt() == MAGIC && data.get() == VERSION) {
+                int count = data.getInt();
+                DataInputStream names = new DataInputStream(new ByteBufferInput(data));
+                for (int i = 0; i < count; i++) {
+                    String name = names.readUTF();
+                    Stamp recorded = new Stamp(data.getLong(), data.getLong(), data.getLong());
+                    byte[] section = new byte[data.getInt()];
+                    data.get(section);
+                    if (SOURCES.containsKey(name)) {
+                        valid.put(name, new Section(recorded, section));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring startup snapshot " + file + ": " + e);
+            valid.clear();
+        }
+        return new StartupSnapshot(dataDirectory, valid);
+    }
+
+    /**
+     * Users as in users.txt, or null if the section is missing, stale or was
+     * already taken. Like the other getters, each section is handed out once.
+     */
+    public List<User> getUsers() {
+        return decode(USERS, in -> {
+            int count = in.readInt();
+            List<User> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                users.add(FileManagement.createUser(in.readUTF(), in.readUTF(), in.readUTF()));
+            }
+            return users;
+        });
+    }
+
+    /** Items as in inventory.txt, or null if the section is missing or stale. */
+    public List<Item> getItems() {
+        return decode(INVENTORY, in -> {
+            int count = in.readInt();
+            List<Item> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(new Item(in.readUTF(), in.readUTF(), in.readDouble(), in.readDouble(), in.readInt()));
+            }
+            return items;
+        });
+    }
+
+    /** Employees as in employees.dat, or null if the section is missing or stale. */
+    public List<Employee> getEmployees() {
+        return decode(EMPLOYEES, in -> {
+            int count = in.readInt();
+            List<Employee> employees = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = readNullable(in);
+                String username = readNullable(in);
+                long birthDay = in.readLong();
+                LocalDate dateOfBirth = birthDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(birthDay);
+                employees.add(new Employee(name, username, dateOfBirth, readNullable(in), readNullable(in),
+                        in.readDouble(), readNullable(in)));
+            }
+            return employees;
+        });
+    }
+
+    /**
+     * Rewrites the image from the source files in the data directory.
+     * Sources that are missing, unreadable or change while being read are
+     * left out, and those datasets load from their own files next time.
+     */
+    public static void write(Path dataDirectory) throws IOException {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(image);
+        int count = 0;
+        count += writeSection(out, dataDirectory, USERS, (source, section) -> {
+            List<User> users = FileManagement.loadUsers(source.toString());
+            section.writeInt(users.size());
+            for (User user : users) {
+                section.writeUTF(user.getUsername());
+                section.writeUTF(user.getPassword());
+                section.writeUTF(user.getRole());
+            }
+        });
+        count += writeSection(out, dataDirectory, INVENTORY, (source, section) -> {
+            List<Item> items = CatalogFiles.readCsv(source);
+            section.writeInt(items.size());
+            for (Item item : items) {
+                section.writeUTF(item.getName());
+                section.writeUTF(item.getCategory());
+                section.writeDouble(item.getPurchasePrice());
+                section.writeDouble(item.getSellingPrice());
+                section.writeInt(item.getStockLevel());
+            }
+        });
+        count += writeSection(out, dataDirectory, EMPLOYEES, (source, section) -> {
+            List<Employee> employees = FileManagement.loadEmployees(source.toString());
+            section.writeInt(employees.size());
+            for (Employee employee : employees) {
+                writeNullable(section, employee.getName());
+                writeNullable(section, employee.getUsername());
+                LocalDate birthDay = employee.getDateOfBirth();
+                section.writeLong(birthDay == null ? Long.MIN_VALUE : birthDay.toEpochDay());
+                writeNullable(section, employee.getPhoneNumber());
+                writeNullable(section, employee.getEmail());
+                section.writeDouble(employee.getSalary());
+                writeNullable(section, employee.getAccessLevel());
+            }
+        });
+        out.flush();
+        int sectionCount = count;
+        AtomicFiles.write(dataDirectory.resolve(FILE_NAME), stream -> {
+            DataOutputStream header = new DataOutputStream(stream);
+            header.writeInt(MAGIC);
+            header.writeByte(VERSION);
+            header.writeInt(sectionCount);
+            header.flush();
+            image.writeTo(stream);
+        });
+    }
+
+    /** Removes the image and its backup, e.g. after a data file was replaced wholesale. */
+    public static void delete(Path dataDirectory) throws IOException {
+        Path file = dataDirectory.resolve(FILE_NAME);
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(AtomicFiles.backupPath(file));
+    }
+
+    @FunctionalInterface
+    private interface SectionWriter {
+        void write(Path source, DataOutputStream section) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SectionReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    // Appends one section; 1 if it was written, 0 if the source was skipped
+    private static int writeSection(DataOutputStream out, Path dataDirectory, String name, SectionWriter writer) {
+        Path source = dataDirectory.resolve(SOURCES.get(name));
+        try {
+            Stamp before = Stamp.of(source);
+            if (before == null) {
+                return 0;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream section = new DataOutputStream(bytes);
+            writer.write(source, section);
+            section.flush();
+            if (!before.equals(Stamp.of(source))) {
+                return 0;  // rewritten meanwhile; the stamp would not match what was read
+            }
+            out.writeUTF(name);
+            out.writeLong(before.modified());
+            out.writeLong(before.size());
+            out.writeLong(before.checksum());
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            return 1;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Leaving " + source + " out of the startup snapshot: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // Checked against the source now, since a dataset may be asked for long
+    // after startup; handed out once so the bytes do not stay on the heap
+    private synchronized <T> T decode(String name, SectionReader<T> reader) {
+        Section section = sections.remove(name);
+        try {
+            if (section == null || !section.source().equals(Stamp.of(dataDirectory.resolve(SOURCES.get(name))))) {
+                return null;
+            }
+            return reader.read(new DataInputStream(new ByteArrayInputStream(section.data())));
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring " + name + " in startup snapshot of " + dataDirectory + ": " + e);
+            return null;
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // Lets DataInputStream.readUTF read straight from the mapped image
+    private static final class ByteBufferInput extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+}
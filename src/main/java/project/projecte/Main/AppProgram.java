@@ -1,11 +1,17 @@
 package project.projecte.Main;
 
 import project.projecte.Controller.*;
+import project.projecte.DAO.DataRepository;
 import project.projecte.View.*;
+import java.io.IOException;
+
 import javafx.application.Application;
 import javafx.stage.Stage;
+import project.projecte.Util.Log;
 
 public class AppProgram extends Application {
+
+    private static final Log LOG = Log.get(AppProgram.class);
 	private static final String appName = "Electronic Store Management System";
     @Override
     public void start(Stage primaryStage) {
@@ -16,6 +22,19 @@ public class AppProgram extends Application {
         showLoginScreen(primaryStage);
     }
 
+    @Override
+    public void stop() {
+        // Fold pending stock changes into the data files before exiting
+        try {
+            DataRepository.getInstance().flush();
+        } catch (IOException e) {
+            LOG.error("Some changes could not be saved", e);
+        }
+        // ... and leave a snapshot of them for a fast next start
+        DataRepository.getInstance().saveSnapshot();
+        Log.flush();
+    }
+
     // Method to show login screen
     private void showLoginScreen(Stage primaryStage) {
         // Create a new LoginController instance
@@ -0,0 +1,412 @@
+package project.projecte.Main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import project.projecte.DAO.AtomicFiles;
+import project.projecte.DAO.BillPartitionStore;
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillItem;
+import project.projecte.Model.Employee;
+import project.projecte.Model.Supplier;
+import project.projecte.Util.Log;
+
+/**
+ * Generates a synthetic data directory for load and soak testing:
+ * users.txt, employees.dat, inventory.txt, suppliers.dat, the bill history
+ * (day partitions under bills/) and bill_counter.txt, all in the formats the
+ * application reads.
+ *
+ * Item popularity follows a Zipf distribution (a few items sell most) and
+ * sales follow a diurnal curve per hour of day plus a weekday factor. Bills
+ * are written day by day and flushed every {@link #FLUSH_BILLS} bills, so
+ * memory depends on the catalog size, not on the length of the history.
+ * The same seed and options always produce the same data.
+ *
+ * Sales rollups are not written; BillManager rebuilds them on first load.
+ *
+ * <pre>
+ * java -cp ... project.projecte.Main.DataGenerator --out=target/loadtest \
+ *     --seed=7 --cashiers=40 --skus=20000 --days=730 --bills-per-day=3000
+ * </pre>
+ */
+public class DataGenerator {
+
+    private static final Log LOG = Log.get(DataGenerator.class);
+
+    static final int FLUSH_BILLS = 50_000;
+
+    // Relative sales per hour of day: closed at night, lunch and evening peaks
+    static final double[] RETAIL_HOURS = {
+            0, 0, 0, 0, 0, 0, 0, 0.5, 2, 3, 4, 6, 9, 8, 5, 4, 5, 8, 10, 8, 5, 2, 0, 0
+    };
+    // Monday to Sunday
+    private static final double[] WEEKDAY_FACTORS = { 0.85, 0.9, 0.95, 1.0, 1.15, 1.35, 0.8 };
+
+    private static final String[] CATEGORIES = {
+            "Groceries", "Dairy", "Bakery", "Produce", "Beverages", "Snacks", "Frozen", "Household",
+            "Personal Care", "Electronics", "Accessories", "Stationery", "Toys", "Pet Supplies", "Garden"
+    };
+    private static final String[] BRANDS = {
+            "Acme", "Bluebird", "Cedar", "Delta", "Evergreen", "Fjord", "Golden", "Harbor", "Iris", "Juniper",
+            "Kestrel", "Lumen", "Maple", "Nova", "Orchard", "Pioneer", "Quartz", "Riverside", "Summit", "Tundra"
+    };
+    private static final String[] PRODUCTS = {
+            "Milk", "Bread", "Coffee", "Tea", "Rice", "Pasta", "Cereal", "Juice", "Water", "Cheese",
+            "Yogurt", "Butter", "Chips", "Cookies", "Soap", "Shampoo", "Batteries", "Cable", "Notebook", "Pens",
+            "Apples", "Bananas", "Tomatoes", "Pizza", "Ice Cream", "Detergent", "Sponges", "Candles", "Dog Food", "Seeds"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Ben", "Clara", "David", "Elena", "Farid", "Grace", "Hugo", "Ines", "Jonas",
+            "Kira", "Luis", "Maya", "Nils", "Olga", "Pablo", "Rosa", "Sami", "Tara", "Victor"
+    };
+    private static final String[] LAST_NAMES = {
+            "Berg", "Costa", "Dahl", "Evans", "Ferreira", "Garcia", "Hoxha", "Ivanova", "Jensen", "Krasniqi",
+            "Lopez", "Meyer", "Novak", "Osei", "Petrov", "Rossi", "Silva", "Tanaka", "Weber", "Zhang"
+    };
+
+    private final Path outputDirectory;
+    private final long seed;
+    private int cashiers = 20;
+    private int managers = 2;
+    private int skus = 5_000;
+    private int suppliers = 25;
+    private LocalDate startDate = LocalDate.of(2024, 1, 1);
+    private int days = 365;
+    private int billsPerDay = 1_000;
+    private int maxLinesPerBill = 12;
+    private double zipfExponent = 1.0;
+    private double[] hourlyWeights = RETAIL_HOURS.clone();
+
+    // Per-SKU data, built by writeInventory and used for the bills
+    private String[] itemNames;
+    private long[] sellingCents;
+    private ZipfSampler popularity;
+    private int[] rankToSku;
+
+    public DataGenerator(Path outputDirectory, long seed) {
+        this.outputDirectory = outputDirectory;
+        this.seed = seed;
+    }
+
+    public void setCashiers(int cashiers) {
+        this.cashiers = Math.max(1, cashiers);
+    }
+
+    public void setManagers(int managers) {
+        this.managers = Math.max(0, managers);
+    }
+
+    public void setSkus(int skus) {
+        this.skus = Math.max(1, skus);
+    }
+
+    public void setSuppliers(int suppliers) {
+        this.suppliers = Math.max(0, suppliers);
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public void setDays(int days) {
+        this.days = Math.max(0, days);
+    }
+
+    /** Average bills on a day with weekday factor 1 (Thursday). */
+    public void setBillsPerDay(int billsPerDay) {
+        this.billsPerDay = Math.max(0, billsPerDay);
+    }
+
+    public void setMaxLinesPerBill(int maxLinesPerBill) {
+        this.maxLinesPerBill = Math.max(1, maxLinesPerBill);
+    }
+
+    /** Zipf exponent s: item of popularity rank k sells in proportion to 1/k^s (0 = uniform). */
+    public void setZipfExponent(double zipfExponent) {
+        this.zipfExponent = Math.max(0, zipfExponent);
+    }
+
+    /** 24 relative weights, one per hour of day; at least one must be positive. */
+    public void setHourlyWeights(double[] hourlyWeights) {
+        if (hourlyWeights.length != 24 || Arrays.stream(hourlyWeights).sum() <= 0
+                || Arrays.stream(hourlyWeights).anyMatch(w -> w < 0)) {
+            throw new IllegalArgumentException("Expected 24 non-negative hourly weights with a positive sum");
+        }
+        this.hourlyWeights = hourlyWeights.clone();
+    }
+
+    /** Writes every file; existing files of the same name are replaced. Returns the number of bills. */
+    public long generate() throws IOException {
+        Files.createDirectories(outputDirectory);
+        writeUsers();
+        writeEmployees();
+        writeInventory();
+        writeSuppliers();
+        long bills = writeBills();
+        // The counter holds the next unused bill number
+        AtomicFiles.write(outputDirectory.resolve("bill_counter.txt"),
+                out -> out.write((bills + 1 + "\n").getBytes(StandardCharsets.UTF_8)));
+        return bills;
+    }
+
+    static String cashierName(int cashier) {
+        return String.format(Locale.ROOT, "cashier%03d", cashier + 1);
+    }
+
+    private static String managerName(int manager) {
+        return String.format(Locale.ROOT, "manager%02d", manager + 1);
+    }
+
+    private void writeUsers() throws IOException {
+        AtomicFiles.write(outputDirectory.resolve("users.txt"), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("admin,admin123,Administrator");
+            writer.newLine();
+            for (int m = 0; m < managers; m++) {
+                writer.write(managerName(m) + "," + managerName(m) + "123,Manager");
+                writer.newLine();
+            }
+            for (int c = 0; c < cashiers; c++) {
+                writer.write(cashierName(c) + "," + cashierName(c) + "123,Cashier");
+                writer.newLine();
+            }
+            writer.flush();
+        });
+    }
+
+    private void writeEmployees() throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x454D504CL);
+        List<Employee> employees = new ArrayList<>(managers + cashiers);
+        for (int m = 0; m < managers; m++) {
+            employees.add(randomEmployee(random, managerName(m), 2800, "Manager"));
+        }
+        for (int c = 0; c < cashiers; c++) {
+            employees.add(randomEmployee(random, cashierName(c), 1600, "Cashier"));
+        }
+        AtomicFiles.write(outputDirectory.resolve("employees.dat"), out -> {
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            oos.writeObject(employees);
+            oos.flush();
+        });
+    }
+
+    private static Employee randomEmployee(SplittableRandom random, String username, int baseSalary, String accessLevel) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        LocalDate dateOfBirth = LocalDate.of(1960, 1, 1).plusDays(random.nextInt(45 * 365));
+        String phone = String.format(Locale.ROOT, "+355 6%d %03d %04d", 7 + random.nextInt(3),
+                random.nextInt(1000), random.nextInt(10000));
+        double salary = baseSalary + random.nextInt(80) * 10;
+        return new Employee(name, username, dateOfBirth, phone, username + "@store.example", salary, accessLevel);
+    }
+
+    private void writeInventory() throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x494E5654L);
+        itemNames = new String[skus];
+        sellingCents = new long[skus];
+        AtomicFiles.write(outputDirectory.resolve("inventory.txt"), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int sku = 0; sku < skus; sku++) {
+                String name = BRANDS[random.nextInt(BRANDS.length)] + " " + PRODUCTS[random.nextInt(PRODUCTS.length)]
+                        + " " + (sku + 1);
+                // Log-normal prices: mostly a few euros, a long tail of expensive items
+                long selling = Math.max(19, Math.min(250_000, Math.round(Math.exp(1.2 + random.nextGaussian()) * 100)));
+                long purchase = Math.max(1, selling * (50 + random.nextInt(30)) / 100);
+                itemNames[sku] = name;
+                sellingCents[sku] = selling;
+                writer.write(String.format(Locale.ROOT, "%s,%s,%.2f,%.2f,%d", name, CATEGORIES[sku % CATEGORIES.length],
+                        purchase / 100.0, selling / 100.0, 20 + random.nextInt(480)));
+                writer.newLine();
+            }
+            writer.flush();
+        });
+
+        // Popularity ranks are shuffled over the SKUs so best sellers are spread across the catalog
+        rankToSku = new int[skus];
+        for (int i = 0; i < skus; i++) {
+            rankToSku[i] = i;
+        }
+        for (int i = skus - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rankToSku[i];
+            rankToSku[i] = rankToSku[j];
+            rankToSku[j] = swap;
+        }
+        popularity = new ZipfSampler(skus, zipfExponent);
+    }
+
+    private void writeSuppliers() throws IOException {
+        List<Supplier> list = new ArrayList<>(suppliers);
+        for (int s = 0; s < suppliers; s++) {
+            String name = BRANDS[s % BRANDS.length] + " Wholesale" + (s < BRANDS.length ? "" : " " + (s / BRANDS.length + 1));
+            Supplier supplier = new Supplier(name, String.format(Locale.ROOT, "orders%02d@supplier.example", s + 1));
+            // Names are unique, so skip addProduct's duplicate scan
+            for (int sku = s; sku < skus; sku += suppliers) {
+                supplier.getProducts().add(itemNames[sku]);
+            }
+            list.add(supplier);
+        }
+        AtomicFiles.write(outputDirectory.resolve("suppliers.dat"), out -> {
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            oos.writeObject(list);
+            oos.flush();
+        });
+    }
+
+    private long writeBills() throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x42494C4CL);
+        BillPartitionStore store = new BillPartitionStore(outputDirectory.resolve("bills"));
+        ZipfSampler hours = new ZipfSampler(hourlyWeights);
+        TreeMap<LocalDate, List<Bill>> pending = new TreeMap<>();
+        int pendingBills = 0;
+        int number = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate day = startDate.plusDays(d);
+            double factor = WEEKDAY_FACTORS[day.getDayOfWeek().getValue() - 1];
+            int count = (int) Math.max(0, Math.round(billsPerDay * factor * (1 + 0.1 * random.nextGaussian())));
+
+            // Sorted times of day, so bill numbers increase with time
+            int[] seconds = new int[count];
+            for (int b = 0; b < count; b++) {
+                seconds[b] = hours.next(random) * 3600 + random.nextInt(3600);
+            }
+            Arrays.sort(seconds);
+
+            List<Bill> bills = new ArrayList<>(count);
+            for (int b = 0; b < count; b++) {
+                bills.add(randomBill(random, ++number, day, seconds[b]));
+            }
+            if (!bills.isEmpty()) {
+                pending.put(day, bills);
+                pendingBills += count;
+            }
+            if (pendingBills >= FLUSH_BILLS || (d == days - 1 && !pending.isEmpty())) {
+                store.writePartitions(pending);
+                pending.clear();
+                pendingBills = 0;
+            }
+            if (day.getDayOfMonth() == 1 && d > 0) {
+                LOG.info("Generated bills up to " + day + " (" + number + " bills)");
+            }
+        }
+        return number;
+    }
+
+    private Bill randomBill(SplittableRandom random, int number, LocalDate day, int secondOfDay) {
+        // Two shifts: the first half of the cashiers before 15:00, the second half after
+        int half = (cashiers + 1) / 2;
+        int cashier = secondOfDay < 15 * 3600 || half == cashiers
+                ? random.nextInt(half)
+                : half + random.nextInt(cashiers - half);
+        Bill bill = new Bill(number, cashierName(cashier), day.atStartOfDay().plusSeconds(secondOfDay));
+        // Geometric basket size with a mean of about four lines
+        int lines = 1;
+        while (lines < maxLinesPerBill && random.nextDouble() < 0.75) {
+            lines++;
+        }
+        for (int i = 0; i < lines; i++) {
+            int sku = rankToSku[popularity.next(random)];
+            int quantity = random.nextDouble() < 0.8 ? 1 : 2 + random.nextInt(4);
+            bill.getBillItems().add(new BillItem(itemNames[sku], sellingCents[sku], quantity));
+        }
+        return bill;
+    }
+
+    // Samples an index with probability proportional to its weight, by binary
+    // search over the cumulative weights
+    static final class ZipfSampler {
+        private final double[] cumulative;
+
+        // Rank k (0-based) has weight 1 / (k + 1)^exponent
+        ZipfSampler(int size, double exponent) {
+            cumulative = new double[size];
+            double total = 0;
+            for (int k = 0; k < size; k++) {
+                total += 1.0 / Math.pow(k + 1, exponent);
+                cumulative[k] = total;
+            }
+        }
+
+        ZipfSampler(double[] weights) {
+            cumulative = new double[weights.length];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                total += weights[i];
+                cumulative[i] = total;
+            }
+        }
+
+        int next(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            index = index >= 0 ? index + 1 : -index - 1;
+            // Skip zero-weight entries that share the cumulative value
+            while (index < cumulative.length - 1 && cumulative[index] <= target) {
+                index++;
+            }
+            return Math.min(index, cumulative.length - 1);
+        }
+    }
+
+    /** Options as --name=value; see the setters. Prints the usage for --help. */
+    public static void main(String[] args) throws IOException {
+        Path out = Path.of("target", "generated-data");
+        long seed = 1;
+        List<String[]> options = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--help") || !arg.startsWith("--") || !arg.contains("=")) {
+                System.out.println("Usage: DataGenerator [--out=DIR] [--seed=N] [--cashiers=N] [--managers=N]"
+                        + " [--skus=N] [--suppliers=N] [--start=YYYY-MM-DD] [--days=N] [--bills-per-day=N]"
+                        + " [--max-lines=N] [--zipf=S] [--hours=w0,w1,...,w23]");
+                return;
+            }
+            String[] option = arg.substring(2).split("=", 2);
+            if (option[0].equals("out")) {
+                out = Path.of(option[1]);
+            } else if (option[0].equals("seed")) {
+                seed = Long.parseLong(option[1]);
+            } else {
+                options.add(option);
+            }
+        }
+
+        DataGenerator generator = new DataGenerator(out, seed);
+        for (String[] option : options) {
+            String value = option[1];
+            switch (option[0]) {
+                case "cashiers" -> generator.setCashiers(Integer.parseInt(value));
+                case "managers" -> generator.setManagers(Integer.parseInt(value));
+                case "skus" -> generator.setSkus(Integer.parseInt(value));
+                case "suppliers" -> generator.setSuppliers(Integer.parseInt(value));
+                case "start" -> generator.setStartDate(LocalDate.parse(value));
+                case "days" -> generator.setDays(Integer.parseInt(value));
+                case "bills-per-day" -> generator.setBillsPerDay(Integer.parseInt(value));
+                case "max-lines" -> generator.setMaxLinesPerBill(Integer.parseInt(value));
+                case "zipf" -> generator.setZipfExponent(Double.parseDouble(value));
+                case "hours" -> generator.setHourlyWeights(Arrays.stream(value.split(","))
+                        .mapToDouble(Double::parseDouble).toArray());
+                default -> {
+                    System.err.println("Unknown option --" + option[0]);
+                    return;
+                }
+            }
+        }
+        long started = System.nanoTime();
+        long bills = generator.generate();
+        LOG.info("Wrote " + bills + " bills to " + out.toAbsolutePath() + " in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms");
+        Log.flush();
+    }
+}
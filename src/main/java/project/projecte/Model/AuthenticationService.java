@@ -0,0 +1,97 @@
+package project.projecte.Model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import project.projecte.Util.PasswordHasher;
+
+/**
+ * Checks login credentials against the users' stored password hashes.
+ *
+ * Hashing is deliberately slow, so verification runs on a small fixed pool
+ * of worker threads with a bounded queue instead of the caller's thread. A
+ * login storm therefore costs at most {@code workers} cores times the hash
+ * cost; logins beyond the queue are refused at once rather than piling up.
+ *
+ * Unknown usernames are checked against a dummy hash so they take as long as
+ * known ones. A successful login with a plaintext or cheaper hash upgrades
+ * the stored hash to the current cost.
+ */
+public class AuthenticationService {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private final UserManager userManager;
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor workers;
+    private volatile String dummyHash;
+
+    // Pool size from -Dprojecte.auth.workers, 2 by default
+    public AuthenticationService(UserManager userManager) {
+        this(userManager, Integer.getInteger("projecte.auth.workers", 2), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public AuthenticationService(UserManager userManager, int workerCount, int queueCapacity) {
+        this.userManager = userManager;
+        this.hasher = userManager.getPasswordHasher();
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = Math.max(1, workerCount);
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "auth-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Verifies the credentials on the worker pool. Completes with the user, or
+     * null if the username or password is wrong; completes exceptionally with
+     * RejectedExecutionException when too many logins are already waiting.
+     */
+    public CompletableFuture<User> authenticate(String username, String password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> verify(username, password), workers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** Verifies on the calling thread; the user, or null if the credentials are wrong. */
+    public User verify(String username, String password) {
+        User user = userManager.findUserByUsername(username);
+        if (user == null || password == null) {
+            hasher.verify(password == null ? "" : password, dummyHash());
+            return null;
+        }
+        String stored = user.getPassword();
+        boolean valid = PasswordHasher.isHash(stored)
+                ? hasher.verify(password, stored)
+                : PasswordHasher.matchesPlaintext(password, stored);
+        if (!valid) {
+            return null;
+        }
+        if (hasher.needsRehash(stored) && userManager.replacePassword(user, stored, hasher.hash(password))) {
+            userManager.saveUsersAsync();
+        }
+        return user;
+    }
+
+    /** Stops the worker threads; queued logins still run. */
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = hasher.hash("not-a-password");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
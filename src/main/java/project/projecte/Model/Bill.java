@@ -1,9 +1,14 @@
 package project.projecte.Model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 public class Bill implements Serializable {
 
@@ -11,7 +16,19 @@ public class Bill implements Serializable {
     private int billNumber;
     private LocalDateTime billDate;
     private String cashierUsername;
-    private List<BillItem> billItems;
+    // Volatile, like itemLoader: BillManager may drop a stored bill's items
+    // (releaseItems) or repoint its loader while another thread reads them
+    private volatile List<BillItem> billItems;
+
+    // Set for stored bills whose items stay on disk until they are needed
+    private transient volatile Function<Bill, List<BillItem>> itemLoader;
+    // Set once the bill is stored and final: items can no longer change and
+    // it holds their total. A single volatile reference to an immutable value,
+    // so a reader that sees it also sees the read-only item list.
+    private transient volatile Sealed sealed;
+
+    private record Sealed(long totalCents) {
+    }
 
     public Bill(int billNumber, String cashierUsername) {
         this.billNumber = billNumber;
@@ -20,6 +37,25 @@ public class Bill implements Serializable {
         this.billItems = new ArrayList<>();
     }
 
+    // Used when reading stored bills back, which keep their original date
+    public Bill(int billNumber, String cashierUsername, LocalDateTime billDate) {
+        this.billNumber = billNumber;
+        this.cashierUsername = cashierUsername;
+        this.billDate = billDate;
+        this.billItems = new ArrayList<>();
+    }
+
+    // Used for stored bills: the total comes from the index and the items are
+    // read through itemLoader the first time they are asked for
+    public Bill(int billNumber, String cashierUsername, LocalDateTime billDate, long totalCents,
+                Function<Bill, List<BillItem>> itemLoader) {
+        this.billNumber = billNumber;
+        this.cashierUsername = cashierUsername;
+        this.billDate = billDate;
+        this.itemLoader = itemLoader;
+        this.sealed = new Sealed(totalCents);
+    }
+
     public String getCashierUsername() {
         return cashierUsername;
     }
@@ -33,17 +69,90 @@ public class Bill implements Serializable {
     }
 
     public void addItem(Item item, int quantity) {
-        billItems.add(new BillItem(item.getName(), item.getSellingPrice(), quantity));
+        BillItem line = new BillItem(item.getName(), item.getSellingPrice(), quantity);
+        synchronized (this) {
+            if (sealed != null) {
+                throw new IllegalStateException("Bill " + billNumber + " is finalized");
+            }
+            billItems.add(line);
+        }
     }
 
     public List<BillItem> getBillItems() {
-        return billItems;
+        // Read once: the field may be cleared by releaseItems meanwhile
+        List<BillItem> items = billItems;
+        if (items == null) {
+            items = Collections.unmodifiableList(itemLoader.apply(this));
+            billItems = items;
+        }
+        return items;
+    }
+
+    /**
+     * Finalizes the bill: its items become read-only and the total is
+     * computed once. Called when the bill is stored; calling it again has no
+     * effect.
+     */
+    public synchronized void seal() {
+        if (sealed != null) {
+            return;
+        }
+        List<BillItem> items = Collections.unmodifiableList(billItems);
+        billItems = items;
+        sealed = new Sealed(sumCents(items));
+    }
+
+    public boolean isSealed() {
+        return sealed != null;
+    }
+
+    boolean hasItemsLoaded() {
+        return billItems != null;
+    }
+
+    // Drops the items of a stored bill; they are read again on next access
+    void releaseItems() {
+        if (itemLoader != null) {
+            billItems = null;
+        }
+    }
+
+    // Points a bill at its new location after its partition was rewritten,
+    // taking over the loader of the freshly read copy
+    void attachItemLoader(Bill stored) {
+        seal();
+        itemLoader = stored.itemLoader;
+        billItems = null;
     }
 
     public double getTotalAmount() {
-        return billItems.stream()
-                .mapToDouble(billItem -> billItem.getSellingPrice() * billItem.getQuantity())
-                .sum();
+        return getTotalCents() / 100.0;
+    }
+
+    public long getTotalCents() {
+        Sealed finalized = sealed;
+        return finalized != null ? finalized.totalCents() : sumCents(getBillItems());
+    }
+
+    private static long sumCents(List<BillItem> items) {
+        long sum = 0;
+        for (int i = 0, n = items.size(); i < n; i++) {
+            sum += items.get(i).getLineTotalCents();
+        }
+        return sum;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getBillItems(); // page the items in so they are not written as null
+        out.defaultWriteObject();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (billItems == null) {
+            billItems = new ArrayList<>();
+        }
+        seal(); // deserialized bills are stored bills
     }
 
     @Override
@@ -52,7 +161,7 @@ public class Bill implements Serializable {
         builder.append("Bill Number: ").append(billNumber).append("\n");
         builder.append("Date: ").append(billDate).append("\n");
         builder.append("Items:\n");
-        for (BillItem item : billItems) {
+        for (BillItem item : getBillItems()) {
             builder.append(item).append("\n");
         }
         builder.append("Total Amount: $").append(getTotalAmount());
@@ -1,17 +1,33 @@
 package project.projecte.Model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 
 public class BillItem implements Serializable {
 
     private static final long serialVersionUID = 1L;
+
+    // Serialized form is unchanged (price as a double) so older saved bills still read
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("name", String.class),
+            new ObjectStreamField("sellingPrice", double.class),
+            new ObjectStreamField("quantity", int.class)
+    };
+
     private String name;
-    private double sellingPrice;
+    private long priceCents;
     private int quantity;
 
     public BillItem(String name, double sellingPrice, int quantity) {
+        this(name, toCents(sellingPrice), quantity);
+    }
+
+    public BillItem(String name, long priceCents, int quantity) {
         this.name = name;
-        this.sellingPrice = sellingPrice;
+        this.priceCents = priceCents;
         this.quantity = quantity;
     }
 
@@ -20,15 +36,44 @@ public class BillItem implements Serializable {
     }
 
     public double getSellingPrice() {
-        return sellingPrice;
+        return priceCents / 100.0;
+    }
+
+    public long getPriceCents() {
+        return priceCents;
     }
 
     public int getQuantity() {
         return quantity;
     }
 
+    // Rounds a price in dollars to whole cents
+    public static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+
+    // Price times quantity, exact in cents
+    public long getLineTotalCents() {
+        return priceCents * quantity;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("name", name);
+        fields.put("sellingPrice", getSellingPrice());
+        fields.put("quantity", quantity);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        name = (String) fields.get("name", null);
+        priceCents = toCents(fields.get("sellingPrice", 0.0));
+        quantity = fields.get("quantity", 0);
+    }
+
     @Override
     public String toString() {
-        return String.format("%s (Qty: %d, Price: $%.2f)", name, quantity, sellingPrice);
+        return String.format("%s (Qty: %d, Price: $%.2f)", name, quantity, getSellingPrice());
     }
 }
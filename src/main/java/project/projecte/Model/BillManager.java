@@ -1,46 +1,358 @@
 package project.projecte.Model;
 
 import java.io.*;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import project.projecte.DAO.AtomicFiles;
+import project.projecte.DAO.BillCodec;
+import project.projecte.DAO.BillJournal;
+import project.projecte.DAO.BillPartitionStore;
+import project.projecte.DAO.PersistenceExecutor;
+import project.projecte.Util.Log;
+
+// Thread-safe: several tills may add bills at once. In-memory state is guarded
+// by this object's monitor; journal appends run in parallel under the read
+// side of storeLock (so their fsyncs are shared) and compaction takes the
+// write side, so no append can land in a journal that is being reset.
 public class BillManager {
 
-    private List<Bill> bills;
-    private final String billsFile = "data/bills_data.ser";
+    private static final Log LOG = Log.get(BillManager.class);
+
+    // Compact once the journal holds this many bills, or half the stored bill
+    // count if that is larger, so partition rewrites stay amortized O(1) per bill.
+    private static final int MIN_COMPACTION_RECORDS = 256;
+
+    // Default number of stored bill line items kept in memory before the least
+    // recently loaded bills drop theirs; override with -Dbills.itemMemoryBudget
+    private static final int DEFAULT_ITEM_MEMORY_BUDGET = 200_000;
+
+    // Default number of stored bills whose day partitions stay cached; the
+    // least recently used days are dropped beyond it. Override with
+    // -Dbills.partitionCacheBills
+    private static final int DEFAULT_PARTITION_CACHE_BILLS = 500_000;
+
+    // Order of a paged listing: by date and time, then bill number
+    private static final Comparator<Bill> PAGE_ORDER =
+            Comparator.comparing(Bill::getBillDate).thenComparingInt(Bill::getBillNumber);
+
+    private final String billsFile;
+    private final String legacyBillsFile;
+    private final BillPartitionStore partitionStore;
+    private final BillJournal journal;
+    private final Path rollupFile;
+    private SalesRollup rollup = new SalesRollup();
+
+    // Day partitions read from disk, least recently used first and bounded by
+    // partitionCacheBills, and bills journaled since the last compaction
+    // grouped by day. A day's bills are cache + pending, in that order.
+    private final LinkedHashMap<LocalDate, List<Bill>> loadedPartitions = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBillCount;
+    private int partitionCacheBills = Integer.getInteger("bills.partitionCacheBills", DEFAULT_PARTITION_CACHE_BILLS);
+    private final TreeMap<LocalDate, List<Bill>> pendingBills = new TreeMap<>();
+    private int pendingCount;
+
+    // Stored bills whose items are currently in memory, oldest load first
+    private final LinkedHashMap<Bill, Integer> residentItems = new LinkedHashMap<>();
+    private long residentItemCount;
+    private int itemMemoryBudget = Integer.getInteger("bills.itemMemoryBudget", DEFAULT_ITEM_MEMORY_BUDGET);
+
+    private final ReentrantReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    // Bills from addBillAsync that are in memory but not journaled yet
+    private final List<Bill> unjournaled = new ArrayList<>();
 
     public BillManager() {
-        this.bills = new ArrayList<>();
+        this("data");
+    }
+
+    public BillManager(String dataDirectory) {
+        this.billsFile = dataDirectory + "/bills_data.bin";
+        this.legacyBillsFile = dataDirectory + "/bills_data.ser";
+        this.partitionStore = new BillPartitionStore(Path.of(dataDirectory, "bills"));
+        this.journal = new BillJournal(Path.of(dataDirectory, "bills_journal.dat"));
+        this.rollupFile = Path.of(dataDirectory, "bills_rollup.bin");
         loadBillsFromFile();
-        System.out.println("DEBUG BillManager: Loaded " + bills.size() + " bills from " + billsFile);
+        LOG.debug(() -> partitionStore.getManifest().size() + " partitions, "
+                + pendingCount + " journaled bills in " + partitionStore.getDirectory());
     }
 
     public void addBill(Bill bill) {
         if (bill != null) {  // Don't add null bills
-            bills.add(bill);
-            saveAllBillsToFile();
+            boolean journaled = false;
+            storeLock.readLock().lock();
+            try {
+                synchronized (this) {
+                    addPending(bill);
+                }
+                journal.append(bill);
+                journaled = true;
+            } catch (IOException e) {
+                // Fall back to writing the partition so the bill is not lost
+                LOG.warn("Failed to append bill to journal, saving its partition: " + e.getMessage());
+            } finally {
+                storeLock.readLock().unlock();
+            }
+            if (!journaled || compactionDue()) {
+                compact();
+            }
         } else {
-            System.err.println("Warning: Attempted to add null bill - ignoring");
+            LOG.warn("Attempted to add null bill - ignoring");
+        }
+    }
+
+    /**
+     * Adds the bill in memory at once and journals it on the shared
+     * {@link PersistenceExecutor}; bills added while the writer is busy are
+     * journaled together. The future completes once the bill is durable.
+     */
+    public CompletableFuture<Void> addBillAsync(Bill bill) {
+        if (bill == null) {
+            LOG.warn("Attempted to add null bill - ignoring");
+            return CompletableFuture.completedFuture(null);
+        }
+        synchronized (this) {
+            addPending(bill);
+            unjournaled.add(bill);
+        }
+        return PersistenceExecutor.shared().submit(journal, this::journalQueued);
+    }
+
+    // Throws only if the bills are neither journaled nor, as a fallback,
+    // compacted into their partitions, so the future of addBillAsync fails
+    private void journalQueued() throws IOException {
+        IOException failure = null;
+        // Taken under the read lock, so a compaction cannot fold these bills
+        // into partitions while they are being appended
+        storeLock.readLock().lock();
+        try {
+            List<Bill> batch;
+            synchronized (this) {
+                batch = new ArrayList<>(unjournaled);
+                unjournaled.clear();
+            }
+            for (Bill bill : batch) {
+                journal.append(bill);
+            }
+        } catch (IOException e) {
+            LOG.error("Failed to append bills to journal", e);
+            failure = e;
+        } finally {
+            storeLock.readLock().unlock();
+        }
+        if (failure != null || compactionDue()) {
+            if (!compactStore() && failure != null) {
+                throw failure;
+            }
         }
     }
 
-    public List<Bill> getBills() {
+    private synchronized boolean compactionDue() {
+        return pendingCount >= Math.max(MIN_COMPACTION_RECORDS, partitionStore.totalBills() / 2);
+    }
+
+    public synchronized int getItemMemoryBudget() {
+        return itemMemoryBudget;
+    }
+
+    // Upper bound on stored line items held in memory. Only the per-bill index
+    // (number, cashier, date, total) is always resident.
+    public synchronized void setItemMemoryBudget(int itemMemoryBudget) {
+        this.itemMemoryBudget = Math.max(0, itemMemoryBudget);
+        evictOverBudget();
+    }
+
+    public synchronized long getResidentItemCount() {
+        return residentItemCount;
+    }
+
+    public synchronized int getPartitionCacheBills() {
+        return partitionCacheBills;
+    }
+
+    // Upper bound on stored bills kept in cached day partitions. The most
+    // recently used day stays cached even if it alone is larger.
+    public synchronized void setPartitionCacheBills(int partitionCacheBills) {
+        this.partitionCacheBills = Math.max(0, partitionCacheBills);
+        trimPartitionCache();
+    }
+
+    public synchronized long getCachedBillCount() {
+        return cachedBillCount;
+    }
+
+    // Every bill, oldest day first. This reads all partitions not cached (in
+    // parallel), though only the cache budget's worth stays cached; prefer
+    // the date-range queries where possible.
+    public synchronized List<Bill> getBills() {
+        Map<LocalDate, List<Bill>> stored = loadPartitions(partitionStore.getManifest().keySet());
+        List<Bill> bills = new ArrayList<>();
+        for (LocalDate day : knownDays()) {
+            appendDay(day, stored, bills);
+        }
         return bills;
     }
 
+    /**
+     * Bills of one cashier (username matched case-insensitively), oldest day
+     * first, as an unmodifiable list. The sales rollup records which days
+     * each cashier sold on, so only those days' partitions are read (their
+     * index; items are paged in as usual).
+     */
+    public synchronized List<Bill> getBillsByCashier(String cashierUsername) {
+        if (cashierUsername == null) {
+            return List.of();
+        }
+        List<LocalDate> days = rollup.getCashierDays(cashierUsername);
+        Map<LocalDate, List<Bill>> stored = loadPartitions(days);
+        String cashier = cashierKey(cashierUsername);
+        List<Bill> bills = new ArrayList<>();
+        List<Bill> day = new ArrayList<>();
+        for (LocalDate date : days) {
+            day.clear();
+            appendDay(date, stored, day);
+            for (Bill bill : day) {
+                if (bill.getCashierUsername() != null && cashierKey(bill.getCashierUsername()).equals(cashier)) {
+                    bills.add(bill);
+                }
+            }
+        }
+        return Collections.unmodifiableList(bills);
+    }
+
+    /** Replaces each cashier's bill list with their stored bills. */
+    public synchronized void assignBillsTo(List<Cashier> cashiers) {
+        for (Cashier cashier : cashiers) {
+            cashier.getBills().clear();
+            cashier.getBills().addAll(getBillsByCashier(cashier.getUsername()));
+        }
+    }
+
+    private static String cashierKey(String username) {
+        return SalesRollup.cashierKey(username);
+    }
+
+    // Highest bill number stored so far, 0 if there are none. Reads every
+    // partition's index.
+    public synchronized int getHighestBillNumber() {
+        int highest = 0;
+        for (Bill bill : getBills()) {
+            highest = Math.max(highest, bill.getBillNumber());
+        }
+        return highest;
+    }
+
+    // Sales totals maintained as bills are added; use these for statistics
+    // instead of summing bills
+    public synchronized SalesRollup getSalesRollup() {
+        return rollup;
+    }
+
+    public Map<String, SalesRollup.Totals> getSalesByCashier(LocalDateTime from, LocalDateTime to) {
+        return getSalesRollup().getTotalsByCashier(from, to);
+    }
+
     public List<Bill> getTodayBills() {
-        return bills.stream()
-                .filter(bill -> bill.getBillDate().toLocalDate().equals(LocalDate.now()))
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        return getBillsWithinDateRange(today, today);
     }
 
-    public List<Bill> getBillsWithinDateRange(LocalDate startDate, LocalDate endDate) {
-        return bills.stream()
-                .filter(bill -> !bill.getBillDate().toLocalDate().isBefore(startDate) &&
-                        !bill.getBillDate().toLocalDate().isAfter(endDate))
-                .collect(Collectors.toList());
+    // Only opens the partitions for days inside the range
+    public synchronized List<Bill> getBillsWithinDateRange(LocalDate startDate, LocalDate endDate) {
+        List<Bill> bills = new ArrayList<>();
+        if (startDate.isAfter(endDate)) {
+            return bills;
+        }
+        for (LocalDate day : knownDays().subSet(startDate, true, endDate, true)) {
+            appendDay(day, bills);
+        }
+        return bills;
+    }
+
+    /**
+     * One page of a date-range listing. {@code nextToken} continues the
+     * listing after the last bill of this page; it is null once the range is
+     * exhausted. A full page may be followed by an empty last one.
+     */
+    public record BillPage(List<Bill> bills, String nextToken) {
+    }
+
+    /**
+     * Up to {@code pageSize} bills dated within the range, oldest first,
+     * optionally only those of one cashier (matched case-insensitively; null
+     * for all). Pass null as the token for the first page, then each page's
+     * {@code nextToken}. The token names the last bill returned rather than
+     * an offset, so bills added meanwhile never shift or repeat a page. Only
+     * the partitions a page actually reaches are opened.
+     *
+     * @throws IllegalArgumentException if the token is not one this method returned
+     */
+    public synchronized BillPage getBillPage(LocalDate startDate, LocalDate endDate, String cashierUsername,
+                                             int pageSize, String continuationToken) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        Bill after = continuationToken == null ? null : parsePageToken(continuationToken);
+        LocalDate fromDay = after == null ? startDate : after.getBillDate().toLocalDate();
+        List<Bill> page = new ArrayList<>(pageSize);
+        if (fromDay.isBefore(startDate)) {
+            fromDay = startDate;
+        }
+        if (fromDay.isAfter(endDate)) {
+            return new BillPage(page, null);
+        }
+        String cashier = cashierUsername == null ? null : cashierKey(cashierUsername);
+        List<Bill> day = new ArrayList<>();
+        for (LocalDate date : knownDays().subSet(fromDay, true, endDate, true)) {
+            day.clear();
+            appendDay(date, day);
+            day.sort(PAGE_ORDER);
+            for (Bill bill : day) {
+                if ((after != null && PAGE_ORDER.compare(bill, after) <= 0)
+                        || (cashier != null && (bill.getCashierUsername() == null
+                                || !cashierKey(bill.getCashierUsername()).equals(cashier)))) {
+                    continue;
+                }
+                page.add(bill);
+                if (page.size() == pageSize) {
+                    return new BillPage(page, pageToken(bill));
+                }
+            }
+        }
+        return new BillPage(page, null);
+    }
+
+    private static String pageToken(Bill last) {
+        return last.getBillDate() + "#" + last.getBillNumber();
+    }
+
+    // A stand-in bill carrying the date and number the token points after
+    private static Bill parsePageToken(String token) {
+        int separator = token.lastIndexOf('#');
+        try {
+            return new Bill(Integer.parseInt(token.substring(separator + 1)), null,
+                    LocalDateTime.parse(token.substring(0, Math.max(separator, 0))));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
     }
 
     public void saveBillToFile(Bill bill) {
@@ -52,43 +364,337 @@ public class BillManager {
         }
     }
 
-    private void saveAllBillsToFile() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(billsFile))) {
-            oos.writeObject(bills);
+    // Folds journaled bills into their day partitions and starts an empty
+    // journal. Only the days that received new bills are rewritten.
+    public void compact() {
+        compactStore();
+    }
+
+    // True if every pending bill is now in its partition
+    private boolean compactStore() {
+        storeLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                return compactPending();
+            }
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    private boolean compactPending() {
+        if (pendingBills.isEmpty()) {
+            return true;
+        }
+        TreeMap<LocalDate, List<Bill>> dirty = new TreeMap<>();
+        try {
+            for (var entry : pendingBills.entrySet()) {
+                // A day whose stored bills cannot be read is not rewritten:
+                // everything stays in the journal until it can be
+                List<Bill> merged = new ArrayList<>(storedPartition(entry.getKey()));
+                merged.addAll(entry.getValue());
+                dirty.put(entry.getKey(), merged);
+            }
         } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("Failed to save bills to file: " + billsFile);
+            LOG.error("Not compacting bills, a stored partition is unreadable", e);
+            return false;
+        }
+        try {
+            partitionStore.writePartitions(dirty);
+            // Rewritten files have new item offsets: re-read each index and
+            // point the same Bill objects at it, dropping their items for now
+            for (var entry : dirty.entrySet()) {
+                List<Bill> stored = partitionStore.readPartition(entry.getKey(), this::onItemsLoaded);
+                List<Bill> bills = entry.getValue();
+                for (int i = 0; i < bills.size(); i++) {
+                    forgetResident(bills.get(i));
+                    bills.get(i).attachItemLoader(stored.get(i));
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Failed to save bills to " + partitionStore.getDirectory(), e);
+            return false;
+        }
+        dirty.forEach(this::cachePartition);
+        pendingBills.clear();
+        pendingCount = 0;
+        unjournaled.clear();  // now in the partitions
+        // With nothing pending the rollups cover exactly the stored partitions
+        saveRollup();
+        // Truncating in place is safe only here, after writePartitions has
+        // made every journaled bill durable in its partition; a crash during
+        // the reset loses nothing that is not stored there
+        try {
+            journal.reset(partitionStore.totalBills());
+        } catch (IOException e) {
+            // The partitions already hold every bill; replay skips the
+            // journaled copies of bills already in their partition.
+            LOG.warn("Failed to reset bill journal: " + e.getMessage());
+        }
+        return true;
+    }
+
+    private NavigableSet<LocalDate> knownDays() {
+        TreeSet<LocalDate> days = new TreeSet<>(partitionStore.getManifest().keySet());
+        days.addAll(pendingBills.keySet());
+        return days;
+    }
+
+    private void appendDay(LocalDate day, List<Bill> target) {
+        appendDay(day, Map.of(), target);
+    }
+
+    // Like appendDay, taking the day's stored bills from those just loaded
+    private void appendDay(LocalDate day, Map<LocalDate, List<Bill>> stored, List<Bill> target) {
+        List<Bill> bills = stored.get(day);
+        target.addAll(bills != null ? bills : partition(day));
+        List<Bill> pending = pendingBills.get(day);
+        if (pending != null) {
+            target.addAll(pending);
+        }
+    }
+
+    // The stored bills of each day, reading the days not cached (in parallel
+    // when there are several). The result holds on to every day asked for,
+    // even those the cache drops again while the rest are read.
+    private Map<LocalDate, List<Bill>> loadPartitions(Collection<LocalDate> days) {
+        Map<LocalDate, List<Bill>> stored = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate day : days) {
+            List<Bill> cached = loadedPartitions.get(day);
+            if (cached != null) {
+                stored.put(day, cached);
+            } else {
+                missing.add(day);
+            }
+        }
+        if (missing.size() > 1) {
+            try {
+                NavigableMap<LocalDate, List<Bill>> read =
+                        partitionStore.readPartitions(missing, this::onItemsLoaded, null);
+                stored.putAll(read);
+                read.forEach(this::cachePartition);
+                return stored;
+            } catch (IOException e) {
+                LOG.warn("Parallel bill load failed, reading partitions one by one: " + e.getMessage());
+            }
         }
+        for (LocalDate day : missing) {
+            stored.put(day, partition(day));
+        }
+        return stored;
     }
 
+    // Stored bills for one day for queries. A partition that cannot be read
+    // is reported and shown as empty, but not cached, so it is tried again
+    // next time and never mistaken for an empty day.
+    private List<Bill> partition(LocalDate day) {
+        try {
+            return storedPartition(day);
+        } catch (IOException e) {
+            LOG.error("Failed to load bills for " + day, e);
+            return List.of();
+        }
+    }
+
+    // Stored bills for one day, read from disk on first use
+    private List<Bill> storedPartition(LocalDate day) throws IOException {
+        List<Bill> bills = loadedPartitions.get(day);
+        if (bills == null) {
+            bills = partitionStore.readPartition(day, this::onItemsLoaded);
+            cachePartition(day, bills);
+        }
+        return bills;
+    }
+
+    private void cachePartition(LocalDate day, List<Bill> bills) {
+        List<Bill> previous = loadedPartitions.put(day, bills);
+        cachedBillCount += bills.size() - (previous == null ? 0 : previous.size());
+        trimPartitionCache();
+    }
+
+    // Drops the least recently used days over the budget, with the items
+    // their bills still hold. Dropped bills stay usable: they page their
+    // items in again if asked, and the day is re-read on its next query.
+    private void trimPartitionCache() {
+        Iterator<Map.Entry<LocalDate, List<Bill>>> oldest = loadedPartitions.entrySet().iterator();
+        while (cachedBillCount > partitionCacheBills && loadedPartitions.size() > 1 && oldest.hasNext()) {
+            List<Bill> bills = oldest.next().getValue();
+            oldest.remove();
+            cachedBillCount -= bills.size();
+            for (Bill bill : bills) {
+                if (residentItems.containsKey(bill)) {
+                    forgetResident(bill);
+                    bill.releaseItems();
+                }
+            }
+        }
+    }
+
+    // Called from Bill.getBillItems() on whichever thread pages items in
+    private synchronized void onItemsLoaded(Bill bill, int itemCount) {
+        Integer previous = residentItems.put(bill, itemCount);
+        residentItemCount += itemCount - (previous == null ? 0 : previous);
+        evictOverBudget();
+    }
+
+    private void forgetResident(Bill bill) {
+        Integer count = residentItems.remove(bill);
+        if (count != null) {
+            residentItemCount -= count;
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<Bill, Integer>> oldest = residentItems.entrySet().iterator();
+        // Keep the most recently loaded bill even if it alone exceeds the budget
+        while (residentItemCount > itemMemoryBudget && residentItems.size() > 1 && oldest.hasNext()) {
+            Map.Entry<Bill, Integer> entry = oldest.next();
+            entry.getKey().releaseItems();
+            residentItemCount -= entry.getValue();
+            oldest.remove();
+        }
+    }
+
+    private void addPending(Bill bill) {
+        bill.seal();  // stored bills no longer change, so their total is computed once
+        pendingBills.computeIfAbsent(bill.getBillDate().toLocalDate(), day -> new ArrayList<>()).add(bill);
+        pendingCount++;
+        rollup.add(bill);
+    }
 
     private void loadBillsFromFile() {
+        if (!partitionStore.exists()) {
+            migrateSnapshot();
+        }
+        loadRollup();
+        replayJournal();
+    }
+
+    // Reads the stored rollups and rebuilds any day whose bill count does not
+    // match its partition (first run, or a crash between writing partitions
+    // and the rollup file). Runs before the journal replay adds pending bills.
+    private void loadRollup() {
+        try {
+            byte[] content = AtomicFiles.read(rollupFile);
+            if (content != null) {
+                rollup = SalesRollup.readFrom(new DataInputStream(new ByteArrayInputStream(content)));
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to load sales rollups, rebuilding: " + e.getMessage());
+            rollup = new SalesRollup();
+        }
+        boolean rebuilt = rollup.retainDays(partitionStore.getManifest().keySet());
+        List<LocalDate> stale = new ArrayList<>();
+        for (var entry : partitionStore.getManifest().entrySet()) {
+            if (rollup.getBillCount(entry.getKey()) != entry.getValue()) {
+                stale.add(entry.getKey());
+            }
+        }
+        Map<LocalDate, List<Bill>> stored = loadPartitions(stale);
+        for (var entry : partitionStore.getManifest().entrySet()) {
+            LocalDate day = entry.getKey();
+            if (rollup.getBillCount(day) != entry.getValue()) {
+                rollup.clearDay(day);
+                for (Bill bill : stored.getOrDefault(day, List.of())) {
+                    rollup.add(bill);
+                }
+                rebuilt = true;
+            }
+        }
+        if (rebuilt) {
+            saveRollup();
+        }
+    }
+
+    private void saveRollup() {
+        try {
+            AtomicFiles.write(rollupFile, out -> {
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+                rollup.writeTo(data);
+                data.flush();
+            });
+        } catch (IOException e) {
+            // Rebuilt from the partitions on the next start
+            LOG.warn("Failed to save sales rollups: " + e.getMessage());
+        }
+    }
+
+    // One-time split of the single-file snapshot (bills_data.bin, or the older
+    // Java-serialized bills_data.ser) into day partitions. The old file is left
+    // in place and ignored from then on.
+    private void migrateSnapshot() {
         File file = new File(billsFile);
-        System.out.println("DEBUG BillManager.loadBillsFromFile: Looking for " + file.getAbsolutePath());
-        if (file.exists()) {
-            System.out.println("DEBUG BillManager.loadBillsFromFile: File exists, loading...");
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                List<Bill> loadedBills = (List<Bill>) ois.readObject();
-                System.out.println("DEBUG BillManager.loadBillsFromFile: Successfully loaded " + loadedBills.size() + " bills");
-                
-                // Filter out null bills (in case of corrupted data)
-                bills = loadedBills.stream()
-                        .filter(bill -> bill != null)
-                        .collect(Collectors.toList());
-                
-                System.out.println("DEBUG BillManager.loadBillsFromFile: After filtering nulls: " + bills.size() + " valid bills");
-                for (Bill bill : bills) {
-                    System.out.println("DEBUG BillManager.loadBillsFromFile: Bill #" + bill.getBillNumber() + 
-                                     " - Cashier: " + bill.getCashierUsername() + 
-                                     " - Date: " + bill.getBillDate() + 
-                                     " - Amount: $" + bill.getTotalAmount());
+        File legacyFile = new File(legacyBillsFile);
+        if (!file.exists() && !legacyFile.exists()) {
+            return;
+        }
+        try {
+            List<Bill> bills = file.exists()
+                    ? BillCodec.read(file.toPath())
+                    : BillCodec.readLegacyFile(legacyFile.toPath());
+            LOG.debug(() -> "loadBillsFromFile: Migrating " + bills.size()
+                    + " bills into " + partitionStore.getDirectory());
+            TreeMap<LocalDate, List<Bill>> partitions = new TreeMap<>();
+            for (Bill bill : bills) {
+                partitions.computeIfAbsent(bill.getBillDate().toLocalDate(), day -> new ArrayList<>()).add(bill);
+            }
+            partitionStore.writePartitions(partitions);
+        } catch (IOException e) {
+            LOG.error("Failed to load bills from file: " + (file.exists() ? billsFile : legacyBillsFile), e);
+        }
+    }
+
+    // Re-applies bills appended since the last compaction. A missing journal is
+    // created on first run.
+    private void replayJournal() {
+        try {
+            List<Bill> journaled = journal.replay(partitionStore.totalBills());
+            // A compaction interrupted part way leaves bills both in their
+            // rewritten partition and in the journal, possibly with the
+            // manifest not updated yet. Each journaled day's partition is
+            // checked, so replaying never adds a stored bill a second time.
+            Map<LocalDate, Set<String>> storedByDay = new HashMap<>();
+            List<Bill> kept = new ArrayList<>();
+            for (Bill bill : journaled) {
+                Set<String> stored = storedByDay.computeIfAbsent(bill.getBillDate().toLocalDate(), this::recoverDay);
+                if (!stored.contains(pageToken(bill))) {
+                    addPending(bill);
+                    kept.add(bill);
                 }
-            } catch (IOException | ClassNotFoundException e) {
-                e.printStackTrace();
-                System.err.println("Failed to load bills from file: " + billsFile);
             }
-        } else {
-            System.err.println("DEBUG BillManager.loadBillsFromFile: File does not exist!");
+            LOG.debug(() -> "loadBillsFromFile: Replayed " + journaled.size() + " journaled bills");
+            if (kept.size() < journaled.size()) {
+                // Some of the kept bills exist only in the journal, so it is
+                // replaced atomically rather than truncated and re-appended
+                journal.rewrite(partitionStore.totalBills(), kept);
+            }
+        } catch (IOException e) {
+            LOG.error("Failed to replay bill journal: " + journal.getPath(), e);
+        }
+    }
+
+    // Date and number of every bill stored for the day, reading its partition
+    // even if the manifest is stale and fixing the day's rollup to match.
+    // Called before any journaled bill of that day is added.
+    private Set<String> recoverDay(LocalDate day) {
+        Set<String> keys = new HashSet<>();
+        try {
+            List<Bill> stored = partitionStore.recoverPartition(day, this::onItemsLoaded);
+            if (rollup.getBillCount(day) != stored.size()) {
+                rollup.clearDay(day);
+                stored.forEach(rollup::add);
+            }
+            if (!stored.isEmpty() && !loadedPartitions.containsKey(day)) {
+                cachePartition(day, stored);
+            }
+            for (Bill bill : stored) {
+                keys.add(pageToken(bill));
+            }
+        } catch (IOException e) {
+            // Replayed as pending; compaction will not rewrite the day until it can be read
+            LOG.warn("Failed to check stored bills for " + day + ": " + e.getMessage());
         }
+        return keys;
     }
 }
@@ -10,15 +10,15 @@ import java.util.stream.Collectors;
 
 import javax.swing.JOptionPane;
 
+import project.projecte.DAO.DataRepository;
+
 public class Cashier extends User {
     private List<Bill> bills; // List of bills handled by the cashier
-    private int nextBillNumber; // To track the next bill number for unique bill generation
     private String sector; // Sector assigned to the cashier
 
     public Cashier(String username, String password, String sector) {
         super(username, password, "Cashier");
         this.bills = new ArrayList<>();
-        this.nextBillNumber = 1; // Start bill numbering from 1
         this.sector = sector;
     }
 
@@ -42,9 +42,11 @@ public class Cashier extends User {
      * @return The total sales amount for today's bills.
      */
     public double getTotalSalesToday() {
-        return getTodayBills().stream()
-                .mapToDouble(Bill::getTotalAmount)
-                .sum();
+        long cents = 0;
+        for (Bill bill : getTodayBills()) {
+            cents += bill.getTotalCents();
+        }
+        return cents / 100.0;
     }
 
     public List<Bill> getBillsWithinDateRange(LocalDate startDate, LocalDate endDate) {
@@ -55,7 +57,9 @@ public class Cashier extends User {
     }
 
     public Bill createBill() {
-        Bill bill = new Bill(nextBillNumber++, getUsername());
+        // Numbers come from the shared allocator so they never collide across
+        // cashiers or restarts
+        Bill bill = new Bill(DataRepository.getInstance().getBillNumberAllocator().next(), getUsername());
         bills.add(bill);
         return bill;
     }
@@ -0,0 +1,268 @@
+package project.projecte.Model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import project.projecte.DAO.BillNumberAllocator;
+import project.projecte.Util.Log;
+
+/**
+ * Checkout for any number of tills sharing one inventory. Stock is reserved
+ * per item with a compare-and-set on the item's counter when a line is added,
+ * so there is no global lock and two tills can never sell the same unit. A
+ * session either commits (stock changes logged, bill stored) or rolls back
+ * (every reservation returned).
+ *
+ * Nothing here touches JavaFX, so the same path serves the cashier screens,
+ * batch imports and throughput tests:
+ *
+ * <pre>
+ * CheckoutService.Session session = checkout.openSession("cashier1");
+ * session.addLine("Apple", 3);       // LineStatus.ADDED, or why not
+ * String problem = session.validate(); // null when it can be finalized
+ * Bill bill = checkout.finalizeBill(session); // stores it, prints a receipt
+ * </pre>
+ */
+public class CheckoutService {
+
+    private static final Log LOG = Log.get(CheckoutService.class);
+
+    /** Outcome of adding a line to a session. */
+    public enum LineStatus { ADDED, UNKNOWN_ITEM, INVALID_QUANTITY, OUT_OF_STOCK }
+
+    /** Where the cashier screens save receipts, relative to the working directory. */
+    public static final Path BILLS_DIRECTORY = Path.of("bills");
+
+    private final Inventory inventory;
+    private final BillManager billManager;
+    private final BillNumberAllocator billNumbers;
+    private volatile Path receiptDirectory;
+    private volatile boolean asyncPersistence;
+
+    // Without an allocator, callers must pass bill numbers to openSession
+    public CheckoutService(Inventory inventory, BillManager billManager) {
+        this(inventory, billManager, null);
+    }
+
+    public CheckoutService(Inventory inventory, BillManager billManager, BillNumberAllocator billNumbers) {
+        this.inventory = inventory;
+        this.billManager = billManager;
+        this.billNumbers = billNumbers;
+    }
+
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    public BillManager getBillManager() {
+        return billManager;
+    }
+
+    public Path getReceiptDirectory() {
+        return receiptDirectory;
+    }
+
+    /**
+     * With async persistence, commit returns once the bill is in memory and
+     * the journal append runs on the persistence thread; see
+     * {@link Session#getPersisted()}. Off by default.
+     */
+    public void setAsyncPersistence(boolean asyncPersistence) {
+        this.asyncPersistence = asyncPersistence;
+    }
+
+    /** Where finalizeBill prints receipts; null (the default) prints none. */
+    public void setReceiptDirectory(Path receiptDirectory) {
+        this.receiptDirectory = receiptDirectory;
+    }
+
+    // Opens a bill numbered by the allocator
+    public Session openSession(String cashierUsername) {
+        if (billNumbers == null) {
+            throw new IllegalStateException("No bill number allocator configured");
+        }
+        return openSession(billNumbers.next(), cashierUsername);
+    }
+
+    public Session openSession(int billNumber, String cashierUsername) {
+        return new Session(new Bill(billNumber, cashierUsername));
+    }
+
+    /**
+     * Commits the session and prints its receipt if a receipt directory is
+     * set. Throws IllegalStateException with the validation message if the
+     * bill cannot be finalized. A receipt that fails to print is reported,
+     * but the bill stays stored.
+     */
+    public Bill finalizeBill(Session session) {
+        Bill bill = session.commit();
+        if (receiptDirectory != null) {
+            try {
+                printReceipt(bill, receiptDirectory);
+            } catch (IOException e) {
+                LOG.error("Failed to print receipt for bill " + bill.getBillNumber(), e);
+            }
+        }
+        return bill;
+    }
+
+    /** Receipt text as shown in the bill preview and printed to file. */
+    public static String formatReceipt(Bill bill) {
+        StringBuilder receipt = new StringBuilder();
+        receipt.append("********** BILL **********\n");
+        receipt.append("Bill Number: ").append(bill.getBillNumber()).append("\n");
+        receipt.append("Date: ").append(bill.getBillDate().toLocalDate()).append("\n");
+        receipt.append("--------------------------\n");
+        for (BillItem item : bill.getBillItems()) {
+            receipt.append(String.format(Locale.ROOT, "%-20s %5d x $%.2f = $%.2f%n",
+                    item.getName(),
+                    item.getQuantity(),
+                    item.getSellingPrice(),
+                    item.getLineTotalCents() / 100.0));
+        }
+        receipt.append("--------------------------\n");
+        receipt.append(String.format(Locale.ROOT, "Total Amount: $%.2f%n", bill.getTotalAmount()));
+        receipt.append("**************************");
+        return receipt.toString();
+    }
+
+    /** Writes the receipt as Bill_[number]_[date].txt in the directory and returns its path. */
+    public static Path printReceipt(Bill bill, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(String.format("Bill_%d_%s.txt", bill.getBillNumber(), bill.getBillDate().toLocalDate()));
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(formatReceipt(bill));
+            writer.newLine();
+        }
+        return file;
+    }
+
+    private record Reservation(Item item, int quantity) {
+    }
+
+    /** One bill in progress at one till. Not shared between threads. */
+    public class Session {
+        private final Bill bill;
+        private final List<Reservation> reservations = new ArrayList<>();
+        private boolean closed;
+        private CompletableFuture<Void> persisted;
+
+        private Session(Bill bill) {
+            this.bill = bill;
+        }
+
+        public Bill getBill() {
+            return bill;
+        }
+
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        public boolean isEmpty() {
+            return reservations.isEmpty();
+        }
+
+        /**
+         * Reserves the quantity and adds the line to the bill. Returns false,
+         * leaving stock and bill unchanged, if not enough stock is left.
+         */
+        public boolean addItem(Item item, int quantity) {
+            return addLine(item, quantity) == LineStatus.ADDED;
+        }
+
+        /** Like addItem, with the item looked up by name in the inventory. */
+        public LineStatus addLine(String itemName, int quantity) {
+            return addLine(itemName == null ? null : inventory.findItemByName(itemName), quantity);
+        }
+
+        /**
+         * Reserves the quantity and adds the line to the bill. Anything but
+         * ADDED leaves stock and bill unchanged.
+         */
+        public LineStatus addLine(Item item, int quantity) {
+            checkOpen();
+            if (item == null) {
+                return LineStatus.UNKNOWN_ITEM;
+            }
+            if (quantity <= 0) {
+                return LineStatus.INVALID_QUANTITY;
+            }
+            if (!item.tryReserve(quantity)) {
+                return LineStatus.OUT_OF_STOCK;
+            }
+            reservations.add(new Reservation(item, quantity));
+            bill.addItem(item, quantity);
+            return LineStatus.ADDED;
+        }
+
+        /** Null if the bill can be finalized, otherwise the reason it cannot. */
+        public String validate() {
+            if (closed) {
+                return "Bill " + bill.getBillNumber() + " is already closed.";
+            }
+            if (reservations.isEmpty()) {
+                return "Please add at least one item to the bill.";
+            }
+            return null;
+        }
+
+        /**
+         * Logs the new stock levels and stores the bill. Throws
+         * IllegalStateException if {@link #validate()} reports a problem.
+         */
+        public Bill commit() {
+            String problem = validate();
+            if (problem != null) {
+                throw new IllegalStateException(problem);
+            }
+            closed = true;
+            Set<Item> touched = new LinkedHashSet<>();
+            for (Reservation reservation : reservations) {
+                touched.add(reservation.item());
+            }
+            for (Item item : touched) {
+                inventory.recordStockChange(item);
+            }
+            if (asyncPersistence) {
+                persisted = billManager.addBillAsync(bill);
+            } else {
+                billManager.addBill(bill);
+                persisted = CompletableFuture.completedFuture(null);
+            }
+            return bill;
+        }
+
+        /** Completes once the committed bill is on disk; null before commit. */
+        public CompletableFuture<Void> getPersisted() {
+            return persisted;
+        }
+
+        /** Returns every reserved unit to stock; the bill is discarded. */
+        public void rollback() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Reservation reservation : reservations) {
+                reservation.item().release(reservation.quantity());
+            }
+            reservations.clear();
+        }
+
+        private void checkOpen() {
+            if (closed) {
+                throw new IllegalStateException("Bill " + bill.getBillNumber() + " is already closed");
+            }
+        }
+    }
+}
@@ -1,40 +1,214 @@
 package project.projecte.Model;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import project.projecte.DAO.AtomicFiles;
+import project.projecte.DAO.CatalogFiles;
+import project.projecte.DAO.InventoryChangeLog;
+import project.projecte.DAO.PersistenceExecutor;
+import project.projecte.Util.Log;
 
 public class Inventory {
-    private List<Item> items;
-    private String filename = "data/inventory.txt";
+    private static final Log LOG = Log.get(Inventory.class);
+
+    // Rewrite inventory.txt in the background once this many stock changes
+    // have been appended to the change log
+    private static final int CHECKPOINT_THRESHOLD = 500;
+    private static final String NULL_KEY = "\u0000";
+
+    private final IndexedItemList items;
+    private final String filename;
+    private final Path sidecarPath;
+    private volatile boolean binarySidecar;
+    private final InventoryChangeLog changeLog;
+    // Queue keys for background saves and checkpoints of this inventory
+    private final Object saveKey = new Object();
+    private final Object checkpointKey = new Object();
+
+    // Stock changes are logged under the read lock so tills append in
+    // parallel; a full save takes the write lock so no change can slip in
+    // between writing the file and clearing the log
+    private final ReentrantReadWriteLock persistLock = new ReentrantReadWriteLock();
+
+    // Case-folded name -> items with that name, and category -> items, both in
+    // list order. Maintained by IndexedItemList and by Item's setters under
+    // this object's monitor. Buckets are immutable and replaced on change, so
+    // lookups from other tills read them without taking the lock.
+    private final Map<String, List<Item>> itemsByName = new ConcurrentHashMap<>();
+    private final Map<String, List<Item>> itemsByCategory = new ConcurrentHashMap<>();
+
+    // Search index over names and categories, rebuilt on the first search
+    // after an item is added, removed, renamed or moved to another category.
+    // Published through a volatile field and rebuilt under its own lock, so a
+    // search never waits for this object's monitor longer than a list copy.
+    private volatile int catalogVersion;
+    private volatile SearchSnapshot searchSnapshot;
+    private final Object searchLock = new Object();
+
+    private record SearchSnapshot(int version, ItemSearchIndex index) {
+    }
 
     public Inventory() {
-        this.items = new ArrayList<>();
-        loadInventory();
+        this("data");
+    }
+
+    public Inventory(String dataDirectory) {
+        this(dataDirectory, null);
+    }
+
+    /**
+     * Starts from items already read from inventory.txt (e.g. by the startup
+     * snapshot) instead of reading the file; logged stock changes are still
+     * applied. With null items the file is read as usual.
+     */
+    public Inventory(String dataDirectory, List<Item> loadedItems) {
+        this.items = new IndexedItemList();
+        this.filename = dataDirectory + "/inventory.txt";
+        this.sidecarPath = Path.of(dataDirectory, "inventory.bin");
+        this.changeLog = new InventoryChangeLog(Path.of(dataDirectory, "inventory_changes.log"));
+        if (loadedItems == null) {
+            loadInventory();
+        } else {
+            synchronized (this) {
+                items.addAll(loadedItems);
+                replayChangeLog();
+            }
+        }
     }
 
     // Add a new item to the inventory
-    public void addItem(Item item) {
+    public synchronized void addItem(Item item) {
         items.add(item);
     }
 
-    // Get the list of all items in the inventory
+    // Get the list of all items in the inventory. Changes made through the
+    // list (add, remove, clear) keep the lookup indexes up to date.
     public List<Item> getItems() {
         return items;
     }
 
-    // Find an item by its name (case-insensitive)
+    // Find an item by its name (case-insensitive); the first one added wins
     public Item findItemByName(String name) {
-        return items.stream()
-                .filter(item -> item.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        if (name == null) {
+            return null;
+        }
+        List<Item> matches = itemsByName.get(nameKey(name));
+        return matches == null ? null : matches.get(0);
+    }
+
+    // Best matches for a partly typed name or category, for item pickers;
+    // see ItemSearchIndex for the matching and ranking
+    public List<Item> searchItems(String query, int limit) {
+        return searchIndex().search(query, limit);
     }
 
-    // Save the inventory to a file
+    private ItemSearchIndex searchIndex() {
+        SearchSnapshot current = searchSnapshot;
+        if (current != null && current.version() == catalogVersion) {
+            return current.index();
+        }
+        synchronized (searchLock) {
+            current = searchSnapshot;
+            if (current == null || current.version() != catalogVersion) {
+                int version;
+                List<Item> catalog;
+                synchronized (this) {
+                    version = catalogVersion;
+                    catalog = new ArrayList<>(items);
+                }
+                current = new SearchSnapshot(version, new ItemSearchIndex(catalog));
+                searchSnapshot = current;
+            }
+            return current.index();
+        }
+    }
+
+    // Items in the given category (exact match), in inventory order
+    public List<Item> getItemsByCategory(String category) {
+        List<Item> matches = itemsByCategory.get(indexKey(category));
+        return matches == null ? List.of() : matches;
+    }
+
+    // Every category that has at least one item, sorted
+    public List<String> getCategories() {
+        TreeSet<String> categories = new TreeSet<>();
+        for (String category : itemsByCategory.keySet()) {
+            if (!category.equals(NULL_KEY)) {
+                categories.add(category);
+            }
+        }
+        return new ArrayList<>(categories);
+    }
+
+    // Rename an item; returns false if no item has the old name
+    public synchronized boolean renameItem(String oldName, String newName) {
+        Item item = findItemByName(oldName);
+        if (item == null || newName == null) {
+            return false;
+        }
+        item.setName(newName);
+        return true;
+    }
+
+    // Save the inventory to a file. This rewrites every row; for a stock
+    // change on a single item use recordStockChange instead. Saves are
+    // serialized by persistLock, not this object's monitor, which is only
+    // held to copy the item list, so lookups and searches are not held up.
     public void saveInventory() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            for (Item item : items) {
+        try {
+            persistInventory();
+        } catch (IOException e) {
+            LOG.error("Error saving inventory", e);
+        }
+    }
+
+    // saveInventory on the persistence thread; saves requested while one is
+    // still queued are written once. The future fails if the file was not written.
+    public CompletableFuture<Void> saveInventoryAsync() {
+        return PersistenceExecutor.shared().submit(saveKey, this::persistInventory);
+    }
+
+    private void persistInventory() throws IOException {
+        persistLock.writeLock().lock();
+        try {
+            writeInventory();
+        } finally {
+            persistLock.writeLock().unlock();
+        }
+    }
+
+    private void writeInventory() throws IOException {
+        List<Item> snapshot = snapshotItems();
+        try {
+            // Log the current stock of every changed item first: if we crash
+            // after the rewrite but before the log is cleared, replaying the
+            // log then reproduces exactly what was written.
+            for (Item item : snapshot) {
+                if (item != null && item.isDirty()) {
+                    changeLog.append(item.getName(), item.getStockLevel());
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Error logging inventory changes", e);
+        }
+        AtomicFiles.write(Path.of(filename), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (Item item : snapshot) {
                 writer.write(String.format("%s,%s,%.2f,%.2f,%d",
                         item.getName(),
                         item.getCategory(),
@@ -42,51 +216,127 @@ public class Inventory {
                         item.getSellingPrice(),
                         item.getStockLevel()));
                 writer.newLine();
-                
             }
+            writer.flush();
+        });
+        for (Item item : snapshot) {
+            if (item != null) {
+                item.markClean();
+            }
+        }
+        try {
+            changeLog.clear();
+        } catch (IOException e) {
+            LOG.warn("Error clearing inventory change log: " + e.getMessage());
+        }
+        if (binarySidecar) {
+            try {
+                CatalogFiles.writeSidecar(sidecarPath, Path.of(filename));
+            } catch (IOException e) {
+                // Only slows the next start down: a stale sidecar is ignored
+                LOG.warn("Error writing inventory sidecar: " + e.getMessage());
+            }
+        }
+    }
+
+    // Also write inventory.bin on every save, so the next start loads the
+    // catalog with one read instead of parsing the CSV
+    public void setBinarySidecar(boolean enabled) {
+        this.binarySidecar = enabled;
+    }
+
+    // Persist a new stock level for one item with a single small append to
+    // the change log. inventory.txt is rewritten later by a checkpoint.
+    // Safe to call from several threads at once.
+    public void recordStockChange(Item item) {
+        boolean logged = false;
+        persistLock.readLock().lock();
+        try {
+            changeLog.append(item.getName(), item::getStockLevel);
+            logged = true;
+        } catch (IOException e) {
+            LOG.warn("Error logging stock change, saving full inventory: " + e.getMessage());
+        } finally {
+            persistLock.readLock().unlock();
+        }
+        if (!logged) {
+            saveInventory();
+            return;
+        }
+        if (changeLog.getEntryCount() >= CHECKPOINT_THRESHOLD) {
+            scheduleCheckpoint();
+        }
+    }
+
+    private synchronized List<Item> snapshotItems() {
+        return new ArrayList<>(items);
+    }
+
+    // Fold logged changes into inventory.txt if anything changed
+    public void checkpoint() {
+        try {
+            checkpointIfChanged();
         } catch (IOException e) {
-            System.err.println("Error saving inventory: " + e.getMessage());
+            LOG.error("Error saving inventory", e);
         }
     }
 
-    // Load the inventory from a file
-    public void loadInventory() {
+    private void checkpointIfChanged() throws IOException {
+        if (changeLog.getEntryCount() == 0
+                && snapshotItems().stream().noneMatch(item -> item != null && item.isDirty())) {
+            return;
+        }
+        persistInventory();
+    }
+
+    // Runs checkpoint() on the persistence thread; repeated requests while one
+    // is queued are coalesced. The changes stay in the log if it fails.
+    public void scheduleCheckpoint() {
+        PersistenceExecutor.shared().submit(checkpointKey, this::checkpointIfChanged);
+    }
+
+    // Load the inventory from a file, then re-apply logged stock changes.
+    // The binary sidecar is used instead of the CSV while it is up to date.
+    public synchronized void loadInventory() {
         items.clear(); // Clear the current list before loading new data
-        System.out.println("DEBUG Inventory.loadInventory: Loading from " + filename);
-        
-        File file = new File(filename);
-        if (!file.exists()) {
-            System.err.println("DEBUG Inventory.loadInventory: File does not exist: " + filename);
-            System.err.println("DEBUG Inventory.loadInventory: Absolute path: " + file.getAbsolutePath());
+        LOG.debug(() -> "loadInventory: Loading from " + filename);
+
+        Path csv = Path.of(filename);
+        List<Item> loaded = CatalogFiles.readSidecar(sidecarPath, csv);
+        try {
+            if (loaded == null) {
+                loaded = CatalogFiles.readCsv(csv);
+            }
+        } catch (IOException e) {
+            LOG.error("Error loading inventory", e);
             return;
         }
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            int lineCount = 0;
-            while ((line = reader.readLine()) != null) {
-                lineCount++;
-                System.out.println("DEBUG Inventory.loadInventory: Read line " + lineCount + ": " + line);
-                String[] parts = line.split(",");
-                if (parts.length == 5) {
-                    String name = parts[0];
-                    String category = parts[1];
-                    double purchasePrice = Double.parseDouble(parts[2]);
-                    double sellingPrice = Double.parseDouble(parts[3]);
-                    int stockLevel = Integer.parseInt(parts[4]);
-                    items.add(new Item(name, category, purchasePrice, sellingPrice, stockLevel));
-                    System.out.println("DEBUG Inventory.loadInventory: Added item: " + name);
-                } else {
-                    System.err.println("DEBUG Inventory.loadInventory: Invalid line format (expected 5 parts, got " + parts.length + "): " + line);
+        if (loaded == null) {
+            LOG.warn("loadInventory: File does not exist: " + filename);
+            LOG.warn("loadInventory: Absolute path: " + csv.toAbsolutePath());
+            return;
+        }
+        items.addAll(loaded);
+        LOG.debug(() -> "loadInventory: Loaded " + items.size() + " items total");
+        replayChangeLog();
+    }
+
+    // Applied items stay dirty, so the next checkpoint writes them to the file
+    private void replayChangeLog() {
+        try {
+            Map<String, Integer> stockLevels = changeLog.replay();
+            for (var entry : stockLevels.entrySet()) {
+                Item item = findItemByName(entry.getKey());
+                if (item != null) {
+                    item.setStockLevel(entry.getValue());
                 }
             }
-            System.out.println("DEBUG Inventory.loadInventory: Loaded " + items.size() + " items total");
+            if (!stockLevels.isEmpty()) {
+                LOG.debug(() -> "loadInventory: Applied " + stockLevels.size()
+                        + " logged stock changes");
+            }
         } catch (IOException e) {
-            System.err.println("Error loading inventory: " + e.getMessage());
-            e.printStackTrace();
-        } catch (NumberFormatException e) {
-            System.err.println("Error parsing inventory numbers: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error replaying inventory change log", e);
         }
     }
 
@@ -100,9 +350,18 @@ public class Inventory {
         return false;
     }
 
-    // Remove an item from the inventory
-    public boolean removeItem(String name) {
-        return items.removeIf(item -> item.getName().equalsIgnoreCase(name));
+    // Remove an item from the inventory (every item with that name)
+    public synchronized boolean removeItem(String name) {
+        if (name == null) {
+            return false;
+        }
+        List<Item> matches = itemsByName.get(nameKey(name));
+        if (matches == null) {
+            return false;
+        }
+        Set<Item> doomed = Collections.newSetFromMap(new IdentityHashMap<>());
+        doomed.addAll(matches);
+        return items.removeIf(doomed::contains);
     }
 
     // Display all items (for debugging or logs)
@@ -125,4 +384,202 @@ public class Inventory {
         addItem(newCategoryItem);
         saveInventory();
     }
+
+    // Called by Item when an indexed item is renamed
+    synchronized void onNameChanged(Item item, String oldName) {
+        catalogVersion++;
+        unindex(itemsByName, nameKey(oldName), item);
+        reindexInOrder(itemsByName, nameKey(item.getName()), item);
+    }
+
+    // Called by Item when an indexed item moves to another category
+    synchronized void onCategoryChanged(Item item, String oldCategory) {
+        catalogVersion++;
+        unindex(itemsByCategory, oldCategory, item);
+        reindexInOrder(itemsByCategory, item.getCategory(), item);
+    }
+
+    private static String nameKey(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    // ConcurrentHashMap takes no null keys; items without a name or category
+    // are indexed under this instead
+    private static String indexKey(String key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private void index(Item item) {
+        if (item == null) {
+            return;  // addItem(null) is tolerated; null entries are not indexed
+        }
+        item.setOwner(this);
+        catalogVersion++;
+        append(itemsByName, nameKey(item.getName()), item);
+        append(itemsByCategory, item.getCategory(), item);
+    }
+
+    private static void append(Map<String, List<Item>> index, String key, Item item) {
+        key = indexKey(key);
+        List<Item> bucket = index.get(key);
+        if (bucket == null) {
+            index.put(key, List.of(item));
+            return;
+        }
+        List<Item> grown = new ArrayList<>(bucket.size() + 1);
+        grown.addAll(bucket);
+        grown.add(item);
+        index.put(key, Collections.unmodifiableList(grown));
+    }
+
+    private void unindex(Item item) {
+        if (item == null) {
+            return;
+        }
+        if (item.getOwner() == this) {
+            item.setOwner(null);
+        }
+        catalogVersion++;
+        unindex(itemsByName, nameKey(item.getName()), item);
+        unindex(itemsByCategory, item.getCategory(), item);
+    }
+
+    private static void unindex(Map<String, List<Item>> index, String key, Item item) {
+        key = indexKey(key);
+        List<Item> bucket = index.get(key);
+        if (bucket == null) {
+            return;
+        }
+        List<Item> remaining = new ArrayList<>(bucket);
+        for (int i = 0; i < remaining.size(); i++) {
+            if (remaining.get(i) == item) {
+                remaining.remove(i);
+                break;
+            }
+        }
+        if (remaining.isEmpty()) {
+            index.remove(key);
+        } else {
+            index.put(key, Collections.unmodifiableList(remaining));
+        }
+    }
+
+    // Puts a moved item back into a bucket at its list position, so the
+    // bucket keeps inventory order (findItemByName returns the first match)
+    private void reindexInOrder(Map<String, List<Item>> index, String key, Item item) {
+        key = indexKey(key);
+        List<Item> bucket = index.get(key);
+        if (bucket == null) {
+            append(index, key, item);
+            return;
+        }
+        int position = items.indexOfIdentity(item);
+        int insertAt = bucket.size();
+        for (int i = 0; i < bucket.size(); i++) {
+            if (items.indexOfIdentity(bucket.get(i)) > position) {
+                insertAt = i;
+                break;
+            }
+        }
+        List<Item> grown = new ArrayList<>(bucket);
+        grown.add(insertAt, item);
+        index.put(key, Collections.unmodifiableList(grown));
+    }
+
+    private void rebuildIndexes() {
+        itemsByName.clear();
+        itemsByCategory.clear();
+        for (Item item : items) {
+            index(item);
+        }
+    }
+
+    // Backing list of the inventory. Every structural change goes through
+    // add/set/remove, which keep the name and category indexes consistent.
+    private class IndexedItemList extends AbstractList<Item> {
+        private final ArrayList<Item> delegate = new ArrayList<>();
+
+        @Override
+        public Item get(int index) {
+            return delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public void add(int index, Item item) {
+            delegate.add(index, item);
+            modCount++;
+            if (index == delegate.size() - 1) {
+                index(item);
+            } else {
+                // Inserted before existing items: bucket order must follow list order
+                rebuildIndexes();
+            }
+        }
+
+        @Override
+        public Item set(int index, Item item) {
+            Item previous = delegate.set(index, item);
+            if (previous != null && previous.getOwner() == Inventory.this) {
+                previous.setOwner(null);
+            }
+            rebuildIndexes();
+            return previous;
+        }
+
+        @Override
+        public Item remove(int index) {
+            Item removed = delegate.remove(index);
+            modCount++;
+            unindex(removed);
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            for (Item item : delegate) {
+                if (item != null && item.getOwner() == Inventory.this) {
+                    item.setOwner(null);
+                }
+            }
+            delegate.clear();
+            modCount++;
+            catalogVersion++;
+            itemsByName.clear();
+            itemsByCategory.clear();
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Item> filter) {
+            // Single pass over the array instead of one shift per removed item
+            List<Item> removed = new ArrayList<>();
+            boolean changed = delegate.removeIf(item -> {
+                if (filter.test(item)) {
+                    removed.add(item);
+                    return true;
+                }
+                return false;
+            });
+            if (changed) {
+                modCount++;
+                for (Item item : removed) {
+                    unindex(item);
+                }
+            }
+            return changed;
+        }
+
+        int indexOfIdentity(Item item) {
+            for (int i = 0; i < delegate.size(); i++) {
+                if (delegate.get(i) == item) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
 }
@@ -1,11 +1,15 @@
 package project.projecte.Model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Item {
     private String name;
     private String category;  // Added to match the Inventory class
     private double purchasePrice;  // Added to match the Inventory class
     private double sellingPrice;
-    private int stockLevel;
+    private final AtomicInteger stockLevel;  // Updated with CAS so tills can reserve concurrently
+    private Inventory owner;  // Inventory indexing this item by name and category
+    private volatile boolean dirty;  // Changed since the inventory file was last written
 
     // Updated constructor to include all necessary attributes
     public Item(String name, String category, double purchasePrice, double sellingPrice, int stockLevel) {
@@ -13,7 +17,7 @@ public class Item {
         this.category = category;
         this.purchasePrice = purchasePrice;
         this.sellingPrice = sellingPrice;
-        this.stockLevel = stockLevel;
+        this.stockLevel = new AtomicInteger(stockLevel);
     }
 
     // Getters and setters for all attributes
@@ -34,23 +38,81 @@ public class Item {
     }
 
     public int getStockLevel() {
-        return stockLevel;
+        return stockLevel.get();
     }
 
     public void setStockLevel(int stockLevel) {
-        this.stockLevel = stockLevel;
+        this.stockLevel.set(stockLevel);
+        this.dirty = true;
+    }
+
+    // Atomically takes quantity units out of stock; fails without changing
+    // anything if fewer than that are left
+    public boolean tryReserve(int quantity) {
+        if (quantity <= 0) {
+            return false;
+        }
+        int current;
+        do {
+            current = stockLevel.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!stockLevel.compareAndSet(current, current - quantity));
+        this.dirty = true;
+        return true;
+    }
+
+    // Puts back units taken by tryReserve
+    public void release(int quantity) {
+        stockLevel.addAndGet(quantity);
+        this.dirty = true;
     }
 
     public void setSellingPrice(double sellingPrice) {
         this.sellingPrice = sellingPrice;
+        this.dirty = true;
     }
 
     public void setCategory(String category) {
+        String oldCategory = this.category;
         this.category = category;
+        this.dirty = true;
+        if (owner != null) {
+            owner.onCategoryChanged(this, oldCategory);
+        }
+    }
+
+    // Renaming an item keeps the owning inventory's name index in step
+    public void setName(String name) {
+        String oldName = this.name;
+        this.name = name;
+        this.dirty = true;
+        if (owner != null) {
+            owner.onNameChanged(this, oldName);
+        }
+    }
+
+    Inventory getOwner() {
+        return owner;
+    }
+
+    void setOwner(Inventory owner) {
+        this.owner = owner;
     }
 
     public void setPurchasePrice(double purchasePrice) {
         this.purchasePrice = purchasePrice;
+        this.dirty = true;
+    }
+
+    // True if any field changed since the inventory file was last written
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    void markClean() {
+        this.dirty = false;
     }
 
     // Convert Item to a string representation
@@ -0,0 +1,541 @@
+package project.projecte.Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Search over item names and categories for pickers that narrow down as the
+ * user types. Built once from a list of items and not changed afterwards;
+ * {@link Inventory#searchItems} rebuilds it after the catalog changes.
+ *
+ * Names and categories are split into lower-case words, with a new word
+ * where letters and digits meet ("Item0042" is "item" and "0042"). Every
+ * word of the query must be the start of some word of the item, so "usb ca"
+ * finds "USB Cable". The distinct words are kept sorted, and the words
+ * starting with a query word are one range of that array, found by binary
+ * search. If that leaves fewer results than asked for, query words of four
+ * or more letters that match no word as typed also match words one edit
+ * away (two from seven letters on; a swap of neighbouring letters is one
+ * edit). Those candidates come from the trigrams the word shares with the
+ * query.
+ *
+ * Results are ranked: exact name, name starting with the query, all words
+ * found in the name, some only in the category, then typo matches by edit
+ * count. Ties are broken by name. When enough names start with the query
+ * (the usual case while typing a name) they are read straight off the
+ * sorted names; otherwise only the best {@code limit} are kept, in a
+ * bounded heap, so a broad query does not sort the whole catalog.
+ */
+public final class ItemSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final char WORD_START = '^';
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int TWO_EDITS_LENGTH = 7;
+
+    private static final int EXACT = 0;
+    private static final int NAME_PREFIX = 1;
+    private static final int NAME_WORDS = 2;
+    private static final int CATEGORY_WORDS = 3;
+    private static final int FUZZY = 4;
+
+    // Items by rank (sorted by name); the rank is the item's id below
+    private final Item[] items;
+    private final String[] names;
+    // Word ids of each item: the name's first, then the category's
+    private final int[][] itemWords;
+    private final int[] nameWordCount;
+    // Distinct words, sorted; a word's id is its position
+    private final String[] words;
+    // Words that only occur in categories
+    private final boolean[] categoryOnly;
+    // Word id -> ranks of the items containing it, ascending
+    private final int[][] postings;
+    // postingTotals[i] = sum of postings[0 .. i-1].length, to size a range in O(1)
+    private final long[] postingTotals;
+    // Trigram of "^word" -> ids of the letter words containing it, ascending
+    private final Map<String, int[]> gramIndex;
+
+    public ItemSearchIndex(List<Item> catalog) {
+        List<Item> sorted = new ArrayList<>(catalog.size());
+        for (Item item : catalog) {
+            if (item != null && item.getName() != null) {
+                sorted.add(item);
+            }
+        }
+        String[][] splitNames = new String[sorted.size()][];
+        String[] joinedNames = new String[sorted.size()];
+        Integer[] order = new Integer[sorted.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            splitNames[i] = split(sorted.get(i).getName());
+            joinedNames[i] = String.join(" ", splitNames[i]);
+        }
+        Arrays.sort(order, Comparator.comparing(i -> joinedNames[i]));
+
+        int count = order.length;
+        items = new Item[count];
+        names = new String[count];
+        String[][] nameWords = new String[count][];
+        String[][] categoryWords = new String[count][];
+        HashMap<String, Integer> dictionary = new HashMap<>();
+        for (int rank = 0; rank < count; rank++) {
+            Item item = sorted.get(order[rank]);
+            items[rank] = item;
+            names[rank] = joinedNames[order[rank]];
+            nameWords[rank] = splitNames[order[rank]];
+            categoryWords[rank] = split(item.getCategory());
+            for (String word : nameWords[rank]) {
+                dictionary.put(word, 0);
+            }
+            for (String word : categoryWords[rank]) {
+                dictionary.put(word, 0);
+            }
+        }
+        words = dictionary.keySet().toArray(new String[0]);
+        Arrays.sort(words);
+        for (int id = 0; id < words.length; id++) {
+            dictionary.put(words[id], id);
+        }
+
+        categoryOnly = new boolean[words.length];
+        Arrays.fill(categoryOnly, true);
+        itemWords = new int[count][];
+        nameWordCount = new int[count];
+        int[] postingSizes = new int[words.length];
+        for (int rank = 0; rank < count; rank++) {
+            int[] ids = new int[nameWords[rank].length + categoryWords[rank].length];
+            int n = 0;
+            for (String word : nameWords[rank]) {
+                ids[n] = dictionary.get(word);
+                categoryOnly[ids[n++]] = false;
+            }
+            nameWordCount[rank] = n;
+            for (String word : categoryWords[rank]) {
+                ids[n++] = dictionary.get(word);
+            }
+            itemWords[rank] = ids;
+            for (int id : distinct(ids)) {
+                postingSizes[id]++;
+            }
+        }
+        postings = new int[words.length][];
+        postingTotals = new long[words.length + 1];
+        for (int id = 0; id < words.length; id++) {
+            postings[id] = new int[postingSizes[id]];
+            postingTotals[id + 1] = postingTotals[id] + postingSizes[id];
+            postingSizes[id] = 0;
+        }
+        for (int rank = 0; rank < count; rank++) {
+            for (int id : distinct(itemWords[rank])) {
+                postings[id][postingSizes[id]++] = rank;
+            }
+        }
+
+        // Only words of letters: numbers are never matched with typos
+        Map<String, IntList> grams = new HashMap<>();
+        for (int id = 0; id < words.length; id++) {
+            if (Character.isDigit(words[id].charAt(0))) {
+                continue;
+            }
+            for (String gram : grams(words[id])) {
+                grams.computeIfAbsent(gram, key -> new IntList()).addIfNotLast(id);
+            }
+        }
+        gramIndex = new HashMap<>(grams.size() * 2);
+        grams.forEach((gram, ids) -> gramIndex.put(gram, ids.toArray()));
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * The best matches for what has been typed so far, at most
+     * {@code limit}. An empty query gives the first items by name.
+     */
+    public List<Item> search(String query, int limit) {
+        if (limit <= 0 || items.length == 0) {
+            return List.of();
+        }
+        String[] queryWords = split(query);
+        if (queryWords.length == 0) {
+            return List.of(Arrays.copyOf(items, Math.min(limit, items.length)));
+        }
+        String joined = String.join(" ", queryWords);
+        // Names starting with the query are one range of the sorted names;
+        // if it holds enough items, they are the best results
+        int nameFrom = lowerBound(names, joined);
+        int nameTo = lowerBound(names, joined + Character.MAX_VALUE);
+        if (nameTo - nameFrom >= limit) {
+            return List.of(Arrays.copyOfRange(items, nameFrom, nameFrom + limit));
+        }
+        WordMatch[] matches = new WordMatch[queryWords.length];
+        for (int i = 0; i < queryWords.length; i++) {
+            matches[i] = prefixMatch(queryWords[i]);
+        }
+        List<Item> found = collect(joined, nameFrom, nameTo, matches, limit);
+        if (found.size() < limit && addTypoMatches(queryWords, matches)) {
+            found = collect(joined, nameFrom, nameTo, matches, limit);
+        }
+        return found;
+    }
+
+    // Words of a query word: a range of prefix matches plus typo matches
+    private static final class WordMatch {
+        final int from;
+        final int to;
+        Map<Integer, Integer> typos = Map.of();  // word id -> edits
+
+        WordMatch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        // Edits needed for the word, or -1 if it does not match
+        int edits(int wordId) {
+            if (wordId >= from && wordId < to) {
+                return 0;
+            }
+            Integer edits = typos.get(wordId);
+            return edits == null ? -1 : edits;
+        }
+    }
+
+    private WordMatch prefixMatch(String prefix) {
+        int from = lowerBound(words, prefix);
+        // Every word starting with the prefix sorts before prefix + MAX_VALUE
+        int to = lowerBound(words, prefix + Character.MAX_VALUE);
+        return new WordMatch(from, to);
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Adds words within the allowed edits of each query word that matched
+    // nothing as typed, if it is long enough and has no digits (a mistyped
+    // number is a different number); false if no query word qualifies
+    private boolean addTypoMatches(String[] queryWords, WordMatch[] matches) {
+        boolean added = false;
+        for (int i = 0; i < queryWords.length; i++) {
+            String word = queryWords[i];
+            if (word.length() < MIN_FUZZY_LENGTH || matches[i].to > matches[i].from
+                    || Character.isDigit(word.charAt(0))) {
+                continue;
+            }
+            int maxEdits = word.length() >= TWO_EDITS_LENGTH ? 2 : 1;
+            List<String> queryGrams = grams(word);
+            // Each edit changes at most GRAM trigrams of the query
+            int needed = Math.max(1, queryGrams.size() - GRAM * maxEdits);
+            // Word id -> trigrams shared with the query word
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                int[] ids = gramIndex.get(gram);
+                if (ids != null) {
+                    for (int id : ids) {
+                        shared.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+            Map<Integer, Integer> typos = new HashMap<>();
+            for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+                if (candidate.getValue() >= needed) {
+                    int id = candidate.getKey();
+                    int edits = prefixEdits(word, words[id], maxEdits);
+                    if (edits <= maxEdits) {
+                        typos.put(id, edits);
+                    }
+                }
+            }
+            matches[i].typos = typos;
+            added = true;
+        }
+        return added;
+    }
+
+    private List<Item> collect(String joinedQuery, int nameFrom, int nameTo, WordMatch[] matches, int limit) {
+        // Drive from the query word with the fewest candidate items
+        WordMatch driver = matches[0];
+        long fewest = Long.MAX_VALUE;
+        for (WordMatch match : matches) {
+            long candidates = postingTotals[match.to] - postingTotals[match.from];
+            for (int id : match.typos.keySet()) {
+                candidates += postings[id].length;
+            }
+            if (candidates < fewest) {
+                fewest = candidates;
+                driver = match;
+            }
+        }
+
+        TopK best = new TopK(limit);
+        long[] seen = new long[(items.length + 63) >>> 6];  // bit per rank
+        // Names starting with the query score best. With those seen and the
+        // driver's words taken best first, an item first reached through a
+        // word scores no better than that word allows, so a posting list
+        // (in rank order) can stop once it cannot beat the worst kept result.
+        for (int rank = nameFrom; rank < nameTo; rank++) {
+            offer(rank, seen, joinedQuery, matches, best, Integer.MIN_VALUE);
+        }
+        for (int pass = 0; pass < 2; pass++) {
+            boolean categoryPass = pass == 1;
+            for (int id = driver.from; id < driver.to; id++) {
+                if (categoryOnly[id] == categoryPass) {
+                    int bound = categoryPass ? CATEGORY_WORDS : NAME_WORDS;
+                    for (int rank : postings[id]) {
+                        if (!offer(rank, seen, joinedQuery, matches, best, bound)) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        List<Map.Entry<Integer, Integer>> typos = new ArrayList<>(driver.typos.entrySet());
+        typos.sort(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Integer> typo : typos) {
+            for (int rank : postings[typo.getKey()]) {
+                if (!offer(rank, seen, joinedQuery, matches, best, FUZZY + typo.getValue())) {
+                    break;
+                }
+            }
+        }
+        long[] ranked = best.sorted();
+        List<Item> found = new ArrayList<>(ranked.length);
+        for (long entry : ranked) {
+            found.add(items[(int) entry]);
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    // Scores the item unless already seen; false once items from here on
+    // (higher ranks scoring at least bound) can no longer make the results
+    private boolean offer(int rank, long[] seen, String joinedQuery, WordMatch[] matches, TopK best, int bound) {
+        if (best.isFull() && ((long) bound << 32 | rank) > best.worst()) {
+            return false;
+        }
+        long bit = 1L << rank;
+        if ((seen[rank >>> 6] & bit) != 0) {
+            return true;
+        }
+        seen[rank >>> 6] |= bit;
+        int[] ids = itemWords[rank];
+        int totalEdits = 0;
+        boolean inCategory = false;
+        for (WordMatch match : matches) {
+            int fewest = -1;
+            boolean fewestInCategory = false;
+            for (int w = 0; w < ids.length; w++) {
+                int edits = match.edits(ids[w]);
+                if (edits >= 0 && (fewest < 0 || edits < fewest)) {
+                    fewest = edits;
+                    fewestInCategory = w >= nameWordCount[rank];
+                }
+            }
+            if (fewest < 0) {
+                return true;
+            }
+            totalEdits += fewest;
+            inCategory |= fewestInCategory;
+        }
+        int score;
+        if (totalEdits > 0) {
+            score = FUZZY + totalEdits;
+        } else if (names[rank].equals(joinedQuery)) {
+            score = EXACT;
+        } else if (names[rank].startsWith(joinedQuery)) {
+            score = NAME_PREFIX;
+        } else {
+            score = inCategory ? CATEGORY_WORDS : NAME_WORDS;
+        }
+        best.offer((long) score << 32 | rank);
+        return true;
+    }
+
+    /**
+     * Edits (insertions, deletions, substitutions and swaps of neighbouring
+     * letters) to turn the query into some prefix of the word; anything over
+     * {@code max} is reported as {@code max + 1}.
+     */
+    static int prefixEdits(String query, String word, int max) {
+        int n = query.length();
+        int m = word.length();
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        int[] beforePrevious = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            current[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+            current[0] = i;
+            int rowMin = i;
+            char q = query.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char w = word.charAt(j - 1);
+                int cost = q == w ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && q == word.charAt(j - 2) && query.charAt(i - 2) == w) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+        }
+        int best = current[0];
+        for (int j = 1; j <= m; j++) {
+            best = Math.min(best, current[j]);
+        }
+        return Math.min(best, max + 1);
+    }
+
+    // Lower-case words, split at anything but letters and digits and where
+    // letters and digits meet
+    static String[] split(String text) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+        List<String> parts = new ArrayList<>(4);
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(c);
+            if (start >= 0 && (!wordChar || Character.isDigit(c) != Character.isDigit(lower.charAt(i - 1)))) {
+                parts.add(lower.substring(start, i));
+                start = -1;
+            }
+            if (wordChar && start < 0) {
+                start = i;
+            }
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    // Trigrams of "^word", so the start of a word weighs in
+    private static List<String> grams(String word) {
+        String marked = WORD_START + word;
+        List<String> grams = new ArrayList<>(Math.max(0, marked.length() - GRAM + 1));
+        for (int i = 0; i + GRAM <= marked.length(); i++) {
+            grams.add(marked.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static int[] distinct(int[] ids) {
+        int[] copy = ids.clone();
+        Arrays.sort(copy);
+        int n = 0;
+        for (int i = 0; i < copy.length; i++) {
+            if (i == 0 || copy[i] != copy[i - 1]) {
+                copy[n++] = copy[i];
+            }
+        }
+        return Arrays.copyOf(copy, n);
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        // Ids arrive in ascending order, so a repeat can only be the last one
+        void addIfNotLast(int value) {
+            if (size == 0 || values[size - 1] != value) {
+                add(value);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    // Keeps the smallest entries offered, in a max-heap of at most k
+    private static final class TopK {
+        private final long[] heap;
+        private int size;
+
+        TopK(int k) {
+            heap = new long[k];
+        }
+
+        void offer(long entry) {
+            if (size < heap.length) {
+                int i = size++;
+                heap[i] = entry;
+                while (i > 0 && heap[(i - 1) / 2] < heap[i]) {
+                    swap(i, (i - 1) / 2);
+                    i = (i - 1) / 2;
+                }
+            } else if (entry < heap[0]) {
+                heap[0] = entry;
+                int i = 0;
+                while (true) {
+                    int largest = i;
+                    int left = 2 * i + 1;
+                    int right = left + 1;
+                    if (left < size && heap[left] > heap[largest]) {
+                        largest = left;
+                    }
+                    if (right < size && heap[right] > heap[largest]) {
+                        largest = right;
+                    }
+                    if (largest == i) {
+                        break;
+                    }
+                    swap(i, largest);
+                    i = largest;
+                }
+            }
+        }
+
+        boolean isFull() {
+            return size == heap.length;
+        }
+
+        long worst() {
+            return heap[0];
+        }
+
+        long[] sorted() {
+            long[] entries = Arrays.copyOf(heap, size);
+            Arrays.sort(entries);
+            return entries;
+        }
+
+        private void swap(int a, int b) {
+            long t = heap[a];
+            heap[a] = heap[b];
+            heap[b] = t;
+        }
+    }
+}
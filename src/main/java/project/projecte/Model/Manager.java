@@ -1,15 +1,17 @@
 package project.projecte.Model;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 // import javax.swing.JOptionPane; // Removed - causes JavaFX freezing
 import javafx.collections.FXCollections;
@@ -22,9 +24,14 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import project.projecte.DAO.AtomicFiles;
+import project.projecte.DAO.DataRepository;
+import project.projecte.DAO.PersistenceExecutor;
+import project.projecte.Util.Log;
 
 
 public class Manager extends User {
+    private static final Log LOG = Log.get(Manager.class);
     private Inventory inventory; // The inventory managed by the manager
     private List<Cashier> cashiers; // List of cashiers under the manager
     private List<Supplier> suppliers; // List of suppliers providing products
@@ -51,7 +58,7 @@ public class Manager extends User {
         Item item = inventory.findItemByName(name);
         if (item != null) {
             item.setStockLevel(item.getStockLevel() + quantity);
-            inventory.saveInventory();
+            inventory.recordStockChange(item);
             System.out.println("Item restocked: " + name + " (" + quantity + " added)");
         } else {
         	System.out.println("Item not found: " + name);
@@ -64,7 +71,7 @@ public class Manager extends User {
         if (item != null) {
             item.setStockLevel(stock);
             item.setSellingPrice(sellingPrice);
-            inventory.saveInventory();
+            inventory.saveInventoryAsync();
             System.out.println("Item modified: " + name);
         } else {
         	System.out.println("Item not found: " + name);
@@ -96,13 +103,12 @@ public class Manager extends User {
         root.setPadding(new Insets(15));
         root.setStyle("-fx-background-color: #F1ECFF;");
 
-        // Ensure inventory is loaded
+        // Ensure inventory is available (shared instance, already in memory)
         if (inventory == null) {
-            inventory = new Inventory();
+            inventory = DataRepository.getInstance().getInventory();
         }
-        inventory.loadInventory();
         
-        System.out.println("DEBUG: Inventory items count: " + inventory.getItems().size());
+        LOG.debug(() -> "Inventory items count: " + inventory.getItems().size());
 
         // Tables for statistics
         TableView<SalesStatistics> salesTable = new TableView<>();
@@ -131,44 +137,36 @@ public class Manager extends User {
         sellingPriceColumn.setPrefWidth(150);
         inventoryTable.getColumns().addAll(itemNameColumn, stockLevelColumn, sellingPriceColumn);
 
-        // Always reload cashiers with bills for fresh data
-        UserManager userManager = new UserManager();
+        // Cashiers and bills come from the shared repository, which always
+        // holds the latest data
+        UserManager userManager = DataRepository.getInstance().getUserManager();
         List<Cashier> loadedCashiers = userManager.getUsers().stream()
                 .filter(u -> u instanceof Cashier)
                 .map(u -> (Cashier) u)
                 .toList();
         
-        System.out.println("DEBUG: Cashiers found: " + loadedCashiers.size());
+        LOG.debug(() -> "Cashiers found: " + loadedCashiers.size());
         
-        // Load bills for each cashier
-        BillManager billManager = new BillManager();
-        List<Bill> allBills = billManager.getBills();
+        // Per-cashier totals come from the sales rollups, so no bills are read
+        BillManager billManager = DataRepository.getInstance().getBillManager();
+        Map<String, SalesRollup.Totals> salesByCashier = billManager.getSalesByCashier(startDate, endDate);
         
-        System.out.println("DEBUG: Total bills found: " + allBills.size());
-        
-        for (Cashier cashier : loadedCashiers) {
-            cashier.getBills().clear();
-            List<Bill> cashierBills = allBills.stream()
-                    .filter(b -> b.getCashierUsername() != null
-                            && b.getCashierUsername().equalsIgnoreCase(cashier.getUsername()))
-                    .toList();
-            cashier.getBills().addAll(cashierBills);
-            System.out.println("DEBUG: Cashier " + cashier.getUsername() + " has " + cashierBills.size() + " bills");
-        }
+        LOG.debug(() -> "Cashiers with sales in period: " + salesByCashier.size());
 
         // Populate sales table
         ObservableList<SalesStatistics> salesData = FXCollections.observableArrayList();
-        double totalRevenue = 0.0;
+        long totalRevenueCents = 0;
         
         for (Cashier cashier : loadedCashiers) {
-            double cashierRevenue = cashier.getBills().stream()
-                    .filter(bill -> !bill.getBillDate().isBefore(startDate) && !bill.getBillDate().isAfter(endDate))
-                    .mapToDouble(Bill::getTotalAmount)
-                    .sum();
+            // Rollup keys are case-folded, as usernames match for the bills themselves
+            SalesRollup.Totals totals = salesByCashier.get(SalesRollup.cashierKey(cashier.getUsername()));
+            long cashierRevenueCents = totals == null ? 0 : totals.getRevenueCents();
+            double cashierRevenue = cashierRevenueCents / 100.0;
             salesData.add(new SalesStatistics(cashier.getUsername(), cashierRevenue));
-            totalRevenue += cashierRevenue;
-            System.out.println("DEBUG: Cashier " + cashier.getUsername() + " revenue in period: $" + cashierRevenue);
+            totalRevenueCents += cashierRevenueCents;
+            LOG.debug(() -> "Cashier " + cashier.getUsername() + " revenue in period: $" + cashierRevenue);
         }
+        double totalRevenue = totalRevenueCents / 100.0;
         
         // Add total row
         if (!salesData.isEmpty()) {
@@ -176,14 +174,14 @@ public class Manager extends User {
         }
         salesTable.setItems(salesData);
         
-        System.out.println("DEBUG: Total revenue: $" + totalRevenue);
+        LOG.debug(() -> "Total revenue: $" + totalRevenue);
 
         // Populate inventory table
         ObservableList<Item> inventoryData = FXCollections.observableArrayList();
         inventoryData.addAll(inventory.getItems());
         inventoryTable.setItems(inventoryData);
         
-        System.out.println("DEBUG: Inventory table populated with " + inventoryData.size() + " items");
+        LOG.debug(() -> "Inventory table populated with " + inventoryData.size() + " items");
 
         // Add components to root layout with labels
         Label salesLabel = new Label("Sales Statistics:");
@@ -217,34 +215,63 @@ public class Manager extends User {
     // Add a supplier to the list
     public void addSupplier(Supplier supplier) {
         suppliers.add(supplier);
-        saveSuppliers();
+        saveSuppliersAsync();
         System.out.println("Supplier added: " + supplier.getName());
     }
 
     // Save the suppliers list to a file
     public void saveSuppliers() {
         try {
-            // Ensure the directory exists before writing the file
-            File directory = new File("data");
-            if (!directory.exists()) {
-                directory.mkdir(); // Create the directory if it doesn't exist
-            }
+            writeSuppliers(serializeSuppliers());
+        } catch (IOException e) {
+            LOG.error("Error saving suppliers", e);
+        }
+    }
 
-            // Write to the suppliers.dat file
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(SUPPLIERS_FILE_PATH))) {
-                oos.writeObject(suppliers);
-                System.out.println("Suppliers saved to file.");
-            }
+    // saveSuppliers on the persistence thread. The list is serialized right
+    // away, so edits made after this call cannot leak into the write.
+    public CompletableFuture<Void> saveSuppliersAsync() {
+        byte[] content;
+        try {
+            content = serializeSuppliers();
         } catch (IOException e) {
-            System.err.println("Error saving suppliers: " + e.getMessage());
+            LOG.error("Error saving suppliers", e);
+            return CompletableFuture.failedFuture(e);
         }
+        return PersistenceExecutor.shared().submit(SUPPLIERS_FILE_PATH, () -> writeSuppliers(content));
+    }
+
+    private byte[] serializeSuppliers() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bytes);
+        oos.writeObject(suppliers);
+        oos.flush();
+        return bytes.toByteArray();
+    }
+
+    private void writeSuppliers(byte[] content) throws IOException {
+        // Ensure the directory exists before writing the file
+        File directory = new File("data");
+        if (!directory.exists()) {
+            directory.mkdir(); // Create the directory if it doesn't exist
+        }
+
+        // Write to the suppliers.dat file
+        AtomicFiles.write(Path.of(SUPPLIERS_FILE_PATH), out -> out.write(content));
+        LOG.info("Suppliers saved to file.");
     }
 
     // Load the suppliers list from a file
     private List<Supplier> loadSuppliers() {
+        // Every Manager reads the same file: let queued saves land first
+        try {
+            PersistenceExecutor.shared().flush();
+        } catch (IOException e) {
+            LOG.warn("Earlier saves failed, suppliers may be out of date: " + e.getMessage());
+        }
         try {
-            File file = new File(SUPPLIERS_FILE_PATH);
-            if (!file.exists()) {
+            byte[] content = AtomicFiles.read(Path.of(SUPPLIERS_FILE_PATH));
+            if (content == null) {
                 System.out.println("No suppliers file found, creating sample data.");
                 List<Supplier> sampleSuppliers = new ArrayList<>();
                 Supplier alpha = new Supplier("Alpha Wholesale", "alpha@wholesale.com");
@@ -268,7 +295,7 @@ public class Manager extends User {
             }
             
             // Read from the suppliers.dat file
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(SUPPLIERS_FILE_PATH))) {
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(content))) {
                 return (List<Supplier>) ois.readObject();
             }
         } catch (IOException | ClassNotFoundException e) {
@@ -0,0 +1,317 @@
+package project.projecte.Model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Column store of every sold line (one row per BillItem) for ad hoc
+ * reporting. Each column is a primitive array and strings are replaced by
+ * ids into a dictionary, so a row costs 24 bytes: ten million lines fit in
+ * about 240 MB. Queries scan the columns in parallel chunks.
+ *
+ * The store is a snapshot: build it with {@link #from} and build a new one
+ * to include later bills. Once built it is read-only and safe to share.
+ *
+ * <pre>
+ * Map&lt;String, Long&gt; revenue = columns.query()
+ *         .between(monthStart, monthEnd)
+ *         .category("Fruits")
+ *         .sumBy(SalesColumns.Dimension.ITEM, SalesColumns.Metric.REVENUE_CENTS);
+ * </pre>
+ */
+public class SalesColumns {
+
+    private static final int CHUNK_ROWS = 1 << 16;
+    private static final String NO_CATEGORY = "";
+    // Filter ids: no filter set, and a name not in the dictionary
+    private static final int ANY = -1;
+    private static final int MISSING = -2;
+
+    public enum Dimension { ITEM, CATEGORY, CASHIER, HOUR }
+
+    public enum Metric { REVENUE_CENTS, UNITS, LINES }
+
+    private final int rows;
+    // Minutes since the epoch (UTC of the local bill time)
+    private final int[] minutes;
+    private final int[] cashierIds;
+    private final int[] itemIds;
+    private final int[] quantities;
+    private final long[] priceCents;
+
+    private final String[] cashiers;
+    private final String[] items;
+    private final String[] categories;
+    private final int[] itemCategoryIds;
+
+    private SalesColumns(Builder builder) {
+        this.rows = builder.rows;
+        // The builder's arrays are taken as they are; copying them to size
+        // would briefly need twice the memory
+        this.minutes = builder.minutes;
+        this.cashierIds = builder.cashierIds;
+        this.itemIds = builder.itemIds;
+        this.quantities = builder.quantities;
+        this.priceCents = builder.priceCents;
+        this.cashiers = builder.cashiers.toArray(new String[0]);
+        this.items = builder.items.toArray(new String[0]);
+        this.categories = builder.categories.toArray(new String[0]);
+        this.itemCategoryIds = builder.itemCategoryIds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Builds the store from every bill in the manager. Item categories are
+     * looked up in the inventory by name (may be null); items no longer
+     * stocked get an empty category.
+     */
+    public static SalesColumns from(BillManager billManager, Inventory inventory) {
+        return from(billManager.getBills(), inventory);
+    }
+
+    public static SalesColumns from(List<Bill> bills, Inventory inventory) {
+        Builder builder = new Builder(inventory);
+        for (Bill bill : bills) {
+            builder.add(bill);
+        }
+        return new SalesColumns(builder);
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Row filter plus aggregation. Filters left unset match everything;
+     * unknown names match nothing.
+     */
+    public final class Query {
+        private int fromMinute = Integer.MIN_VALUE;
+        private int toMinute = Integer.MAX_VALUE;
+        private int cashierId = ANY;
+        private int itemId = ANY;
+        private int categoryId = ANY;
+
+        private Query() {
+        }
+
+        // Both ends inclusive, to the minute
+        public Query between(LocalDateTime from, LocalDateTime to) {
+            fromMinute = toMinute(from);
+            toMinute = toMinute(to);
+            return this;
+        }
+
+        public Query cashier(String username) {
+            cashierId = idOrMissing(cashiers, username);
+            return this;
+        }
+
+        public Query item(String name) {
+            itemId = idOrMissing(items, name);
+            return this;
+        }
+
+        public Query category(String category) {
+            categoryId = idOrMissing(categories, category);
+            return this;
+        }
+
+        /** Sum of the metric over all matching rows. */
+        public long sum(Metric metric) {
+            return IntStream.range(0, chunkCount()).parallel()
+                    .mapToLong(chunk -> {
+                        long sum = 0;
+                        for (int row = chunk * CHUNK_ROWS, end = chunkEnd(chunk); row < end; row++) {
+                            if (matches(row)) {
+                                sum += value(row, metric);
+                            }
+                        }
+                        return sum;
+                    })
+                    .sum();
+        }
+
+        /**
+         * Sum of the metric per value of the dimension, over matching rows.
+         * Groups without matching rows are left out; hours are "00".."23".
+         */
+        public Map<String, Long> sumBy(Dimension dimension, Metric metric) {
+            int groups = groupCount(dimension);
+            List<Partial> partials = IntStream.range(0, chunkCount()).parallel()
+                    .mapToObj(chunk -> {
+                        Partial partial = new Partial(new long[groups], new int[groups]);
+                        for (int row = chunk * CHUNK_ROWS, end = chunkEnd(chunk); row < end; row++) {
+                            if (matches(row)) {
+                                int group = group(row, dimension);
+                                partial.sums()[group] += value(row, metric);
+                                partial.hits()[group]++;
+                            }
+                        }
+                        return partial;
+                    })
+                    .toList();
+
+            Map<String, Long> result = new TreeMap<>();
+            for (int g = 0; g < groups; g++) {
+                long sum = 0;
+                boolean hit = false;
+                for (Partial partial : partials) {
+                    sum += partial.sums()[g];
+                    hit |= partial.hits()[g] != 0;
+                }
+                if (hit) {
+                    result.put(groupName(dimension, g), sum);
+                }
+            }
+            return result;
+        }
+
+        private boolean matches(int row) {
+            int minute = minutes[row];
+            return minute >= fromMinute && minute <= toMinute
+                    && (cashierId == ANY || cashierIds[row] == cashierId)
+                    && (itemId == ANY || itemIds[row] == itemId)
+                    && (categoryId == ANY || itemCategoryIds[itemIds[row]] == categoryId);
+        }
+    }
+
+    // Per-chunk sums and matching row counts by group
+    private record Partial(long[] sums, int[] hits) {
+    }
+
+    private int chunkCount() {
+        return (rows + CHUNK_ROWS - 1) / CHUNK_ROWS;
+    }
+
+    private int chunkEnd(int chunk) {
+        return Math.min(rows, (chunk + 1) * CHUNK_ROWS);
+    }
+
+    private long value(int row, Metric metric) {
+        return switch (metric) {
+            case REVENUE_CENTS -> priceCents[row] * quantities[row];
+            case UNITS -> quantities[row];
+            case LINES -> 1;
+        };
+    }
+
+    private int groupCount(Dimension dimension) {
+        return switch (dimension) {
+            case ITEM -> items.length;
+            case CATEGORY -> categories.length;
+            case CASHIER -> cashiers.length;
+            case HOUR -> 24;
+        };
+    }
+
+    private int group(int row, Dimension dimension) {
+        return switch (dimension) {
+            case ITEM -> itemIds[row];
+            case CATEGORY -> itemCategoryIds[itemIds[row]];
+            case CASHIER -> cashierIds[row];
+            case HOUR -> Math.floorMod(minutes[row], 24 * 60) / 60;
+        };
+    }
+
+    private String groupName(Dimension dimension, int group) {
+        return switch (dimension) {
+            case ITEM -> items[group];
+            case CATEGORY -> categories[group];
+            case CASHIER -> cashiers[group];
+            case HOUR -> String.format("%02d", group);
+        };
+    }
+
+    private static int idOrMissing(String[] dictionary, String value) {
+        String key = value == null ? "" : value;
+        for (int i = 0; i < dictionary.length; i++) {
+            if (dictionary[i].equals(key)) {
+                return i;
+            }
+        }
+        return MISSING;
+    }
+
+    private static int toMinute(LocalDateTime date) {
+        return Math.toIntExact(Math.floorDiv(date.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    // Appends rows into growing arrays and assigns dictionary ids
+    private static final class Builder {
+        private final Inventory inventory;
+        private int rows;
+        private int[] minutes = new int[1024];
+        private int[] cashierIds = new int[1024];
+        private int[] itemIds = new int[1024];
+        private int[] quantities = new int[1024];
+        private long[] priceCents = new long[1024];
+
+        private final List<String> cashiers = new ArrayList<>();
+        private final Map<String, Integer> cashierLookup = new HashMap<>();
+        private final List<String> items = new ArrayList<>();
+        private final Map<String, Integer> itemLookup = new HashMap<>();
+        private final List<String> categories = new ArrayList<>();
+        private final Map<String, Integer> categoryLookup = new HashMap<>();
+        private final List<Integer> itemCategoryIds = new ArrayList<>();
+
+        Builder(Inventory inventory) {
+            this.inventory = inventory;
+        }
+
+        void add(Bill bill) {
+            int minute = toMinute(bill.getBillDate());
+            int cashier = intern(bill.getCashierUsername(), cashiers, cashierLookup);
+            for (BillItem line : bill.getBillItems()) {
+                if (rows == minutes.length) {
+                    grow();
+                }
+                minutes[rows] = minute;
+                cashierIds[rows] = cashier;
+                itemIds[rows] = itemId(line.getName());
+                quantities[rows] = line.getQuantity();
+                priceCents[rows] = line.getPriceCents();
+                rows++;
+            }
+        }
+
+        private int itemId(String name) {
+            Integer id = itemLookup.get(name == null ? "" : name);
+            if (id != null) {
+                return id;
+            }
+            int newId = intern(name, items, itemLookup);
+            Item stocked = inventory == null || name == null ? null : inventory.findItemByName(name);
+            String category = stocked == null || stocked.getCategory() == null ? NO_CATEGORY : stocked.getCategory();
+            itemCategoryIds.add(intern(category, categories, categoryLookup));
+            return newId;
+        }
+
+        private static int intern(String value, List<String> dictionary, Map<String, Integer> lookup) {
+            String key = value == null ? "" : value;
+            return lookup.computeIfAbsent(key, k -> {
+                dictionary.add(k);
+                return dictionary.size() - 1;
+            });
+        }
+
+        private void grow() {
+            int capacity = minutes.length * 2;
+            minutes = Arrays.copyOf(minutes, capacity);
+            cashierIds = Arrays.copyOf(cashierIds, capacity);
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+        }
+    }
+}
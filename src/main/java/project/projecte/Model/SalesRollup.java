@@ -0,0 +1,271 @@
+package project.projecte.Model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Pre-aggregated sales: revenue, bill count and units sold per cashier and
+ * per item, in hourly buckets per day. Kept up to date by BillManager as bills
+ * are added, so statistics for any period read one entry per day instead of
+ * every bill.
+ *
+ * Queries work in whole hours: a range covers the hour of {@code from}
+ * through the hour of {@code to}, both inclusive.
+ */
+public class SalesRollup {
+
+    private static final int HOURS = 24;
+    // Version 2 keys cashiers by case-folded username; older files are
+    // rejected and rebuilt from the partitions
+    private static final int FORMAT_VERSION = 2;
+
+    /** Sums for one cashier or item over a queried period. */
+    public static final class Totals {
+        private long revenueCents;
+        private int bills;
+        private long units;
+
+        public double getRevenue() {
+            return revenueCents / 100.0;
+        }
+
+        public long getRevenueCents() {
+            return revenueCents;
+        }
+
+        // For an item: bills that contain it
+        public int getBills() {
+            return bills;
+        }
+
+        public long getUnits() {
+            return units;
+        }
+    }
+
+    // Hourly counters for one cashier or item on one day
+    private static final class Buckets {
+        final long[] revenueCents = new long[HOURS];
+        final int[] bills = new int[HOURS];
+        final long[] units = new long[HOURS];
+
+        void addTo(Totals totals, int fromHour, int toHour) {
+            for (int h = fromHour; h <= toHour; h++) {
+                totals.revenueCents += revenueCents[h];
+                totals.bills += bills[h];
+                totals.units += units[h];
+            }
+        }
+    }
+
+    private static final class Day {
+        int billCount;
+        final Map<String, Buckets> cashiers = new HashMap<>();
+        final Map<String, Buckets> items = new HashMap<>();
+    }
+
+    private final TreeMap<LocalDate, Day> days = new TreeMap<>();
+
+    /** Adds one bill's sales to the rollups. */
+    public synchronized void add(Bill bill) {
+        int hour = bill.getBillDate().getHour();
+        Day day = days.computeIfAbsent(bill.getBillDate().toLocalDate(), d -> new Day());
+        day.billCount++;
+
+        long billCents = 0;
+        long billUnits = 0;
+        Map<String, long[]> perItem = new HashMap<>();
+        for (BillItem item : bill.getBillItems()) {
+            long cents = item.getLineTotalCents();
+            billCents += cents;
+            billUnits += item.getQuantity();
+            long[] sums = perItem.computeIfAbsent(key(item.getName()), name -> new long[2]);
+            sums[0] += cents;
+            sums[1] += item.getQuantity();
+        }
+
+        Buckets cashier = day.cashiers.computeIfAbsent(cashierKey(bill.getCashierUsername()), name -> new Buckets());
+        cashier.revenueCents[hour] += billCents;
+        cashier.bills[hour]++;
+        cashier.units[hour] += billUnits;
+        for (var entry : perItem.entrySet()) {
+            Buckets item = day.items.computeIfAbsent(entry.getKey(), name -> new Buckets());
+            item.revenueCents[hour] += entry.getValue()[0];
+            item.bills[hour]++;
+            item.units[hour] += entry.getValue()[1];
+        }
+    }
+
+    /** Days with at least one bill by the cashier (username matched case-insensitively), oldest first. */
+    public synchronized List<LocalDate> getCashierDays(String username) {
+        String key = cashierKey(username);
+        List<LocalDate> result = new ArrayList<>();
+        for (var entry : days.entrySet()) {
+            if (entry.getValue().cashiers.containsKey(key)) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /** Number of bills rolled up for the given day. */
+    public synchronized int getBillCount(LocalDate day) {
+        Day rolled = days.get(day);
+        return rolled == null ? 0 : rolled.billCount;
+    }
+
+    // Drops a day so it can be rebuilt from its bills
+    synchronized void clearDay(LocalDate day) {
+        days.remove(day);
+    }
+
+    // Drops days that no longer have stored bills; true if any were dropped
+    synchronized boolean retainDays(Set<LocalDate> storedDays) {
+        return days.keySet().retainAll(storedDays);
+    }
+
+    /**
+     * Revenue, bills and units per cashier with sales in the period, keyed by
+     * {@link #cashierKey} of the username.
+     */
+    public synchronized Map<String, Totals> getTotalsByCashier(LocalDateTime from, LocalDateTime to) {
+        Map<String, Totals> result = new TreeMap<>();
+        forEachDay(from, to, (day, fromHour, toHour) -> {
+            for (var entry : day.cashiers.entrySet()) {
+                entry.getValue().addTo(result.computeIfAbsent(entry.getKey(), name -> new Totals()), fromHour, toHour);
+            }
+        });
+        result.values().removeIf(totals -> totals.bills == 0);  // no sales in the queried hours
+        return result;
+    }
+
+    /** Revenue, bills containing the item and units sold per item name in the period. */
+    public synchronized Map<String, Totals> getTotalsByItem(LocalDateTime from, LocalDateTime to) {
+        Map<String, Totals> result = new TreeMap<>();
+        forEachDay(from, to, (day, fromHour, toHour) -> {
+            for (var entry : day.items.entrySet()) {
+                entry.getValue().addTo(result.computeIfAbsent(entry.getKey(), name -> new Totals()), fromHour, toHour);
+            }
+        });
+        result.values().removeIf(totals -> totals.bills == 0);  // no sales in the queried hours
+        return result;
+    }
+
+    /** Sales of every cashier together in the period. */
+    public synchronized Totals getTotal(LocalDateTime from, LocalDateTime to) {
+        Totals total = new Totals();
+        forEachDay(from, to, (day, fromHour, toHour) -> {
+            for (Buckets buckets : day.cashiers.values()) {
+                buckets.addTo(total, fromHour, toHour);
+            }
+        });
+        return total;
+    }
+
+    private interface DayVisitor {
+        void visit(Day day, int fromHour, int toHour);
+    }
+
+    private void forEachDay(LocalDateTime from, LocalDateTime to, DayVisitor visitor) {
+        if (from.isAfter(to)) {
+            return;
+        }
+        LocalDate first = from.toLocalDate();
+        LocalDate last = to.toLocalDate();
+        for (var entry : days.subMap(first, true, last, true).entrySet()) {
+            int fromHour = entry.getKey().equals(first) ? from.getHour() : 0;
+            int toHour = entry.getKey().equals(last) ? to.getHour() : HOURS - 1;
+            visitor.visit(entry.getValue(), fromHour, toHour);
+        }
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name;
+    }
+
+    /** Key of a cashier in {@link #getTotalsByCashier}: the username case-folded, as bills match it. */
+    public static String cashierKey(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+
+    // Binary form stored next to the bill partitions; see BillManager
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(days.size());
+        for (var entry : days.entrySet()) {
+            Day day = entry.getValue();
+            out.writeLong(entry.getKey().toEpochDay());
+            out.writeInt(day.billCount);
+            writeBuckets(out, day.cashiers);
+            writeBuckets(out, day.items);
+        }
+    }
+
+    public static SalesRollup readFrom(DataInput in) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported sales rollup version");
+        }
+        SalesRollup rollup = new SalesRollup();
+        int dayCount = in.readInt();
+        for (int d = 0; d < dayCount; d++) {
+            LocalDate date = LocalDate.ofEpochDay(in.readLong());
+            Day day = new Day();
+            day.billCount = in.readInt();
+            readBuckets(in, day.cashiers);
+            readBuckets(in, day.items);
+            rollup.days.put(date, day);
+        }
+        return rollup;
+    }
+
+    private static void writeBuckets(DataOutput out, Map<String, Buckets> map) throws IOException {
+        out.writeInt(map.size());
+        for (var entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            Buckets buckets = entry.getValue();
+            // Only hours with sales are written, flagged in a bit mask
+            int mask = 0;
+            for (int h = 0; h < HOURS; h++) {
+                if (buckets.bills[h] != 0) {
+                    mask |= 1 << h;
+                }
+            }
+            out.writeInt(mask);
+            for (int h = 0; h < HOURS; h++) {
+                if ((mask & (1 << h)) != 0) {
+                    out.writeLong(buckets.revenueCents[h]);
+                    out.writeInt(buckets.bills[h]);
+                    out.writeLong(buckets.units[h]);
+                }
+            }
+        }
+    }
+
+    private static void readBuckets(DataInput in, Map<String, Buckets> map) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            Buckets buckets = new Buckets();
+            int mask = in.readInt();
+            for (int h = 0; h < HOURS; h++) {
+                if ((mask & (1 << h)) == 0) {
+                    continue;
+                }
+                buckets.revenueCents[h] = in.readLong();
+                buckets.bills[h] = in.readInt();
+                buckets.units[h] = in.readLong();
+            }
+            map.put(name, buckets);
+        }
+    }
+}
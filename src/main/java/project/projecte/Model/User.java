@@ -5,7 +5,7 @@ import java.io.Serializable;
 // Abstract class for Users
 public class User implements Serializable {
     private String username;
-    private String password;
+    private volatile String password; // PasswordHasher hash once saved
     private String role;
 
     public User(String username, String password, String role) {
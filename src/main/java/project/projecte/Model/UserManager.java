@@ -2,38 +2,69 @@ package project.projecte.Model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import project.projecte.Model.User;
 import project.projecte.DAO.FileManagement;
+import project.projecte.DAO.PersistenceExecutor;
+import project.projecte.Util.Log;
+import project.projecte.Util.PasswordHasher;
 
+// Users are also indexed by case-folded username, so lookups (and logins)
+// do not scan the list. Passwords are stored as PasswordHasher hashes: any
+// plaintext password, from an old users.txt or a new account, is hashed when
+// the users are saved. Hashing works on copies; the hashes are swapped into
+// the live users under this manager's lock.
 public class UserManager {
+    private static final Log LOG = Log.get(UserManager.class);
     private List<User> users;
+    private final Map<String, User> usersByName = new ConcurrentHashMap<>();
+    private final PasswordHasher passwordHasher = PasswordHasher.fromSystemProperties();
     private static final String FILE_NAME = "data/users.txt";
+    private final String fileName;
 
     public UserManager() {
+        this(FILE_NAME);
+    }
+
+    // Users kept in the given file instead of data/users.txt
+    public UserManager(String fileName) {
+        this.fileName = fileName;
         this.users = new ArrayList<>();
         loadUsers(); // check!!!
     }
 
+    // Starts from users already loaded, e.g. from the startup snapshot
+    public UserManager(List<User> loadedUsers) {
+        this.fileName = FILE_NAME;
+        this.users = new ArrayList<>();
+        useLoadedUsers(new ArrayList<>(loadedUsers));
+    }
+
+    public PasswordHasher getPasswordHasher() {
+        return passwordHasher;
+    }
+
     // Add a new user to the list
-    public void addUser(User user) {
+    public synchronized void addUser(User user) {
         users.add(user);
-        saveUsers(); // Save to file after adding the user
+        usersByName.putIfAbsent(fold(user.getUsername()), user);
+        saveUsersAsync(); // Save to file after adding the user
     }
 
-    // Find a user by their username
+    // Find a user by their username (case-insensitive)
     public User findUserByUsername(String username) {
-        for (User user : users) {
-            if (user.getUsername().equalsIgnoreCase(username)) {
-                return user;
-            }
-        }
-        return null;
+        return username == null ? null : usersByName.get(fold(username));
     }
 
     // Remove a user from the list
-    public void removeUser(User user) {
+    public synchronized void removeUser(User user) {
         users.remove(user);
-        saveUsers(); // Save to file after removing the user
+        unindex(user);
+        saveUsersAsync(); // Save to file after removing the user
     }
 
     // Get all users in the list
@@ -42,31 +73,116 @@ public class UserManager {
     }
 
     // Update a user's details
-    public void updateUser(User oldUser, User newUser) {
+    public synchronized void updateUser(User oldUser, User newUser) {
         int index = users.indexOf(oldUser);
         if (index != -1) {
             users.set(index, newUser);
-            saveUsers(); // Save to file after updating the user
+            unindex(oldUser);
+            usersByName.putIfAbsent(fold(newUser.getUsername()), newUser);
+            saveUsersAsync(); // Save to file after updating the user
+        }
+    }
+
+    private static String fold(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    // Drops the user from the index; another user with the same folded name
+    // (the next one in list order) takes its place
+    private void unindex(User user) {
+        String key = fold(user.getUsername());
+        if (usersByName.remove(key, user)) {
+            for (User other : users) {
+                if (fold(other.getUsername()).equals(key)) {
+                    usersByName.put(key, other);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void rebuildIndex() {
+        usersByName.clear();
+        for (User user : users) {
+            usersByName.putIfAbsent(fold(user.getUsername()), user);
         }
     }
 
     // Save the list of users to the binary file
     public void saveUsers() {
-        FileManagement.saveUsers(FILE_NAME, users);
+        List<User> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(users);
+        }
+        FileManagement.saveUsers(fileName, hashPlaintextPasswords(snapshot));
+    }
+
+    // saveUsers on the persistence thread, writing the list as it is now.
+    // Hashing new passwords also happens there, off the caller's thread.
+    public CompletableFuture<Void> saveUsersAsync() {
+        List<User> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(users);
+        }
+        return PersistenceExecutor.shared().submit(fileName,
+                () -> FileManagement.writeUsers(fileName, hashPlaintextPasswords(snapshot)));
+    }
+
+    // The users as they should be written: copies with hashed passwords in
+    // place of plaintext ones. The hashes are then given to the live users,
+    // which login threads read, so those never see a half-done migration.
+    private List<User> hashPlaintextPasswords(List<User> snapshot) {
+        List<User> saved = new ArrayList<>(snapshot.size());
+        for (User user : snapshot) {
+            String password = user.getPassword();
+            if (password != null && !PasswordHasher.isHash(password)) {
+                String hash = passwordHasher.hash(password);
+                saved.add(new User(user.getUsername(), hash, user.getRole()));
+                replacePassword(user, password, hash);
+            } else {
+                saved.add(user);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Sets the user's password to {@code replacement} if it is still
+     * {@code expected}, so a password changed meanwhile is not overwritten.
+     */
+    synchronized boolean replacePassword(User user, String expected, String replacement) {
+        if (!Objects.equals(user.getPassword(), expected)) {
+            return false;
+        }
+        user.setPassword(replacement);
+        return true;
     }
 
     // Load the list of users from the binary file
-    public void loadUsers() {
-        System.out.println("DEBUG UserManager.loadUsers: Loading from " + FILE_NAME);
-        List<User> loadedUsers = FileManagement.loadUsers(FILE_NAME);
+    public synchronized void loadUsers() {
+        LOG.debug(() -> "loadUsers: Loading from " + fileName);
+        List<User> loadedUsers = FileManagement.loadUsers(fileName);
         if (loadedUsers != null) {
-            users = loadedUsers;
-            System.out.println("DEBUG UserManager.loadUsers: Loaded " + users.size() + " users");
-            for (User user : users) {
-                System.out.println("DEBUG UserManager.loadUsers: - " + user.getUsername() + " (" + user.getRole() + ")");
-            }
+            useLoadedUsers(loadedUsers);
         } else {
             System.out.println("No existing user data found.");
         }
     }
-}
+
+    private void useLoadedUsers(List<User> loadedUsers) {
+        users = loadedUsers;
+        rebuildIndex();
+        // Migrate a users.txt with plaintext passwords; until the
+        // rewrite lands, logins compare those passwords directly
+        if (users.stream().anyMatch(user -> !PasswordHasher.isHash(user.getPassword()))) {
+            LOG.info("Hashing plaintext passwords in " + fileName);
+            saveUsersAsync();
+        }
+        LOG.debug(() -> "loadUsers: Loaded " + users.size() + " users");
+        if (LOG.isDebugEnabled()) {
+            for (User user : users) {
+                LOG.debug("loadUsers: - " + user.getUsername() + " (" + user.getRole() + ")");
+            }
+        }
+    }
+}
\ No newline at end of file
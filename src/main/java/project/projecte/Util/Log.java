@@ -0,0 +1,239 @@
+package project.projecte.Util;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Minimal logging for the application.
+ *
+ * Messages below the threshold level are dropped before anything is built:
+ * check {@link #isDebugEnabled()} or pass a {@code Supplier} so a disabled
+ * debug line costs one comparison. Enabled messages go into a bounded ring
+ * buffer and a daemon thread writes them to the console in batches, so
+ * callers never wait on console I/O. If the ring is full, DEBUG and INFO
+ * messages are dropped and counted; WARN and ERROR are written directly.
+ *
+ * The threshold comes from the system property {@code projecte.log.level}
+ * (DEBUG, INFO, WARN, ERROR or OFF; INFO by default).
+ */
+public final class Log {
+
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int RING_SIZE = 8192;  // power of two
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static volatile Level threshold = parseLevel(System.getProperty("projecte.log.level"), Level.INFO);
+    private static final Appender APPENDER = new Appender();
+
+    private final String name;
+
+    private Log(String name) {
+        this.name = name;
+    }
+
+    public static Log get(Class<?> type) {
+        return new Log(type.getSimpleName());
+    }
+
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    /** Waits until every message logged so far has been written. */
+    public static void flush() {
+        APPENDER.flush();
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level != Level.OFF && level.ordinal() >= threshold.ordinal();
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, message.get(), null);
+        }
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, message.get(), null);
+        }
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    private void log(Level level, String message, Throwable error) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Entry entry = new Entry(System.currentTimeMillis(), level, name, Thread.currentThread().getName(),
+                message, error);
+        if (!APPENDER.offer(entry) && level.ordinal() >= Level.WARN.ordinal()) {
+            APPENDER.write(entry);
+        }
+    }
+
+    // Used by tests to capture output
+    static void setOutput(PrintStream out, PrintStream err) {
+        APPENDER.flush();
+        APPENDER.out = out;
+        APPENDER.err = err;
+    }
+
+    static Level parseLevel(String value, Level fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    private record Entry(long time, Level level, String logger, String thread, String message, Throwable error) {
+    }
+
+    // Ring buffer drained by one daemon writer thread
+    private static final class Appender implements Runnable {
+        private final Entry[] ring = new Entry[RING_SIZE];
+        private long head;     // next slot to drain
+        private long tail;     // next slot to fill
+        private long written;  // entries written to the console
+        private long dropped;
+        private Thread writer;
+
+        volatile PrintStream out = System.out;
+        volatile PrintStream err = System.err;
+
+        synchronized boolean offer(Entry entry) {
+            if (tail - head == RING_SIZE) {
+                dropped++;
+                return false;
+            }
+            ring[(int) (tail++ & (RING_SIZE - 1))] = entry;
+            if (writer == null) {
+                writer = new Thread(this, "log-writer");
+                writer.setDaemon(true);
+                writer.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "log-flush"));
+            }
+            notifyAll();
+            return true;
+        }
+
+        synchronized void flush() {
+            long target = tail;
+            boolean interrupted = false;
+            while (written < target && writer != null && writer.isAlive()) {
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Entry> batch = new ArrayList<>();
+            while (true) {
+                long lost;
+                synchronized (this) {
+                    while (head == tail) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                    while (head < tail) {
+                        int slot = (int) (head++ & (RING_SIZE - 1));
+                        batch.add(ring[slot]);
+                        ring[slot] = null;
+                    }
+                    lost = dropped;
+                    dropped = 0;
+                }
+                // One console write per stream for the whole batch
+                StringBuilder outText = new StringBuilder();
+                StringBuilder errText = new StringBuilder();
+                if (lost > 0) {
+                    errText.append(lost).append(" log messages dropped (log buffer full)").append(System.lineSeparator());
+                }
+                for (Entry entry : batch) {
+                    format(entry, isError(entry) ? errText : outText);
+                }
+                if (!outText.isEmpty()) {
+                    out.print(outText);
+                    out.flush();
+                }
+                if (!errText.isEmpty()) {
+                    err.print(errText);
+                    err.flush();
+                }
+                synchronized (this) {
+                    written += batch.size();
+                    notifyAll();
+                }
+                batch.clear();
+            }
+        }
+
+        void write(Entry entry) {
+            StringBuilder text = new StringBuilder();
+            format(entry, text);
+            (isError(entry) ? err : out).print(text);
+        }
+
+        private static boolean isError(Entry entry) {
+            return entry.level().ordinal() >= Level.WARN.ordinal();
+        }
+
+        private static void format(Entry entry, StringBuilder text) {
+            text.append(TIME_FORMAT.format(Instant.ofEpochMilli(entry.time()))).append(' ').append(entry.level())
+                    .append(" [").append(entry.thread()).append("] ").append(entry.logger()).append(": ")
+                    .append(entry.message()).append(System.lineSeparator());
+            if (entry.error() != null) {
+                StringWriter trace = new StringWriter();
+                entry.error().printStackTrace(new PrintWriter(trace));
+                text.append(trace);
+            }
+        }
+    }
+}
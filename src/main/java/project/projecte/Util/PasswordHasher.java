@@ -0,0 +1,106 @@
+package project.projecte.Util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.KeySpec;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Salted PBKDF2 (HMAC-SHA256) password hashes.
+ *
+ * A stored hash is {@code pbkdf2-sha256$iterations$salt$hash} with salt and
+ * hash in Base64, so it fits in the password column of users.txt. The
+ * iteration count is kept per hash: raising the cost only affects new hashes,
+ * and {@link #needsRehash} tells which old ones to upgrade.
+ */
+public final class PasswordHasher {
+
+    public static final int DEFAULT_ITERATIONS = 120_000;
+
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+
+    public PasswordHasher(int iterations) {
+        this.iterations = Math.max(1, iterations);
+    }
+
+    /** Cost from -Dprojecte.auth.iterations, or {@link #DEFAULT_ITERATIONS}. */
+    public static PasswordHasher fromSystemProperties() {
+        return new PasswordHasher(Integer.getInteger("projecte.auth.iterations", DEFAULT_ITERATIONS));
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /** True if the value is a hash made by this class rather than a plaintext password. */
+    public static boolean isHash(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, iterations));
+    }
+
+    /** Checks the password against a stored hash; false for anything malformed. */
+    public boolean verify(String password, String stored) {
+        if (!isHash(stored) || password == null) {
+            return false;
+        }
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[0]);
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            return storedIterations > 0
+                    && MessageDigest.isEqual(expected, derive(password, salt, storedIterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /** True for plaintext and for hashes made with fewer iterations than this hasher uses. */
+    public boolean needsRehash(String stored) {
+        if (!isHash(stored)) {
+            return true;
+        }
+        int end = stored.indexOf('$', PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(stored.substring(PREFIX.length(), end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /** Constant-time comparison for passwords still stored in plaintext. */
+    public static boolean matchesPlaintext(String password, String stored) {
+        return password != null && stored != null
+                && MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
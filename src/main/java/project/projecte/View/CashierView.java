@@ -1,9 +1,10 @@
 package project.projecte.View;
 
 import project.projecte.Controller.LoginController;
+import project.projecte.DAO.DataRepository;
 import project.projecte.Model.Bill;
-import project.projecte.Model.BillItem;
 import project.projecte.Model.BillManager;
+import project.projecte.Model.CheckoutService;
 import project.projecte.Model.Inventory;
 import project.projecte.Model.Item;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -16,23 +17,29 @@ import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Optional;
+import project.projecte.Util.Log;
 
 public class CashierView {
 
+    private static final Log LOG = Log.get(CashierView.class);
+    // Matches shown in the item picker
+    private static final int PICKER_RESULTS = 20;
+
     private final BillManager billManager;
+    private final CheckoutService checkoutService;
     private final Inventory inventory;
     private final String cashierUsername;
 
     public CashierView(Inventory inventory, String cashierUsername) {
-        this.billManager = new BillManager();
+        this.billManager = DataRepository.getInstance().getBillManager();
+        this.checkoutService = DataRepository.getInstance().getCheckoutService();
         this.inventory = inventory;
         this.cashierUsername = cashierUsername;
-        System.out.println("DEBUG CashierView: Created with cashier username: " + cashierUsername);
+        LOG.debug(() -> "Created with cashier username: " + cashierUsername);
     }
 
     public void showCashierDashboard(Stage stage) {
@@ -40,7 +47,7 @@ public class CashierView {
         Button viewBillsButton = createStyledButton("View Bills in Date Range", "#B085FF");
         Button logoutButton = createStyledButton("Log out", "#8533D7");
 
-        ListView<String> billsListView = new ListView<>();
+        PagedBillListView billsListView = PagedBillListView.create(billManager);
         billsListView.setStyle("-fx-font-size: 14px; -fx-background-color: #f0f0f0;");
         billsListView.setPrefHeight(250);
 
@@ -66,9 +73,25 @@ public class CashierView {
         Label header = new Label("Add Items to Bill");
         header.setStyle("-fx-font-size: 20px; -fx-font-weight: bold;");
 
-        ComboBox<Item> itemComboBox = new ComboBox<>();
-        itemComboBox.getItems().addAll(inventory.getItems());
-        itemComboBox.setPromptText("Select Item");
+        // Narrows to the best matches as the cashier types instead of listing
+        // the whole catalog
+        TextField itemSearchField = new TextField();
+        itemSearchField.setPromptText("Search item by name or category");
+        ListView<Item> itemResultsView = new ListView<>();
+        itemResultsView.setPrefHeight(150);
+        itemResultsView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Item item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : String.format("%s (%s) - $%.2f, %d in stock",
+                        item.getName(), item.getCategory(), item.getSellingPrice(), item.getStockLevel()));
+            }
+        });
+        itemSearchField.textProperty().addListener((observable, oldText, newText) -> {
+            itemResultsView.getItems().setAll(inventory.searchItems(newText, PICKER_RESULTS));
+            itemResultsView.getSelectionModel().selectFirst();
+        });
+        itemResultsView.getItems().setAll(inventory.searchItems("", PICKER_RESULTS));
 
         TextField quantityField = new TextField();
         quantityField.setPromptText("Enter Quantity");
@@ -84,11 +107,14 @@ public class CashierView {
         // CashierView.
         // For now, let's use "General" or find a way to get it.
         // Create bill with actual cashier username
-        Bill bill = new Bill(billManager.getBills().size() + 1, cashierUsername);
-        System.out.println("DEBUG CashierView: Creating bill with cashier username: " + cashierUsername);
+        CheckoutService.Session session = checkoutService.openSession(cashierUsername);
+        Bill bill = session.getBill();
+        LOG.debug(() -> "Creating bill with cashier username: " + cashierUsername);
+        // Closing the window without finalizing puts the reserved stock back
+        billStage.setOnHidden(e -> session.rollback());
 
         addItemButton.setOnAction(e -> {
-            Item selectedItem = itemComboBox.getValue();
+            Item selectedItem = itemResultsView.getSelectionModel().getSelectedItem();
             String quantityText = quantityField.getText();
 
             if (selectedItem == null || quantityText.isEmpty()) {
@@ -98,24 +124,21 @@ public class CashierView {
 
             try {
                 int quantity = Integer.parseInt(quantityText);
-                if (quantity <= 0 || quantity > selectedItem.getStockLevel()) {
+                // Reserve the stock and add the line; fails if another till got there first
+                CheckoutService.LineStatus status = session.addLine(selectedItem, quantity);
+                if (status != CheckoutService.LineStatus.ADDED) {
                     showAlert(Alert.AlertType.ERROR, "Invalid Quantity",
                             "Quantity must be between 1 and " + selectedItem.getStockLevel() + ".");
                     return;
                 }
 
-                // Update inventory and bill
-                selectedItem.setStockLevel(selectedItem.getStockLevel() - quantity);
-                bill.addItem(selectedItem, quantity);
-                inventory.saveInventory();
-
                 // Update table and total
                 tableView.getItems().add(new Item(selectedItem.getName(), selectedItem.getCategory(),
                         selectedItem.getPurchasePrice(), selectedItem.getSellingPrice(), quantity));
                 totalLabel.setText(String.format("Total: $%.2f", bill.getTotalAmount()));
 
                 // Reset fields
-                itemComboBox.setValue(null);
+                itemSearchField.clear();
                 quantityField.clear();
             } catch (NumberFormatException ex) {
                 showAlert(Alert.AlertType.ERROR, "Invalid Input", "Quantity must be a valid number.");
@@ -127,19 +150,20 @@ public class CashierView {
 
         Button finalizeBillButton = createStyledButton("Finalize Bill", "#8533D7");
         finalizeBillButton.setOnAction(e -> {
-            if (bill.getBillItems().isEmpty()) {
-                showAlert(Alert.AlertType.ERROR, "Empty Bill", "Please add at least one item to the bill.");
+            String problem = session.validate();
+            if (problem != null) {
+                showAlert(Alert.AlertType.ERROR, "Invalid Bill", problem);
             } else {
-                saveBillToFile(bill); // Save the bill in the specified format
-                billManager.addBill(bill);
-                billManager.saveBillToFile(bill);
+                // Stores the bill (journal and stock log); the receipt is printed below
+                checkoutService.finalizeBill(session);
+                saveBillToFile(bill);
                 showAlert(Alert.AlertType.INFORMATION, "Bill Finalized",
                         "Bill created successfully!\nTotal: $" + bill.getTotalAmount());
                 billStage.close();
             }
         });
 
-        VBox layout = new VBox(15, header, itemComboBox, quantityField, addItemButton, tableView, totalLabel,
+        VBox layout = new VBox(15, header, itemSearchField, itemResultsView, quantityField, addItemButton, tableView, totalLabel,
                 previewBillButton, finalizeBillButton);
         layout.setPadding(new Insets(20));
         layout.setStyle("-fx-background-color: #F1ECFF;");
@@ -158,25 +182,7 @@ public class CashierView {
         previewArea.setEditable(false);
         previewArea.setStyle("-fx-font-family: 'Courier New'; -fx-font-size: 14px;");
 
-        StringBuilder previewContent = new StringBuilder();
-        previewContent.append("********** BILL **********\n");
-        previewContent.append("Bill Number: ").append(bill.getBillNumber()).append("\n");
-        previewContent.append("Date: ").append(LocalDate.now()).append("\n");
-        previewContent.append("--------------------------\n");
-
-        for (BillItem item : bill.getBillItems()) {
-            previewContent.append(String.format("%-20s %5d x $%.2f = $%.2f%n",
-                    item.getName(),
-                    item.getQuantity(),
-                    item.getSellingPrice(),
-                    item.getQuantity() * item.getSellingPrice()));
-        }
-
-        previewContent.append("--------------------------\n");
-        previewContent.append(String.format("Total Amount: $%.2f%n", bill.getTotalAmount()));
-        previewContent.append("**************************");
-
-        previewArea.setText(previewContent.toString());
+        previewArea.setText(CheckoutService.formatReceipt(bill));
 
         VBox layout = new VBox(10, previewArea);
         layout.setPadding(new Insets(20));
@@ -187,29 +193,9 @@ public class CashierView {
     }
 
     private void saveBillToFile(Bill bill) {
-        // Generate the filename in the format [BillNrDate].txt
-        String fileName = String.format("Bill%d_%s.txt", bill.getBillNumber(), LocalDate.now());
-        File billFile = new File(fileName);
-
-        try (PrintWriter writer = new PrintWriter(billFile)) {
-            writer.println("********** BILL **********");
-            writer.println("Bill Number: " + bill.getBillNumber());
-            writer.println("Date: " + LocalDate.now());
-            writer.println("--------------------------");
-
-            for (BillItem item : bill.getBillItems()) {
-                writer.printf("%-20s %5d x $%.2f = $%.2f%n",
-                        item.getName(),
-                        item.getQuantity(),
-                        item.getSellingPrice(),
-                        item.getQuantity() * item.getSellingPrice());
-            }
-
-            writer.println("--------------------------");
-            writer.printf("Total Amount: $%.2f%n", bill.getTotalAmount());
-            writer.println("**************************");
-
-            showAlert(Alert.AlertType.INFORMATION, "Bill Saved", "Bill saved as: " + fileName);
+        try {
+            Path file = CheckoutService.printReceipt(bill, CheckoutService.BILLS_DIRECTORY);
+            showAlert(Alert.AlertType.INFORMATION, "Bill Saved", "Bill saved as: " + file);
         } catch (IOException e) {
             showAlert(Alert.AlertType.ERROR, "Save Error", "Failed to save the bill: " + e.getMessage());
         }
@@ -233,7 +219,7 @@ public class CashierView {
         return tableView;
     }
 
-    private void viewBillsInDateRange(ListView<String> billsListView) {
+    private void viewBillsInDateRange(PagedBillListView billsListView) {
         DatePicker startDatePicker = new DatePicker();
         DatePicker endDatePicker = new DatePicker();
 
@@ -252,10 +238,7 @@ public class CashierView {
             LocalDate endDate = endDatePicker.getValue();
 
             if (startDate != null && endDate != null && !startDate.isAfter(endDate)) {
-                billsListView.getItems().clear();
-                for (Bill bill : billManager.getBillsWithinDateRange(startDate, endDate)) {
-                    billsListView.getItems().add(bill.toString());
-                }
+                billsListView.show(startDate, endDate, null);
             } else {
                 showAlert(Alert.AlertType.ERROR, "Invalid Date Range", "Please select a valid date range.");
             }
@@ -16,6 +16,8 @@ public class LoginView {
     private final PasswordField passwordField;
     private final Label errorLabel;
 
+    private static final String ERROR_STYLE = "-fx-text-fill: red; -fx-font-weight: bold; -fx-font-size: 14px;";
+
     public LoginView(Stage primaryStage, LoginController loginController) {
         // Create UI elements
         usernameField = new TextField();
@@ -28,7 +30,7 @@ public class LoginView {
         passwordField.setMaxWidth(400); // Increase width
         passwordField.setStyle("-fx-font-size: 16px;");// Larger text
         errorLabel = new Label();
-        errorLabel.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-font-size: 14px;");
+        errorLabel.setStyle(ERROR_STYLE);
 
         Button loginButton = new Button("Log in");
         loginButton.setStyle(
@@ -77,6 +79,7 @@ public class LoginView {
 
     // Display an error message
     public void showError(String message) {
+        errorLabel.setStyle(ERROR_STYLE);
         errorLabel.setText(message);
     }
 }
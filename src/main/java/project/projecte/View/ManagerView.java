@@ -11,14 +11,22 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import project.projecte.Controller.LoginController;
+import project.projecte.DAO.DataRepository;
 import project.projecte.Model.*;
+import project.projecte.Util.Log;
 
 public class ManagerView {
 
+    private static final Log LOG = Log.get(ManagerView.class);
+
     private final Manager manager;
 
     public ManagerView(Manager manager) {
@@ -83,13 +91,13 @@ public class ManagerView {
         itemsStage.setTitle("Items Management");
         
         // Debug: Check inventory
-        System.out.println("DEBUG showItemsView: Manager inventory is null? " + (manager.getInventory() == null));
-        if (manager.getInventory() != null) {
-            // Reload inventory to ensure fresh data
-            manager.getInventory().loadInventory();
-            System.out.println("DEBUG showItemsView: Items count: " + manager.getInventory().getItems().size());
-            if (manager.getInventory().getItems().size() > 0) {
-                System.out.println("DEBUG showItemsView: First item: " + manager.getInventory().getItems().get(0).getName());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("showItemsView: Manager inventory is null? " + (manager.getInventory() == null));
+            if (manager.getInventory() != null) {
+                LOG.debug("showItemsView: Items count: " + manager.getInventory().getItems().size());
+                if (manager.getInventory().getItems().size() > 0) {
+                    LOG.debug("showItemsView: First item: " + manager.getInventory().getItems().get(0).getName());
+                }
             }
         }
         
@@ -126,7 +134,7 @@ public class ManagerView {
         ObservableList<Item> items = FXCollections.observableArrayList(manager.getInventory().getItems());
         itemsTable.setItems(items);
         
-        System.out.println("DEBUG showItemsView: Table items count: " + items.size());
+        LOG.debug(() -> "showItemsView: Table items count: " + items.size());
         
         // Action buttons
         Button addButton = createStyledButton("Add Item", "#4CAF50");
@@ -161,7 +169,7 @@ public class ManagerView {
                 confirm.showAndWait().ifPresent(response -> {
                     if (response == ButtonType.OK) {
                         manager.getInventory().removeItem(selected.getName());
-                        manager.getInventory().saveInventory();
+                        manager.getInventory().saveInventoryAsync();
                         items.setAll(manager.getInventory().getItems());
                         showAlert(Alert.AlertType.INFORMATION, "Success", "Item deleted successfully.");
                     }
@@ -228,7 +236,7 @@ public class ManagerView {
                 
                 Item item = new Item(name, category, purchasePrice, sellingPrice, stock);
                 manager.getInventory().addItem(item);
-                manager.getInventory().saveInventory();
+                manager.getInventory().saveInventoryAsync();
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Item added successfully.");
                 dialog.close();
             } catch (NumberFormatException ex) {
@@ -265,7 +273,7 @@ public class ManagerView {
                 item.setStockLevel(Integer.parseInt(stockField.getText()));
                 item.setPurchasePrice(Double.parseDouble(purchasePriceField.getText()));
                 item.setSellingPrice(Double.parseDouble(sellingPriceField.getText()));
-                manager.getInventory().saveInventory();
+                manager.getInventory().saveInventoryAsync();
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Item updated successfully.");
                 dialog.close();
             } catch (NumberFormatException ex) {
@@ -293,7 +301,7 @@ public class ManagerView {
             try {
                 int quantity = Integer.parseInt(input);
                 item.setStockLevel(item.getStockLevel() + quantity);
-                manager.getInventory().saveInventory();
+                manager.getInventory().saveInventoryAsync();
                 showAlert(Alert.AlertType.INFORMATION, "Success", 
                          "Item restocked. New stock level: " + item.getStockLevel());
             } catch (NumberFormatException ex) {
@@ -387,15 +395,14 @@ public class ManagerView {
     }
 
     private void generateStatistics() {
-        // Debug: Print to verify method is called
-        System.out.println("Generate Statistics called");
-        
+        LOG.debug("generateStatistics: called");
+
         LocalDate startDate = LocalDate.now().minusMonths(1);
         LocalDate endDate = LocalDate.now();
-        
-        System.out.println("Date range: " + startDate + " to " + endDate);
-        System.out.println("Manager inventory items: " + manager.getInventory().getItems().size());
-        
+
+        LOG.debug(() -> "generateStatistics: Date range: " + startDate + " to " + endDate);
+        LOG.debug(() -> "generateStatistics: Manager inventory items: " + manager.getInventory().getItems().size());
+
         manager.generateStatistics(startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
     }
 
@@ -416,90 +423,73 @@ public class ManagerView {
             new javafx.beans.property.SimpleStringProperty(cellData.getValue().getSector()));
         sectorCol.setPrefWidth(120);
         
+        // Counts come from the sales rollup, so no bills are read for the table
+        BillManager billManager = DataRepository.getInstance().getBillManager();
+        Map<String, Integer> billCounts = new HashMap<>();
+        Map<String, Double> todaySales = new HashMap<>();
+        loadCashierTotals(billManager, billCounts, todaySales);
+        
         TableColumn<Cashier, Integer> billsCountCol = new TableColumn<>("Total Bills");
         billsCountCol.setCellValueFactory(cellData -> 
-            new javafx.beans.property.SimpleIntegerProperty(cellData.getValue().getBills().size()).asObject());
+            new javafx.beans.property.SimpleIntegerProperty(
+                billCounts.getOrDefault(cashierKey(cellData.getValue()), 0)).asObject());
         billsCountCol.setPrefWidth(100);
         
         TableColumn<Cashier, Double> todaySalesCol = new TableColumn<>("Today's Sales");
         todaySalesCol.setCellValueFactory(cellData -> 
-            new javafx.beans.property.SimpleDoubleProperty(cellData.getValue().getTotalSalesToday()).asObject());
+            new javafx.beans.property.SimpleDoubleProperty(
+                todaySales.getOrDefault(cashierKey(cellData.getValue()), 0.0)).asObject());
         todaySalesCol.setPrefWidth(120);
         
         cashiersTable.getColumns().addAll(usernameCol, sectorCol, billsCountCol, todaySalesCol);
         
-        // Load cashiers with their bills
-        UserManager userManager = new UserManager();
-        BillManager billManager = new BillManager();
+        // Load cashiers
+        UserManager userManager = DataRepository.getInstance().getUserManager();
         List<Cashier> cashiers = userManager.getUsers().stream()
                 .filter(u -> u instanceof Cashier)
                 .map(u -> (Cashier) u)
                 .toList();
         
-        System.out.println("DEBUG showCashiersView: Found " + cashiers.size() + " cashiers");
-        for (Cashier c : cashiers) {
-            System.out.println("DEBUG showCashiersView: - Cashier username: '" + c.getUsername() + "'");
-        }
-        
-        // Load bills for each cashier
-        List<Bill> allBills = billManager.getBills();
-        System.out.println("DEBUG showCashiersView: Loaded " + allBills.size() + " bills");
-        for (Bill b : allBills) {
-            System.out.println("DEBUG showCashiersView: - Bill #" + b.getBillNumber() + 
-                             " cashierUsername='" + b.getCashierUsername() + "'" +
-                             " amount=$" + b.getTotalAmount());
-        }
-        
-        for (Cashier cashier : cashiers) {
-            cashier.getBills().clear();
-            System.out.println("DEBUG showCashiersView: Matching bills for cashier '" + cashier.getUsername() + "'...");
-            
-            List<Bill> cashierBills = allBills.stream()
-                    .filter(b -> {
-                        boolean matches = b.getCashierUsername() != null
-                                && b.getCashierUsername().equalsIgnoreCase(cashier.getUsername());
-                        if (b.getCashierUsername() != null) {
-                            System.out.println("DEBUG showCashiersView:   Bill #" + b.getBillNumber() + 
-                                             " cashier='" + b.getCashierUsername() + "'" +
-                                             " matches=" + matches);
-                        }
-                        return matches;
-                    })
-                    .toList();
-            cashier.getBills().addAll(cashierBills);
-            System.out.println("DEBUG showCashiersView: Cashier " + cashier.getUsername() + " matched " + cashierBills.size() + " bills");
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("showCashiersView: Found " + cashiers.size() + " cashiers");
+            for (Cashier c : cashiers) {
+                LOG.debug("showCashiersView: - Cashier username: '" + c.getUsername() + "'");
+            }
         }
         
         ObservableList<Cashier> cashiersList = FXCollections.observableArrayList(cashiers);
         cashiersTable.setItems(cashiersList);
         
-        System.out.println("DEBUG showCashiersView: Table cashiers count: " + cashiersList.size());
+        LOG.debug(() -> "showCashiersView: Table cashiers count: " + cashiersList.size());
         
         // Action buttons
+        Button viewBillsButton = createStyledButton("View Bills", "#2196F3");
         Button refreshButton = createStyledButton("Refresh", "#9C27B0");
         Button backButton = createStyledButton("Back", "#757575");
         
+        viewBillsButton.setOnAction(e -> {
+            Cashier selected = cashiersTable.getSelectionModel().getSelectedItem();
+            if (selected == null) {
+                showAlert(Alert.AlertType.WARNING, "No Selection", "Please select a cashier to view bills.");
+                return;
+            }
+            showCashierBills(selected, billManager);
+        });
+        
         refreshButton.setOnAction(e -> {
-            // Reload cashiers
+            // Reload cashiers and their totals
             List<Cashier> updatedCashiers = userManager.getUsers().stream()
                     .filter(u -> u instanceof Cashier)
                     .map(u -> (Cashier) u)
                     .toList();
-            List<Bill> updatedBills = billManager.getBills();
-            for (Cashier cashier : updatedCashiers) {
-                cashier.getBills().clear();
-                List<Bill> cashierBills = updatedBills.stream()
-                        .filter(b -> b.getCashierUsername() != null
-                                && b.getCashierUsername().equalsIgnoreCase(cashier.getUsername()))
-                        .toList();
-                cashier.getBills().addAll(cashierBills);
-            }
+            loadCashierTotals(billManager, billCounts, todaySales);
             cashiersList.setAll(updatedCashiers);
+            cashiersTable.refresh();
         });
         
         backButton.setOnAction(e -> cashiersStage.close());
         
-        HBox buttonBox = new HBox(10, refreshButton, backButton);
+        HBox buttonBox = new HBox(10, viewBillsButton, refreshButton, backButton);
         buttonBox.setAlignment(Pos.CENTER);
         buttonBox.setPadding(new Insets(10));
         
@@ -512,6 +502,56 @@ public class ManagerView {
         cashiersStage.show();
     }
     
+    // Bill count over all time and today's revenue per cashier, keyed like
+    // the rollup (see SalesRollup.cashierKey)
+    private void loadCashierTotals(BillManager billManager, Map<String, Integer> billCounts,
+                                   Map<String, Double> todaySales) {
+        billCounts.clear();
+        todaySales.clear();
+        billManager.getSalesByCashier(LocalDateTime.MIN, LocalDateTime.MAX).forEach((cashier, totals) ->
+                billCounts.put(cashier, totals.getBills()));
+        LocalDate today = LocalDate.now();
+        billManager.getSalesByCashier(today.atStartOfDay(), today.atTime(LocalTime.MAX)).forEach((cashier, totals) ->
+                todaySales.put(cashier, totals.getRevenue()));
+    }
+    
+    private static String cashierKey(Cashier cashier) {
+        return SalesRollup.cashierKey(cashier.getUsername());
+    }
+    
+    // One cashier's bills for a chosen range, read a page at a time while scrolling
+    private void showCashierBills(Cashier cashier, BillManager billManager) {
+        Stage billsStage = new Stage();
+        billsStage.setTitle("Bills of " + cashier.getUsername());
+        
+        DatePicker startDatePicker = new DatePicker(LocalDate.now().minusDays(30));
+        DatePicker endDatePicker = new DatePicker(LocalDate.now());
+        PagedBillListView billsListView = PagedBillListView.create(billManager);
+        billsListView.setPrefHeight(300);
+        
+        Button showButton = createStyledButton("Show", "#B085FF");
+        showButton.setOnAction(e -> {
+            LocalDate startDate = startDatePicker.getValue();
+            LocalDate endDate = endDatePicker.getValue();
+            if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+                showAlert(Alert.AlertType.ERROR, "Invalid Date Range", "Please select a valid date range.");
+                return;
+            }
+            billsListView.show(startDate, endDate, cashier.getUsername());
+        });
+        billsListView.show(startDatePicker.getValue(), endDatePicker.getValue(), cashier.getUsername());
+        
+        HBox rangeBox = new HBox(10, new Label("From:"), startDatePicker, new Label("To:"), endDatePicker, showButton);
+        rangeBox.setAlignment(Pos.CENTER);
+        
+        VBox layout = new VBox(15, rangeBox, billsListView);
+        layout.setPadding(new Insets(20));
+        layout.setStyle("-fx-background-color: #F1ECFF;");
+        
+        billsStage.setScene(new Scene(layout, 700, 420));
+        billsStage.show();
+    }
+    
     // SUPPLIERS VIEW - Consolidated view for all supplier operations
     private void showSuppliersView(Stage parentStage) {
         Stage suppliersStage = new Stage();
@@ -572,7 +612,7 @@ public class ManagerView {
                 confirm.showAndWait().ifPresent(response -> {
                     if (response == ButtonType.OK) {
                         manager.getSuppliers().remove(selected);
-                        manager.saveSuppliers();
+                        manager.saveSuppliersAsync();
                         suppliers.setAll(manager.getSuppliers());
                         showAlert(Alert.AlertType.INFORMATION, "Success", "Supplier deleted successfully.");
                     }
@@ -674,7 +714,7 @@ public class ManagerView {
                 }
             }
             
-            manager.saveSuppliers();
+            manager.saveSuppliersAsync();
             showAlert(Alert.AlertType.INFORMATION, "Success", "Supplier updated successfully.");
             dialog.close();
         });
@@ -0,0 +1,96 @@
+package project.projecte.View;
+
+import javafx.application.Platform;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillManager;
+
+/**
+ * Bill list for a date range that fetches its bills a page at a time. The
+ * first page is read when a range is shown; the next one only once a row near
+ * the end of what is loaded gets rendered, so a long range costs no more than
+ * the part the user actually scrolls through. Rows show a one-line summary
+ * from the bill index, so line items are not read for listing.
+ */
+public class PagedBillListView extends ListView<Bill> {
+
+    // Bills fetched per page, and how close to the end a rendered row must be
+    // to fetch the next one
+    private static final int PAGE_SIZE = 100;
+    private static final int PREFETCH_ROWS = 20;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final BillManager billManager;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String cashierUsername;
+    private String nextToken;
+    private boolean fetchQueued;
+
+    private PagedBillListView(BillManager billManager) {
+        this.billManager = billManager;
+    }
+
+    // The cell factory refers back to this list, so it is installed once the
+    // list is fully constructed rather than from the constructor
+    public static PagedBillListView create(BillManager billManager) {
+        PagedBillListView view = new PagedBillListView(billManager);
+        view.installCellFactory();
+        return view;
+    }
+
+    private void installCellFactory() {
+        setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Bill bill, boolean empty) {
+                super.updateItem(bill, empty);
+                setText(empty || bill == null ? null : summary(bill));
+                if (!empty && getIndex() >= getItems().size() - PREFETCH_ROWS) {
+                    requestNextPage();
+                }
+            }
+        });
+    }
+
+    /** Lists the bills dated within the range, of one cashier or of all when null. */
+    public void show(LocalDate startDate, LocalDate endDate, String cashierUsername) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.cashierUsername = cashierUsername;
+        this.nextToken = null;
+        getItems().clear();
+        scrollTo(0);
+        fetchPage(null);
+    }
+
+    // Cells are updated during layout, so the fetch is deferred until after it
+    private void requestNextPage() {
+        if (nextToken == null || fetchQueued) {
+            return;
+        }
+        fetchQueued = true;
+        String token = nextToken;
+        Platform.runLater(() -> {
+            fetchQueued = false;
+            if (token.equals(nextToken)) {  // not reset by show() meanwhile
+                fetchPage(token);
+            }
+        });
+    }
+
+    private void fetchPage(String token) {
+        BillManager.BillPage page = billManager.getBillPage(startDate, endDate, cashierUsername, PAGE_SIZE, token);
+        nextToken = page.nextToken();
+        getItems().addAll(page.bills());
+    }
+
+    private static String summary(Bill bill) {
+        return String.format("#%d  %s  %s  $%.2f", bill.getBillNumber(), bill.getBillDate().format(DATE_FORMAT),
+                bill.getCashierUsername(), bill.getTotalAmount());
+    }
+}
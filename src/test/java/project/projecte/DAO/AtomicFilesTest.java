@@ -0,0 +1,133 @@
+package project.projecte.DAO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AtomicFiles class
+ *
+ * Testing Coverage:
+ * - write/read round trip (checksum footer stripped, large content)
+ * - Fallback to the backup copy on a corrupt or missing file
+ * - Files written before checksums existed are read as-is
+ * - Concurrent writes and reads of one file; stale temp files removed on read
+ */
+@DisplayName("AtomicFiles Class Tests")
+class AtomicFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Written content should read back without the footer")
+    void testWrite_ThenRead_ShouldReturnContent() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("inventory.txt");
+        byte[] content = "Apple,Fruits,0.50,1.00,100\n".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        AtomicFiles.write(file, out -> out.write(content));
+
+        // Assert
+        assertArrayEquals(content, AtomicFiles.read(file), "Content should round trip");
+        assertTrue(Files.size(file) > content.length, "File should carry a checksum footer");
+        assertFalse(Files.exists(tempDir.resolve("inventory.txt.tmp")), "Temp file should be moved into place");
+    }
+
+    @Test
+    @DisplayName("Corrupt or missing file should fall back to the previous copy")
+    void testRead_CorruptFile_ShouldUseBackup() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("users.txt");
+        AtomicFiles.write(file, out -> out.write("old\n".getBytes(StandardCharsets.UTF_8)));
+        AtomicFiles.write(file, out -> out.write("new\n".getBytes(StandardCharsets.UTF_8)));
+        byte[] damaged = Files.readAllBytes(file);
+        damaged[0] = 'N';
+        Files.write(file, damaged);
+
+        // Act
+        byte[] recovered = AtomicFiles.read(file);
+        Files.delete(file);
+        byte[] recoveredMissing = AtomicFiles.read(file);
+
+        // Assert
+        assertEquals("old\n", new String(recovered, StandardCharsets.UTF_8), "Backup should be used");
+        assertEquals("old\n", new String(recoveredMissing, StandardCharsets.UTF_8), "Backup should be used");
+    }
+
+    @Test
+    @DisplayName("Legacy file without footer should be read unchanged")
+    void testRead_LegacyFile_ShouldReturnAsIs() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("legacy.txt");
+        Files.writeString(file, "admin,admin,Administrator\n");
+
+        // Act & Assert
+        assertEquals("admin,admin,Administrator\n", new String(AtomicFiles.read(file), StandardCharsets.UTF_8));
+        assertNull(AtomicFiles.read(tempDir.resolve("missing.txt")), "Missing file should read as null");
+    }
+
+    @Test
+    @DisplayName("Concurrent writes and reads of one file should always see a complete copy")
+    void testWrite_Concurrent_ShouldNotInterfere() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("bills.bin");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> tasks = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            byte[] content = ("writer" + i + "\n").repeat(5_000).getBytes(StandardCharsets.UTF_8);
+            tasks.add(pool.submit(() -> {
+                for (int round = 0; round < 20; round++) {
+                    AtomicFiles.write(file, out -> out.write(content));
+                    byte[] read = AtomicFiles.read(file);
+                    assertNotNull(read);
+                    assertEquals(content.length, read.length, "A read should see one whole write");
+                }
+                return null;
+            }));
+        }
+        pool.shutdown();
+
+        // Assert
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertFalse(Files.exists(tempDir.resolve("bills.bin.tmp")), "No temp file should be left behind");
+        assertFalse(Files.exists(tempDir.resolve("bills.bin.bak.new")), "No staged backup should be left behind");
+        assertNotNull(AtomicFiles.read(AtomicFiles.backupPath(file)), "Backup should hold an earlier write");
+    }
+
+    @Test
+    @DisplayName("A temp file left by a crash should be removed on first read")
+    void testRead_StaleTemp_ShouldBeRemoved() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("suppliers.txt");
+        Files.writeString(file, "ACME\n");
+        Path temp = tempDir.resolve("suppliers.txt.tmp");
+        Files.writeString(temp, "half writ");
+
+        // Act
+        byte[] content = AtomicFiles.read(file);
+
+        // Assert
+        assertEquals("ACME\n", new String(content, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(temp), "Stale temp file should be deleted");
+    }
+}
@@ -0,0 +1,145 @@
+package project.projecte.DAO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillItem;
+import project.projecte.Model.Item;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BillCodec class
+ *
+ * Testing Coverage:
+ * - encode/decode round trip (numbers, dates, null cashier, cents)
+ * - Conversion from the Java-serialized bills_data.ser format
+ * - Rejection of truncated data
+ * - Index checksum on indexed reads; lazy items after the file is replaced
+ */
+@DisplayName("BillCodec Class Tests")
+class BillCodecTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Decoded bills should match the encoded ones")
+    void testEncodeDecode_RoundTrip_ShouldPreserveFields() throws IOException {
+        // Arrange
+        LocalDateTime date = LocalDateTime.of(2025, 1, 22, 14, 30, 5, 123_000_000);
+        Bill bill = new Bill(300, "cashier1", date);
+        bill.addItem(new Item("Laptop", "Electronics", 500.0, 899.99, 5), 2);
+        bill.addItem(new Item("Mouse", "Electronics", 5.0, 19.90, 50), 3);
+        Bill anonymous = new Bill(-1, null, date.minusYears(60));
+
+        // Act
+        List<Bill> decoded = BillCodec.decode(BillCodec.encode(List.of(bill, anonymous)));
+
+        // Assert
+        assertEquals(2, decoded.size());
+        Bill first = decoded.get(0);
+        assertEquals(300, first.getBillNumber());
+        assertEquals("cashier1", first.getCashierUsername());
+        assertEquals(date, first.getBillDate());
+        assertEquals(2, first.getBillItems().size());
+        BillItem mouse = first.getBillItems().get(1);
+        assertEquals("Mouse", mouse.getName());
+        assertEquals(19.90, mouse.getSellingPrice(), 0.0001);
+        assertEquals(3, mouse.getQuantity());
+        assertEquals(bill.getTotalAmount(), first.getTotalAmount(), 0.001);
+        assertNull(decoded.get(1).getCashierUsername(), "Null cashier should survive");
+        assertEquals(-1, decoded.get(1).getBillNumber());
+        assertEquals(date.minusYears(60), decoded.get(1).getBillDate(), "Dates before 1970 should survive");
+    }
+
+    @Test
+    @DisplayName("Legacy serialized bill file should be converted and be smaller")
+    void testReadLegacyFile_ShouldReadSerializedBills() throws IOException {
+        // Arrange
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            Bill bill = new Bill(i, "cashier" + (i % 3));
+            bill.addItem(new Item("Keyboard", "Electronics", 10.0, 25.0, 100), i % 4 + 1);
+            bills.add(bill);
+        }
+        Path legacy = tempDir.resolve("bills_data.ser");
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(legacy.toFile()))) {
+            oos.writeObject(bills);
+        }
+        Path converted = tempDir.resolve("bills_data.bin");
+
+        // Act
+        List<Bill> result = BillCodec.readLegacyFile(legacy);
+        BillCodec.write(converted, result);
+
+        // Assert
+        assertEquals(50, result.size());
+        assertEquals(50, BillCodec.read(converted).size(), "Converted file should be readable");
+        assertTrue(Files.size(converted) * 4 < Files.size(legacy), "Binary file should be much smaller");
+    }
+
+    @Test
+    @DisplayName("Truncated data should be rejected with IOException")
+    void testDecode_TruncatedData_ShouldThrow() {
+        // Arrange
+        Bill bill = new Bill(1, "cashier1");
+        bill.addItem(new Item("Apple", "Fruits", 0.5, 1.0, 10), 1);
+        byte[] data = BillCodec.encode(List.of(bill));
+        byte[] truncated = java.util.Arrays.copyOf(data, data.length - 3);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> BillCodec.decode(truncated));
+    }
+
+    @Test
+    @DisplayName("An indexed read should reject a damaged index")
+    void testReadIndexed_DamagedIndex_ShouldThrow() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("day.bin");
+        AtomicFiles.write(file, out -> out.write(BillCodec.encode(List.of(billWithItems(1, "Apple", 2)))));
+        byte[] data = Files.readAllBytes(file);
+        data[20] ^= 0x01;  // inside the dictionary
+        Files.write(file, data);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> BillCodec.readIndexed(file, null));
+    }
+
+    @Test
+    @DisplayName("Lazy items should come from the copy the index was read from, or fail loudly")
+    void testReadIndexed_FileReplaced_ShouldNotDecodeOtherCopy() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("day.bin");
+        AtomicFiles.write(file, out -> out.write(BillCodec.encode(List.of(billWithItems(1, "Apple", 2)))));
+        Bill first = BillCodec.readIndexed(file, null).get(0);
+        Bill second = BillCodec.readIndexed(file, null).get(0);
+
+        // Act: the old copy becomes the backup, then is replaced as well
+        AtomicFiles.write(file, out -> out.write(BillCodec.encode(
+                List.of(billWithItems(9, "Pear", 5), billWithItems(1, "Apple", 2)))));
+        List<BillItem> fromBackup = first.getBillItems();
+        AtomicFiles.write(file, out -> out.write(BillCodec.encode(List.of(billWithItems(7, "Plum", 1)))));
+
+        // Assert
+        assertEquals("Apple", fromBackup.get(0).getName(), "Items should come from the backup copy");
+        assertThrows(UncheckedIOException.class, second::getBillItems, "No copy matches any more");
+    }
+
+    private static Bill billWithItems(int number, String name, int quantity) {
+        Bill bill = new Bill(number, "cashier1", LocalDateTime.of(2025, 5, 1, 12, 0));
+        bill.addItem(new Item(name, "Fruits", 0.5, 1.0, 10), quantity);
+        return bill;
+    }
+}
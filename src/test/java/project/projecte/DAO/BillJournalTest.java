@@ -0,0 +1,126 @@
+package project.projecte.DAO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillManager;
+import project.projecte.Model.Item;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BillJournal class
+ *
+ * Testing Coverage:
+ * - append/replay round trip
+ * - Recovery from a torn record at the end of the journal
+ * - rewrite replaces the journal with the kept records, then accepts appends
+ * - BillManager reload from snapshot + journal
+ */
+@DisplayName("BillJournal Class Tests")
+class BillJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Appended bills should be replayed in order")
+    void testAppend_ThenReplay_ShouldReturnBills() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("journal.dat");
+        try (BillJournal journal = new BillJournal(file)) {
+            journal.replay(0);
+            journal.append(billWithItem(1, "cashier1"));
+            journal.append(billWithItem(2, "cashier2"));
+        }
+
+        // Act
+        List<Bill> replayed = new BillJournal(file).replay(0);
+
+        // Assert
+        assertEquals(2, replayed.size(), "Both bills should be replayed");
+        assertEquals(1, replayed.get(0).getBillNumber());
+        assertEquals("cashier2", replayed.get(1).getCashierUsername());
+        assertEquals(2.0, replayed.get(1).getTotalAmount(), 0.001);
+    }
+
+    @Test
+    @DisplayName("A torn record at the tail should be dropped and truncated")
+    void testReplay_TornTail_ShouldKeepIntactRecords() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("journal.dat");
+        try (BillJournal journal = new BillJournal(file)) {
+            journal.replay(0);
+            journal.append(billWithItem(1, "cashier1"));
+            journal.append(billWithItem(2, "cashier1"));
+        }
+        long fullSize = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(fullSize - 5);
+        }
+
+        // Act
+        BillJournal journal = new BillJournal(file);
+        List<Bill> replayed = journal.replay(0);
+
+        // Assert
+        assertEquals(1, replayed.size(), "Only the intact record should survive");
+        assertTrue(Files.size(file) < fullSize - 5, "Torn bytes should be truncated");
+        journal.append(billWithItem(3, "cashier1"));
+        journal.close();
+        assertEquals(2, new BillJournal(file).replay(0).size(), "Appends after recovery should be readable");
+    }
+
+    @Test
+    @DisplayName("Rewrite should keep exactly the given bills and leave no temp file")
+    void testRewrite_ShouldReplaceRecords() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("journal.dat");
+        BillJournal journal = new BillJournal(file);
+        journal.replay(0);
+        journal.append(billWithItem(1, "cashier1"));
+        journal.append(billWithItem(2, "cashier1"));
+
+        // Act
+        journal.rewrite(5, List.of(billWithItem(2, "cashier1")));
+        journal.append(billWithItem(3, "cashier1"));
+        journal.close();
+
+        // Assert
+        BillJournal reopened = new BillJournal(file);
+        assertEquals(List.of(2, 3), reopened.replay(0).stream().map(Bill::getBillNumber).toList());
+        assertEquals(5, reopened.getBaseCount());
+        assertFalse(Files.exists(tempDir.resolve("journal.dat.tmp")), "Temp journal should be renamed into place");
+    }
+
+    @Test
+    @DisplayName("BillManager should reload bills from snapshot and journal")
+    void testBillManager_Reload_ShouldSeeAllBills() {
+        // Arrange
+        BillManager manager = new BillManager(tempDir.toString());
+        manager.addBill(billWithItem(1, "cashier1"));
+        manager.compact();
+        manager.addBill(billWithItem(2, "cashier1"));
+
+        // Act
+        BillManager reloaded = new BillManager(tempDir.toString());
+
+        // Assert
+        assertEquals(2, reloaded.getBills().size(), "Snapshot and journal bills should both load");
+        assertEquals(2, reloaded.getBills().get(1).getBillNumber());
+    }
+
+    private static Bill billWithItem(int number, String cashier) {
+        Bill bill = new Bill(number, cashier);
+        bill.addItem(new Item("Apple", "Fruits", 0.5, 1.0, 10), number);
+        return bill;
+    }
+}
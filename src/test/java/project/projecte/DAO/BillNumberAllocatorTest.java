@@ -0,0 +1,130 @@
+package project.projecte.DAO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BillNumberAllocator class
+ *
+ * Testing Coverage:
+ * - Numbering starts from the seed when no counter file exists
+ * - Uniqueness across concurrent tills and across allocators sharing a file
+ * - Numbers keep increasing after a restart
+ * - A damaged counter never falls back to numbers already leased
+ */
+@DisplayName("BillNumberAllocator Class Tests")
+class BillNumberAllocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("First number should come from the seed, then increase")
+    void testNext_NoCounterFile_ShouldStartAtSeed() {
+        // Arrange
+        BillNumberAllocator allocator = new BillNumberAllocator(tempDir.resolve("counter.txt"), 10, () -> 42);
+
+        // Act & Assert
+        assertEquals(42, allocator.next());
+        assertEquals(43, allocator.next());
+    }
+
+    @Test
+    @DisplayName("Concurrent tills on two allocators should never share a number")
+    void testNext_Concurrent_ShouldBeUnique() throws Exception {
+        // Arrange
+        Path counter = tempDir.resolve("counter.txt");
+        BillNumberAllocator first = new BillNumberAllocator(counter, 16, () -> 1);
+        BillNumberAllocator second = new BillNumberAllocator(counter, 16, () -> 1);
+        Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+        int tills = 32;
+        int billsPerTill = 200;
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < tills; t++) {
+                BillNumberAllocator allocator = t % 2 == 0 ? first : second;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < billsPerTill; i++) {
+                        assertTrue(numbers.add(allocator.next()), "Number handed out twice");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Assert
+        assertEquals(tills * billsPerTill, numbers.size(), "Every bill should get its own number");
+    }
+
+    @Test
+    @DisplayName("Numbers after a restart should be above every earlier number")
+    void testNext_AfterRestart_ShouldContinueAbove() {
+        // Arrange
+        Path counter = tempDir.resolve("counter.txt");
+        BillNumberAllocator beforeRestart = new BillNumberAllocator(counter, 10, () -> 1);
+        int last = 0;
+        for (int i = 0; i < 15; i++) {
+            last = beforeRestart.next();
+        }
+
+        // Act
+        int afterRestart = new BillNumberAllocator(counter, 10, () -> 1).next();
+
+        // Assert
+        assertTrue(afterRestart > last, "Restarted allocator must not reuse numbers");
+    }
+
+    @Test
+    @DisplayName("A damaged counter should restart above the last leased block, not at its backup")
+    void testNext_DamagedCounter_ShouldNotReuseLeasedNumbers() throws Exception {
+        // Arrange
+        Path counter = tempDir.resolve("counter.txt");
+        BillNumberAllocator beforeCrash = new BillNumberAllocator(counter, 10, () -> 1);
+        int last = 0;
+        for (int i = 0; i < 15; i++) {
+            last = beforeCrash.next();
+        }
+        Files.write(counter, "garbage".getBytes(StandardCharsets.US_ASCII));
+
+        // Act
+        int afterCrash = new BillNumberAllocator(counter, 10, () -> 1).next();
+
+        // Assert
+        assertTrue(afterCrash > last, "Recovered allocator must not reuse leased numbers");
+    }
+
+    @Test
+    @DisplayName("A damaged counter with no backup and no stored bills should fail")
+    void testNext_NothingUsable_ShouldThrow() throws Exception {
+        // Arrange
+        Path counter = tempDir.resolve("counter.txt");
+        new BillNumberAllocator(counter, 10, () -> 1).next();
+        Files.write(counter, "garbage".getBytes(StandardCharsets.US_ASCII));
+        BillNumberAllocator allocator = new BillNumberAllocator(counter, 10, () -> {
+            throw new UncheckedIOException(new IOException("bills unreadable"));
+        });
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, allocator::next);
+    }
+}
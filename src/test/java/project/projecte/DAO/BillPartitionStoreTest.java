@@ -0,0 +1,290 @@
+package project.projecte.DAO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillManager;
+import project.projecte.Model.Item;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BillPartitionStore class
+ *
+ * Testing Coverage:
+ * - Partition write/read and manifest reload
+ * - Checksum-verified partition reads falling back to the backup
+ * - Migration of a single-file snapshot into day partitions
+ * - Range queries through BillManager only returning bills of those days
+ * - Lazy item paging and the item memory budget
+ * - The partition cache staying within its bill budget
+ * - Compaction leaving an unreadable partition untouched
+ * - Journal replay after a compaction interrupted before the manifest
+ * - Per-cashier lookup from stored partitions
+ * - Parallel partition reads: bill-number order and progress reporting
+ */
+@DisplayName("BillPartitionStore Class Tests")
+class BillPartitionStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Written partitions should be listed in a reloaded manifest")
+    void testWritePartitions_ThenReload_ShouldKeepManifest() throws IOException {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 1, 22);
+        TreeMap<LocalDate, List<Bill>> partitions = new TreeMap<>();
+        partitions.put(day, List.of(billOn(1, day), billOn(2, day)));
+        new BillPartitionStore(tempDir).writePartitions(partitions);
+
+        // Act
+        BillPartitionStore reloaded = new BillPartitionStore(tempDir);
+
+        // Assert
+        assertTrue(reloaded.exists());
+        assertEquals(2, reloaded.getManifest().get(day));
+        assertEquals(2, reloaded.totalBills());
+        assertEquals(2, reloaded.readPartition(day, null).size());
+        assertTrue(reloaded.readPartition(day.plusDays(1), null).isEmpty(), "Unknown day should be empty");
+    }
+
+    @Test
+    @DisplayName("A partition failing its checksum should be read from the backup")
+    void testReadPartition_Corrupt_ShouldFallBackToBackup() throws IOException {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 1, 23);
+        BillPartitionStore store = new BillPartitionStore(tempDir);
+        store.writePartitions(new TreeMap<>(Map.of(day, List.of(billOn(1, day)))));
+        store.writePartitions(new TreeMap<>(Map.of(day, List.of(billOn(1, day), billOn(2, day)))));
+        Path partition = tempDir.resolve(day + ".bin");
+        byte[] content = Files.readAllBytes(partition);
+        content[content.length / 2] ^= 0x55;
+        Files.write(partition, content);
+
+        // Act
+        List<Bill> bills = new BillPartitionStore(tempDir).readPartition(day, null);
+
+        // Assert
+        assertEquals(List.of(1), bills.stream().map(Bill::getBillNumber).toList(), "The backup holds the previous copy");
+    }
+
+    @Test
+    @DisplayName("BillManager should split an old snapshot into day partitions")
+    void testBillManager_OldSnapshot_ShouldMigrateToPartitions() throws IOException {
+        // Arrange
+        LocalDate day1 = LocalDate.of(2025, 1, 20);
+        LocalDate day2 = LocalDate.of(2025, 1, 22);
+        BillCodec.write(tempDir.resolve("bills_data.bin"),
+                List.of(billOn(1, day1), billOn(2, day2), billOn(3, day2)));
+
+        // Act
+        BillManager manager = new BillManager(tempDir.toString());
+
+        // Assert
+        assertTrue(Files.exists(tempDir.resolve("bills").resolve("2025-01-22.bin")));
+        assertEquals(3, manager.getBills().size());
+        List<Bill> range = manager.getBillsWithinDateRange(day2, day2);
+        assertEquals(2, range.size(), "Only bills of the requested day should be returned");
+        assertTrue(manager.getBillsWithinDateRange(day1.minusDays(5), day1.minusDays(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Compacted bills should be readable after restart")
+    void testBillManager_Compact_ShouldPersistPartitions() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 2, 1);
+        BillManager manager = new BillManager(tempDir.toString());
+        manager.addBill(billOn(1, day));
+        manager.addBill(billOn(2, day.plusDays(1)));
+        manager.compact();
+        manager.addBill(billOn(3, day));
+
+        // Act
+        BillManager reloaded = new BillManager(tempDir.toString());
+
+        // Assert
+        assertEquals(2, reloaded.getBillsWithinDateRange(day, day).size(), "Partition and journal bills should merge");
+        assertEquals(3, reloaded.getBills().size());
+    }
+
+    @Test
+    @DisplayName("Compaction should not overwrite a partition it cannot read")
+    void testBillManager_UnreadablePartition_ShouldNotBeRewritten() throws IOException {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 2, 3);
+        BillManager manager = new BillManager(tempDir.toString());
+        manager.addBill(billOn(1, day));
+        manager.compact();
+        Path partition = tempDir.resolve("bills").resolve(day + ".bin");
+        byte[] damaged = "not a bill file".getBytes();
+        Files.write(partition, damaged);
+
+        // Act
+        BillManager reopened = new BillManager(tempDir.toString());
+        reopened.addBill(billOn(2, day));
+        reopened.compact();
+
+        // Assert
+        assertArrayEquals(damaged, Files.readAllBytes(partition), "Stored bills must not be replaced");
+        List<Bill> journaled = new BillManager(tempDir.toString()).getBillsWithinDateRange(day, day);
+        assertEquals(List.of(2), journaled.stream().map(Bill::getBillNumber).toList(),
+                "The new bill should stay in the journal");
+    }
+
+    @Test
+    @DisplayName("Replay should skip journaled bills a crashed compaction already stored")
+    void testBillManager_StaleManifest_ShouldNotDuplicateBills() throws IOException {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 2, 5);
+        BillManager manager = new BillManager(tempDir.toString());
+        manager.addBill(billOn(1, day));
+        manager.compact();
+        manager.addBill(billOn(2, day));
+        Path manifest = tempDir.resolve("bills").resolve("manifest.txt");
+        Path journal = tempDir.resolve("bills_journal.dat");
+        byte[] oldManifest = Files.readAllBytes(manifest);
+        byte[] oldJournal = Files.readAllBytes(journal);
+        manager.compact();
+        // As if the process died after the partition was rewritten
+        Files.write(manifest, oldManifest);
+        Files.write(journal, oldJournal);
+
+        // Act
+        BillManager reopened = new BillManager(tempDir.toString());
+
+        // Assert
+        assertEquals(List.of(1, 2), reopened.getBillsWithinDateRange(day, day).stream()
+                .map(Bill::getBillNumber).toList(), "Bill 2 should not be listed twice");
+        assertEquals(2, reopened.getSalesRollup().getBillCount(day));
+        assertEquals(2, new BillPartitionStore(tempDir.resolve("bills")).getManifest().get(day),
+                "The manifest should be corrected");
+        assertTrue(new BillJournal(journal).replay(0).isEmpty(), "Stored bills should leave the journal");
+    }
+
+    @Test
+    @DisplayName("A cashier's bills should be found after restart from the days they sold on")
+    void testBillManager_BillsByCashier_AfterRestart() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 2, 10);
+        BillManager manager = new BillManager(tempDir.toString());
+        manager.addBill(billOn(1, day));
+        manager.addBill(new Bill(2, "cashier2", LocalDateTime.of(day.plusDays(1), java.time.LocalTime.NOON)));
+        manager.addBill(billOn(3, day.plusDays(2)));
+        manager.compact();
+
+        // Act
+        List<Bill> bills = new BillManager(tempDir.toString()).getBillsByCashier("CASHIER1");
+
+        // Assert
+        assertEquals(List.of(1, 3), bills.stream().map(Bill::getBillNumber).toList());
+    }
+
+    @Test
+    @DisplayName("Stored bills should page items in on demand and respect the budget")
+    void testBillManager_LazyItems_ShouldStayWithinBudget() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        BillManager writer = new BillManager(tempDir.toString());
+        for (int i = 1; i <= 5; i++) {
+            Bill bill = billOn(i, day);
+            bill.addItem(new Item("Mouse", "Electronics", 5.0, 12.0, 100), i);
+            bill.addItem(new Item("Keyboard", "Electronics", 10.0, 18.0, 100), 1);
+            writer.addBill(bill);
+        }
+        writer.compact();
+
+        // Act
+        BillManager reader = new BillManager(tempDir.toString());
+        reader.setItemMemoryBudget(4);
+        List<Bill> bills = reader.getBillsWithinDateRange(day, day);
+
+        // Assert
+        assertEquals(0, reader.getResidentItemCount(), "Only the index should be loaded");
+        assertEquals(12.0 * 3 + 18.0, bills.get(2).getTotalAmount(), 0.001, "Total should come from the index");
+        for (Bill bill : bills) {
+            assertEquals(2, bill.getBillItems().size());
+        }
+        assertTrue(reader.getResidentItemCount() <= 4, "Older bills should have been evicted");
+        assertEquals("Mouse", bills.get(0).getBillItems().get(0).getName(), "Evicted items should reload");
+    }
+
+    @Test
+    @DisplayName("Cached partitions should stay within the bill budget, oldest use dropped first")
+    void testBillManager_PartitionCache_ShouldStayWithinBudget() {
+        // Arrange
+        LocalDate first = LocalDate.of(2025, 4, 1);
+        BillManager writer = new BillManager(tempDir.toString());
+        for (int i = 0; i < 10; i++) {
+            writer.addBill(billOn(2 * i + 1, first.plusDays(i)));
+            writer.addBill(billOn(2 * i + 2, first.plusDays(i)));
+        }
+        writer.compact();
+
+        // Act
+        BillManager reader = new BillManager(tempDir.toString());
+        reader.setPartitionCacheBills(6);
+        List<Bill> all = reader.getBills();
+        List<Bill> lastDay = reader.getBillsWithinDateRange(first.plusDays(9), first.plusDays(9));
+
+        // Assert
+        assertEquals(20, all.size(), "Every bill should be listed even if not all stay cached");
+        assertTrue(reader.getCachedBillCount() <= 6, "Cache should stay within budget");
+        assertSame(all.get(18), lastDay.get(0), "A recently used day should still be cached");
+        assertEquals(2, reader.getBillsWithinDateRange(first, first).size(), "A dropped day should be re-read");
+    }
+
+    @Test
+    @DisplayName("Parallel read should return every partition in bill-number order")
+    void testReadPartitions_ManyDays_ShouldKeepOrderAndReportProgress() throws IOException {
+        // Arrange
+        LocalDate first = LocalDate.of(2025, 4, 1);
+        TreeMap<LocalDate, List<Bill>> partitions = new TreeMap<>();
+        int number = 1;
+        for (int d = 0; d < 30; d++) {
+            LocalDate day = first.plusDays(d);
+            partitions.put(day, List.of(billOn(number++, day), billOn(number++, day), billOn(number++, day)));
+        }
+        BillPartitionStore store = new BillPartitionStore(tempDir);
+        store.writePartitions(partitions);
+        // Requested newest first, plus a day without a partition
+        List<LocalDate> days = new ArrayList<>(partitions.descendingKeySet());
+        days.add(first.minusDays(1));
+        AtomicLong lastRead = new AtomicLong();
+        AtomicLong reportedTotal = new AtomicLong();
+
+        // Act
+        NavigableMap<LocalDate, List<Bill>> read = store.readPartitions(days, null, (done, total) -> {
+            lastRead.accumulateAndGet(done, Math::max);
+            reportedTotal.set(total);
+        });
+
+        // Assert
+        assertEquals(30, read.size());
+        int expected = 1;
+        for (List<Bill> bills : read.values()) {
+            for (Bill bill : bills) {
+                assertEquals(expected++, bill.getBillNumber(), "Bills should come back in number order");
+            }
+        }
+        assertEquals(90, reportedTotal.get());
+        assertEquals(90, lastRead.get(), "Progress should reach the total");
+    }
+
+    private static Bill billOn(int number, LocalDate day) {
+        return new Bill(number, "cashier1", LocalDateTime.of(day, java.time.LocalTime.NOON));
+    }
+}
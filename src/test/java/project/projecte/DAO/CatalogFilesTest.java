@@ -0,0 +1,120 @@
+package project.projecte.DAO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import project.projecte.Model.Item;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CatalogFiles class
+ *
+ * Testing Coverage:
+ * - Byte-level CSV parsing gives the same values as Double.parseDouble / Integer.parseInt
+ * - Invalid lines and bad numbers are skipped, CRLF and blank lines are handled
+ * - Large files are memory-mapped and checksum-verified
+ * - Sidecar round trip, and a stale sidecar is ignored after the CSV changes
+ */
+@DisplayName("CatalogFiles Class Tests")
+class CatalogFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Parsed rows should match the values of the plain parsers")
+    void testReadCsv_ShouldMatchPlainParsers() throws IOException {
+        // Arrange
+        Path csv = tempDir.resolve("inventory.txt");
+        String[] prices = {"0.10", "1.25", "-3.5", "7", "1e2", "0.1234567890123456789", ".5"};
+        StringBuilder content = new StringBuilder();
+        for (String price : prices) {
+            content.append("Item ").append(price).append(",Cat,").append(price).append(',').append(price).append(",-12\r\n");
+        }
+        content.append("\nbroken,line\n");
+        content.append("Käse,Dairy,2.00,3.99,2147483647");
+        AtomicFiles.write(csv, out -> out.write(content.toString().getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        List<Item> items = CatalogFiles.readCsv(csv);
+
+        // Assert
+        assertEquals(prices.length + 1, items.size(), "Invalid and blank lines should be skipped");
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(Double.parseDouble(prices[i]), items.get(i).getSellingPrice(), 0.0, prices[i]);
+            assertEquals(-12, items.get(i).getStockLevel());
+        }
+        Item cheese = items.get(prices.length);
+        assertEquals("Käse", cheese.getName());
+        assertEquals(Integer.MAX_VALUE, cheese.getStockLevel());
+    }
+
+    @Test
+    @DisplayName("Large catalogs should be read through a verified memory mapping")
+    void testReadCsv_LargeFile_ShouldMapAndVerify() throws IOException {
+        // Arrange
+        Path csv = tempDir.resolve("inventory.txt");
+        int rows = 60_000;
+        AtomicFiles.write(csv, out -> {
+            for (int i = 0; i < rows; i++) {
+                out.write(("Item" + i + ",Category" + (i % 7) + ",1.00," + i + ".99," + i + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        assertTrue(Files.size(csv) >= AtomicFiles.MAP_THRESHOLD, "File should be large enough to be mapped");
+
+        // Act
+        List<Item> items = CatalogFiles.readCsv(csv);
+
+        // Assert
+        assertEquals(rows, items.size());
+        assertEquals("Item59999", items.get(rows - 1).getName());
+        assertEquals(59999.99, items.get(rows - 1).getSellingPrice(), 0.0);
+        assertTrue(AtomicFiles.storedChecksum(csv) >= 0, "Written file should carry a checksum");
+    }
+
+    @Test
+    @DisplayName("A row with a bad number should be skipped, keeping the others")
+    void testReadCsv_BadNumber_ShouldSkipRow() throws IOException {
+        // Arrange
+        Path csv = tempDir.resolve("inventory.txt");
+        Files.writeString(csv, "Apple,Fruits,abc,1.00,5\nPear,Fruits,0.40,0.90,7\nPlum,Fruits,0.30,0.70,x\n");
+
+        // Act
+        List<Item> items = CatalogFiles.readCsv(csv);
+
+        // Assert
+        assertEquals(1, items.size());
+        assertEquals("Pear", items.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Sidecar should load the same items and be ignored once the CSV changes")
+    void testSidecar_ShouldFollowCsv() throws IOException {
+        // Arrange
+        Path csv = tempDir.resolve("inventory.txt");
+        Path sidecar = tempDir.resolve("inventory.bin");
+        AtomicFiles.write(csv, out -> out.write("Apple,Fruits,0.50,1.25,10\n".getBytes(StandardCharsets.UTF_8)));
+        CatalogFiles.writeSidecar(sidecar, csv);
+
+        // Act
+        List<Item> fromSidecar = CatalogFiles.readSidecar(sidecar, csv);
+        AtomicFiles.write(csv, out -> out.write("Apple,Fruits,0.50,1.25,9\n".getBytes(StandardCharsets.UTF_8)));
+        List<Item> afterChange = CatalogFiles.readSidecar(sidecar, csv);
+
+        // Assert
+        assertNotNull(fromSidecar);
+        assertEquals("Apple", fromSidecar.get(0).getName());
+        assertEquals(1.25, fromSidecar.get(0).getSellingPrice(), 0.0);
+        assertEquals(10, fromSidecar.get(0).getStockLevel());
+        assertNull(afterChange, "Sidecar made from an older CSV should be ignored");
+    }
+}
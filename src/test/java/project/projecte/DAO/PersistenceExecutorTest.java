@@ -0,0 +1,129 @@
+package project.projecte.DAO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PersistenceExecutor class
+ *
+ * Testing Coverage:
+ * - Writes waiting under the same key are coalesced into the latest one
+ * - flush waits for every earlier write; writes run in submission order
+ * - A full queue makes the caller wait; a failing write fails its future only
+ * - An IOException from a write fails its future and is reported by the next flush
+ */
+@DisplayName("PersistenceExecutor Class Tests")
+class PersistenceExecutorTest {
+
+    @Test
+    @DisplayName("Writes queued under one key should run once, with the latest action")
+    void testSubmit_SameKey_ShouldCoalesce() throws Exception {
+        // Arrange
+        PersistenceExecutor executor = new PersistenceExecutor("test-writer", 16);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit("blocker", () -> awaitQuietly(release));
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger lastValue = new AtomicInteger();
+
+        // Act
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            int value = i;
+            futures.add(executor.submit("users.txt", () -> {
+                runs.incrementAndGet();
+                lastValue.set(value);
+            }));
+        }
+        release.countDown();
+        futures.get(0).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, runs.get(), "Ten saves while the writer is busy should be one write");
+        assertEquals(10, lastValue.get(), "The latest submission should win");
+        assertTrue(futures.stream().allMatch(future -> future == futures.get(0)), "Callers should share one future");
+    }
+
+    @Test
+    @DisplayName("Flush should wait for every earlier write, run in submission order")
+    void testFlush_ShouldWaitForEarlierWrites() throws IOException {
+        // Arrange
+        PersistenceExecutor executor = new PersistenceExecutor("test-writer", 4);
+        List<Integer> order = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            executor.submit(null, () -> {
+                synchronized (order) {
+                    order.add(value);
+                }
+            });
+        }
+        executor.flush();
+
+        // Assert
+        assertEquals(0, executor.getQueuedCount());
+        synchronized (order) {
+            assertEquals(50, order.size(), "Bounded queue should still accept every write");
+            for (int i = 0; i < order.size(); i++) {
+                assertEquals(i, order.get(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A failing write should fail its own future and not stop the writer")
+    void testSubmit_FailingWrite_ShouldCompleteExceptionally() throws Exception {
+        // Arrange
+        PersistenceExecutor executor = new PersistenceExecutor("test-writer", 4);
+
+        // Act
+        CompletableFuture<Void> failed = executor.submit("a", () -> {
+            throw new IllegalStateException("disk full");
+        });
+        CompletableFuture<Void> next = executor.submit("b", () -> { });
+        next.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(failed.isCompletedExceptionally());
+        assertFalse(next.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("An IOException from a write should fail its future and the next flush")
+    void testFlush_AfterIOException_ShouldThrow() throws Exception {
+        // Arrange
+        PersistenceExecutor executor = new PersistenceExecutor("test-writer", 4);
+
+        // Act
+        CompletableFuture<Void> failed = executor.submit("a", () -> {
+            throw new IOException("disk full");
+        });
+        IOException flushed = assertThrows(IOException.class, executor::flush);
+
+        // Assert
+        ExecutionException cause = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, cause.getCause());
+        assertEquals("disk full", flushed.getCause().getMessage());
+        assertDoesNotThrow(executor::flush, "A failure should be reported once");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
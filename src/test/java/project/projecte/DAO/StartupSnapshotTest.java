@@ -0,0 +1,94 @@
+package project.projecte.DAO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import project.projecte.Model.Cashier;
+import project.projecte.Model.Employee;
+import project.projecte.Model.Item;
+import project.projecte.Model.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StartupSnapshot class
+ *
+ * Testing Coverage:
+ * - Round trip of users, items and employees through one image
+ * - A section whose source file changed is ignored, the others still load
+ */
+@DisplayName("StartupSnapshot Class Tests")
+class StartupSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Snapshot should hold the same data as the source files")
+    void testWriteThenLoad_ShouldRoundTripAllSections() throws IOException {
+        // Arrange
+        writeSources();
+
+        // Act
+        StartupSnapshot.write(tempDir);
+        StartupSnapshot snapshot = StartupSnapshot.load(tempDir);
+        List<User> users = snapshot.getUsers();
+        List<Item> items = snapshot.getItems();
+        List<Employee> employees = snapshot.getEmployees();
+
+        // Assert
+        assertEquals(2, users.size());
+        assertInstanceOf(Cashier.class, users.get(1), "Roles should map to the same user classes");
+        assertEquals("secret", users.get(1).getPassword());
+        assertEquals(2, items.size());
+        assertEquals("Keyboard", items.get(1).getName());
+        assertEquals(18.5, items.get(1).getSellingPrice(), 0.0001);
+        assertEquals(7, items.get(1).getStockLevel());
+        assertEquals(LocalDate.of(1990, 5, 4), employees.get(0).getDateOfBirth());
+        assertNull(employees.get(1).getEmail(), "Null fields should survive the round trip");
+        assertNull(snapshot.getUsers(), "A section should only be handed out once");
+    }
+
+    @Test
+    @DisplayName("A changed source file should invalidate only its own section")
+    void testLoad_SourceChanged_ShouldSkipStaleSection() throws IOException {
+        // Arrange
+        writeSources();
+        StartupSnapshot.write(tempDir);
+        FileManagement.saveItems(tempDir.resolve("inventory.txt").toString(),
+                List.of(new Item("Monitor", "Electronics", 90.0, 150.0, 3)));
+
+        // Act
+        StartupSnapshot snapshot = StartupSnapshot.load(tempDir);
+
+        // Assert
+        assertNull(snapshot.getItems(), "Items should come from the changed file instead");
+        assertEquals(2, snapshot.getUsers().size());
+        assertEquals(2, snapshot.getEmployees().size());
+    }
+
+    private void writeSources() throws IOException {
+        FileManagement.saveUsers(tempDir.resolve("users.txt").toString(), List.of(
+                new User("admin", "adminpass", "Administrator"),
+                new Cashier("cashier1", "secret", "General")));
+        FileManagement.saveItems(tempDir.resolve("inventory.txt").toString(), List.of(
+                new Item("Mouse", "Electronics", 5.0, 12.0, 100),
+                new Item("Keyboard", "Electronics", 10.0, 18.5, 7)));
+        List<Employee> employees = new ArrayList<>(List.of(
+                new Employee("Ana", "cashier1", LocalDate.of(1990, 5, 4), "0691234567", "ana@store.al", 600.0, "Cashier"),
+                new Employee("Ben", null, null, null, null, 800.0, "Manager")));
+        AtomicFiles.write(tempDir.resolve("employees.dat"), out -> {
+            ObjectOutputStream objects = new ObjectOutputStream(out);
+            objects.writeObject(employees);
+            objects.flush();
+        });
+    }
+}
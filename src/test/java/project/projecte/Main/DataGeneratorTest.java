@@ -0,0 +1,98 @@
+package project.projecte.Main;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import project.projecte.DAO.AtomicFiles;
+import project.projecte.DAO.BillPartitionStore;
+import project.projecte.Model.Bill;
+import project.projecte.Model.BillManager;
+import project.projecte.Model.Inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DataGenerator class
+ *
+ * Testing Coverage:
+ * - Generated files load through BillManager and Inventory
+ * - Bills only fall in open hours and their numbers increase with time
+ * - The same seed gives byte-identical files
+ */
+@DisplayName("DataGenerator Class Tests")
+class DataGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static DataGenerator smallGenerator(Path directory, long seed) {
+        DataGenerator generator = new DataGenerator(directory, seed);
+        generator.setCashiers(4);
+        generator.setSkus(200);
+        generator.setSuppliers(3);
+        generator.setDays(10);
+        generator.setBillsPerDay(50);
+        return generator;
+    }
+
+    @Test
+    @DisplayName("Generated data should load through the application's own classes")
+    void testGenerate_ShouldLoadThroughModel() throws IOException {
+        // Arrange
+        Path directory = tempDir.resolve("data");
+
+        // Act
+        long billCount = smallGenerator(directory, 7).generate();
+        BillManager billManager = new BillManager(directory.toString());
+        Inventory inventory = new Inventory(directory.toString());
+
+        // Assert
+        assertTrue(billCount > 0);
+        assertEquals(200, inventory.getItems().size());
+        List<Bill> bills = billManager.getBills();
+        assertEquals(billCount, bills.size());
+        for (int i = 0; i < bills.size(); i++) {
+            Bill bill = bills.get(i);
+            int hour = bill.getBillDate().getHour();
+            assertTrue(hour >= 7 && hour < 22, "Bill outside open hours: " + bill.getBillDate());
+            assertNotNull(inventory.findItemByName(bill.getBillItems().get(0).getName()));
+            if (i > 0) {
+                assertFalse(bill.getBillDate().isBefore(bills.get(i - 1).getBillDate()));
+                assertEquals(bills.get(i - 1).getBillNumber() + 1, bill.getBillNumber());
+            }
+        }
+        assertEquals(String.valueOf(billCount + 1),
+                new String(AtomicFiles.read(directory.resolve("bill_counter.txt")), StandardCharsets.UTF_8).trim());
+    }
+
+    @Test
+    @DisplayName("The same seed should produce identical files")
+    void testGenerate_SameSeed_ShouldBeDeterministic() throws IOException {
+        // Arrange
+        Path first = tempDir.resolve("first");
+        Path second = tempDir.resolve("second");
+        Path other = tempDir.resolve("other");
+
+        // Act
+        smallGenerator(first, 42).generate();
+        smallGenerator(second, 42).generate();
+        smallGenerator(other, 43).generate();
+
+        // Assert
+        for (String file : List.of("users.txt", "inventory.txt", "employees.dat", "suppliers.dat")) {
+            assertArrayEquals(Files.readAllBytes(first.resolve(file)), Files.readAllBytes(second.resolve(file)), file);
+        }
+        String day = new BillPartitionStore(first.resolve("bills")).getManifest().firstKey() + ".bin";
+        assertArrayEquals(Files.readAllBytes(first.resolve("bills").resolve(day)),
+                Files.readAllBytes(second.resolve("bills").resolve(day)));
+        assertFalse(Files.readString(first.resolve("inventory.txt"))
+                .equals(Files.readString(other.resolve("inventory.txt"))), "A different seed should differ");
+    }
+}
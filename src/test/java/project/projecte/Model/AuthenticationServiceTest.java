@@ -0,0 +1,112 @@
+package project.projecte.Model;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import project.projecte.DAO.PersistenceExecutor;
+import project.projecte.Util.PasswordHasher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AuthenticationService class
+ *
+ * Testing Coverage:
+ * - Case-insensitive lookup, plaintext users.txt migrated to hashes
+ * - Each test keeps its users in its own temp file
+ * - Wrong passwords and unknown users are rejected
+ * - Many concurrent logins on the bounded worker pool
+ */
+@DisplayName("AuthenticationService Class Tests")
+class AuthenticationServiceTest {
+
+    private static String previousIterations;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void cheapHashes() {
+        // Keep the hash cost low so the tests stay fast
+        previousIterations = System.setProperty("projecte.auth.iterations", "1000");
+    }
+
+    @AfterAll
+    static void restoreHashCost() {
+        if (previousIterations == null) {
+            System.clearProperty("projecte.auth.iterations");
+        } else {
+            System.setProperty("projecte.auth.iterations", previousIterations);
+        }
+    }
+
+    @Test
+    @DisplayName("Login should accept the right password in any username case")
+    void testVerify_ShouldCheckPasswordAndMigrate() throws IOException {
+        // Arrange
+        UserManager userManager = newUserManager();
+        AuthenticationService auth = new AuthenticationService(userManager, 2, 16);
+        userManager.addUser(new User("Shift.Lead", "opensesame", "Cashier"));
+        PersistenceExecutor.shared().flush();
+
+        // Act
+        User user = auth.verify("shift.lead", "opensesame");
+
+        // Assert
+        assertNotNull(user);
+        assertEquals("Shift.Lead", user.getUsername());
+        assertTrue(PasswordHasher.isHash(user.getPassword()), "Saved passwords should be hashed");
+        assertNull(auth.verify("shift.lead", "wrong"));
+        assertNull(auth.verify("nobody", "opensesame"));
+        assertSame(user, userManager.findUserByUsername("SHIFT.LEAD"));
+
+        String[] saved = Files.readAllLines(tempDir.resolve("users.txt")).get(0).split(",");
+        assertEquals("Shift.Lead", saved[0]);
+        assertTrue(PasswordHasher.isHash(saved[1]), "The users file should hold the hash");
+
+        // Cleanup
+        auth.shutdown();
+    }
+
+    @Test
+    @DisplayName("Concurrent logins should all be answered by the worker pool")
+    void testAuthenticate_ConcurrentLogins_ShouldComplete() throws Exception {
+        // Arrange
+        UserManager userManager = newUserManager();
+        AuthenticationService auth = new AuthenticationService(userManager, 2, 64);
+        userManager.addUser(new User("storm.user", "pw", "Cashier"));
+        PersistenceExecutor.shared().flush();
+
+        // Act
+        List<CompletableFuture<User>> logins = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            logins.add(auth.authenticate("storm.user", i % 2 == 0 ? "pw" : "bad"));
+        }
+
+        // Assert
+        for (int i = 0; i < logins.size(); i++) {
+            User user = logins.get(i).get(10, TimeUnit.SECONDS);
+            assertEquals(i % 2 == 0, user != null);
+        }
+
+        // Cleanup
+        PersistenceExecutor.shared().flush();
+        auth.shutdown();
+    }
+
+    // Users kept in an empty file of the test's own, not in data/users.txt
+    private UserManager newUserManager() throws IOException {
+        return new UserManager(Files.createFile(tempDir.resolve("users.txt")).toString());
+    }
+}
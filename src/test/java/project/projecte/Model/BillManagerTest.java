@@ -3,8 +3,11 @@ package project.projecte.Model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,6 +19,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * - addBill functionality
  * - getTodayBills with various date scenarios
  * - getBillsWithinDateRange with MC/DC coverage analysis
+ * - Bills grouped by cashier (index kept up to date by addBill)
+ * - Paged date-range listing with continuation tokens
  * - Complete code coverage demonstration
  *
  * MC/DC (Modified Condition/Decision Coverage) Analysis for
@@ -478,6 +483,67 @@ class BillManagerTest {
         }, "Should throw NullPointerException for null dates");
     }
 
+    // ==================== Bills by Cashier ====================
+
+    @Test
+    @DisplayName("getBillsByCashier should match usernames case-insensitively and track new bills")
+    void testGetBillsByCashier_ShouldFollowAddBill() {
+        // Arrange
+        billManager.addBill(testBill1);
+        Cashier cashier = new Cashier("CASHIER1", "pass", "General");
+
+        // Act
+        List<Bill> before = List.copyOf(billManager.getBillsByCashier("Cashier1"));
+        billManager.addBill(testBill3);
+        billManager.assignBillsTo(List.of(cashier));
+
+        // Assert
+        assertTrue(before.contains(testBill1), "Existing bill should be indexed");
+        assertFalse(before.contains(testBill3), "Bill was added later");
+        assertTrue(cashier.getBills().containsAll(List.of(testBill1, testBill3)), "Both bills should be assigned");
+        assertFalse(cashier.getBills().contains(testBill2), "Other cashiers' bills should not be assigned");
+        assertThrows(UnsupportedOperationException.class,
+                () -> billManager.getBillsByCashier("cashier1").add(testBill2), "View should be read-only");
+    }
+
+    // ==================== Paged listing ====================
+
+    @Test
+    @DisplayName("getBillPage should list a range in date order across pages and skip bills added meanwhile")
+    void testGetBillPage_ShouldContinueFromToken(@TempDir Path tempDir) {
+        // Arrange
+        BillManager manager = new BillManager(tempDir.toString());
+        LocalDateTime day = LocalDateTime.of(2024, 3, 10, 12, 0);
+        manager.addBill(new Bill(3, "cashier1", day.plusDays(1)));
+        manager.addBill(new Bill(1, "cashier1", day));
+        manager.addBill(new Bill(2, "Cashier2", day));
+        manager.addBill(new Bill(4, "CASHIER1", day.plusDays(2)));
+        manager.addBill(new Bill(5, "cashier1", day.plusDays(9)));
+
+        // Act
+        BillManager.BillPage first = manager.getBillPage(day.toLocalDate(), day.toLocalDate().plusDays(2),
+                null, 2, null);
+        manager.addBill(new Bill(6, "cashier1", day.minusHours(1)));  // before the cursor
+        BillManager.BillPage second = manager.getBillPage(day.toLocalDate(), day.toLocalDate().plusDays(2),
+                null, 2, first.nextToken());
+        BillManager.BillPage cashier1 = manager.getBillPage(day.toLocalDate(), day.toLocalDate().plusDays(2),
+                "Cashier1", 10, null);
+
+        // Assert
+        assertEquals(List.of(1, 2), numbers(first.bills()));
+        assertEquals(List.of(3, 4), numbers(second.bills()), "Next page should start after the token");
+        assertEquals(List.of(6, 1, 3, 4), numbers(cashier1.bills()), "Cashier should match case-insensitively");
+        assertNull(cashier1.nextToken(), "A partial page is the last one");
+        assertTrue(manager.getBillPage(day.toLocalDate(), day.toLocalDate().plusDays(2), null, 2,
+                second.nextToken()).bills().isEmpty(), "Nothing should follow the last bill in range");
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.getBillPage(day.toLocalDate(), day.toLocalDate(), null, 2, "not-a-token"));
+    }
+
+    private static List<Integer> numbers(List<Bill> bills) {
+        return bills.stream().map(Bill::getBillNumber).toList();
+    }
+
     // ==================== Coverage Summary ====================
 
 }
@@ -15,6 +15,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Constructor validation
  * - addItem functionality
  * - getTotalAmount with various scenarios (empty, single, multiple items)
+ * - Sealing: exact cent totals, read-only items
  * - Code Coverage Testing demonstration
  *
  * halili
@@ -338,6 +339,26 @@ class BillTest {
         assertEquals(-9.0, total, 0.01, "Negative prices should reduce total");
     }
 
+    @Test
+    @DisplayName("Totals should be exact in cents and fixed once the bill is sealed")
+    void testSeal_ShouldFixTotalAndRejectNewItems() {
+        // Arrange
+        Item dime = new Item("Dime", "Test", 0.05, 0.10, 100);
+        testBill.addItem(dime, 3); // 3 * $0.10, inexact as a double sum
+
+        // Act
+        testBill.seal();
+
+        // Assert
+        assertEquals(30, testBill.getTotalCents(), "Total should be exact in cents");
+        assertTrue(testBill.isSealed());
+        assertThrows(IllegalStateException.class, () -> testBill.addItem(testItem1, 1),
+                "Sealed bill should not take new items");
+        assertThrows(UnsupportedOperationException.class, () -> testBill.getBillItems().clear(),
+                "Sealed bill items should be read-only");
+        assertEquals(30, testBill.getTotalCents(), "Total should not change after sealing");
+    }
+
     @Test
     @DisplayName("Bill number can be negative")
     void testConstructor_NegativeBillNumber() {
@@ -0,0 +1,211 @@
+package project.projecte.Model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import project.projecte.DAO.PersistenceExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit and stress tests for CheckoutService class
+ *
+ * Testing Coverage:
+ * - Reservation, commit and rollback of a single session
+ * - Insufficient stock leaves stock and bill unchanged
+ * - Line statuses, validation and finalizing with a printed receipt
+ * - Async persistence: bills are visible at once and durable once persisted
+ * - Many virtual-thread cashiers against one Inventory (no overselling,
+ *   stock + units sold stays constant, state survives a reload)
+ */
+@DisplayName("CheckoutService Class Tests")
+class CheckoutServiceTest {
+
+    private static final int ITEM_COUNT = 5;
+    private static final int INITIAL_STOCK = 2_000;
+
+    @TempDir
+    Path tempDir;
+
+    private Inventory inventory;
+    private BillManager billManager;
+    private CheckoutService checkoutService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            lines.add("Item" + i + ",Test,1.00,2.00," + INITIAL_STOCK);
+        }
+        Files.write(tempDir.resolve("inventory.txt"), lines);
+        inventory = new Inventory(tempDir.toString());
+        billManager = new BillManager(tempDir.toString());
+        checkoutService = new CheckoutService(inventory, billManager);
+    }
+
+    // Stock changes can schedule an inventory checkpoint on the shared
+    // writer; let it finish before the temp directory is deleted
+    @AfterEach
+    void tearDown() throws IOException {
+        PersistenceExecutor.shared().flush();
+    }
+
+    @Test
+    @DisplayName("Commit should store the bill and keep the reserved stock")
+    void testCommit_ShouldStoreBill() {
+        // Arrange
+        Item item = inventory.findItemByName("Item0");
+        CheckoutService.Session session = checkoutService.openSession(1, "cashier1");
+
+        // Act
+        assertTrue(session.addItem(item, 3));
+        Bill bill = session.commit();
+
+        // Assert
+        assertEquals(INITIAL_STOCK - 3, item.getStockLevel(), "Stock should be decremented");
+        assertTrue(billManager.getBills().contains(bill), "Committed bill should be stored");
+        assertThrows(IllegalStateException.class, () -> session.addItem(item, 1));
+    }
+
+    @Test
+    @DisplayName("Rollback and failed reservations should leave stock unchanged")
+    void testRollback_ShouldRestoreStock() {
+        // Arrange
+        Item item = inventory.findItemByName("Item1");
+        CheckoutService.Session session = checkoutService.openSession(1, "cashier1");
+
+        // Act
+        assertTrue(session.addItem(item, 10));
+        assertFalse(session.addItem(item, INITIAL_STOCK), "Reserving more than is left should fail");
+        session.rollback();
+
+        // Assert
+        assertEquals(INITIAL_STOCK, item.getStockLevel(), "Reserved units should be returned");
+        assertEquals(1, session.getBill().getBillItems().size(), "Failed line should not be added");
+        assertTrue(billManager.getBills().isEmpty(), "Rolled back bill should not be stored");
+    }
+
+    @Test
+    @DisplayName("Finalize should validate, store the bill and print its receipt")
+    void testFinalizeBill_ShouldValidateAndPrint() throws IOException {
+        // Arrange
+        Path receipts = tempDir.resolve("receipts");
+        checkoutService.setReceiptDirectory(receipts);
+        CheckoutService.Session session = checkoutService.openSession(7, "cashier1");
+
+        // Act & Assert
+        assertEquals("Please add at least one item to the bill.", session.validate());
+        assertThrows(IllegalStateException.class, session::commit, "An empty bill cannot be finalized");
+        assertEquals(CheckoutService.LineStatus.UNKNOWN_ITEM, session.addLine("Nothing", 1));
+        assertEquals(CheckoutService.LineStatus.INVALID_QUANTITY, session.addLine("Item2", 0));
+        assertEquals(CheckoutService.LineStatus.OUT_OF_STOCK, session.addLine("Item2", INITIAL_STOCK + 1));
+        assertEquals(CheckoutService.LineStatus.ADDED, session.addLine("Item2", 4));
+        assertNull(session.validate());
+
+        Bill bill = checkoutService.finalizeBill(session);
+
+        assertTrue(billManager.getBills().contains(bill));
+        assertEquals(INITIAL_STOCK - 4, inventory.findItemByName("Item2").getStockLevel());
+        Path receipt = receipts.resolve("Bill_7_" + bill.getBillDate().toLocalDate() + ".txt");
+        String text = Files.readString(receipt);
+        assertTrue(text.contains("Item2                    4 x $2.00 = $8.00"), text);
+        assertTrue(text.contains("Total Amount: $8.00"), text);
+    }
+
+    @Test
+    @DisplayName("Async commit should show the bill at once and store it durably")
+    void testCommit_AsyncPersistence_ShouldBeDurableWhenPersisted() throws Exception {
+        // Arrange
+        checkoutService.setAsyncPersistence(true);
+        List<CheckoutService.Session> sessions = new ArrayList<>();
+
+        // Act
+        for (int i = 1; i <= 20; i++) {
+            CheckoutService.Session session = checkoutService.openSession(i, "cashier1");
+            session.addLine("Item3", 1);
+            session.commit();
+            sessions.add(session);
+        }
+        int visible = billManager.getBills().size();
+        for (CheckoutService.Session session : sessions) {
+            session.getPersisted().get(10, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(20, visible, "Committed bills should be visible before they are written");
+        assertEquals(20, new BillManager(tempDir.toString()).getBills().size(), "Every bill should survive a reload");
+    }
+
+    @Test
+    @DisplayName("Stress: concurrent virtual-thread cashiers never oversell")
+    void testConcurrentCashiers_ShouldNotOversell() throws Exception {
+        // Arrange
+        int cashiers = 64;
+        int billsPerCashier = 40;
+        AtomicInteger billNumbers = new AtomicInteger();
+        AtomicInteger committedBills = new AtomicInteger();
+        AtomicInteger unitsSold = new AtomicInteger();
+        List<Item> items = new ArrayList<>(inventory.getItems());
+
+        // Act
+        try (ExecutorService tills = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < cashiers; c++) {
+                String cashier = "cashier" + c;
+                futures.add(tills.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int b = 0; b < billsPerCashier; b++) {
+                        CheckoutService.Session session =
+                                checkoutService.openSession(billNumbers.incrementAndGet(), cashier);
+                        int units = 0;
+                        for (int line = 0; line < 3; line++) {
+                            int quantity = 1 + random.nextInt(5);
+                            if (session.addItem(items.get(random.nextInt(items.size())), quantity)) {
+                                units += quantity;
+                            }
+                        }
+                        if (units > 0 && random.nextInt(4) != 0) {
+                            session.commit();
+                            committedBills.incrementAndGet();
+                            unitsSold.addAndGet(units);
+                        } else {
+                            session.rollback();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Assert
+        int remaining = items.stream().mapToInt(Item::getStockLevel).sum();
+        assertEquals(ITEM_COUNT * INITIAL_STOCK, remaining + unitsSold.get(), "Every unit is either in stock or sold");
+        assertTrue(items.stream().allMatch(item -> item.getStockLevel() >= 0), "Stock must never go negative");
+        assertEquals(committedBills.get(), billManager.getBills().size(), "Every committed bill should be stored");
+
+        Inventory reloaded = new Inventory(tempDir.toString());
+        for (Item item : items) {
+            assertEquals(item.getStockLevel(), reloaded.findItemByName(item.getName()).getStockLevel(),
+                    "Logged stock should survive a reload for " + item.getName());
+        }
+        assertEquals(committedBills.get(), new BillManager(tempDir.toString()).getBills().size(),
+                "Bills should survive a reload");
+    }
+}
@@ -9,7 +9,12 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,7 +26,11 @@ import static org.junit.jupiter.api.Assertions.*;
  * - findItemByName with Equivalence Class Testing
  * - updateStockLevel with Decision Table approach
  * - removeItem functionality
+ * - Name/category indexes (rename, category moves, list mutation)
+ * - Index lookups from another thread during changes
+ * - Searches while the inventory monitor is held
  * - File I/O operations (save/load)
+ * - Stock change log and checkpoint
  *
  * daniela
  */
@@ -489,4 +498,170 @@ class InventoryTest {
         assertTrue(inventory.getItems().size() >= 2, "Should allow items with same name");
         // Note: findItemByName will return the first match
     }
+
+    // ==================== Lookup Indexes ====================
+
+    @Test
+    @DisplayName("Index: renamed item is found by its new name only")
+    void testRenameItem_UpdatesNameIndex() {
+        // Arrange
+        inventory.addItem(testItem1);
+
+        // Act
+        boolean renamed = inventory.renameItem("apple", "Green Apple");
+
+        // Assert
+        assertTrue(renamed, "Rename of existing item should succeed");
+        assertNull(inventory.findItemByName("Apple"), "Old name should no longer resolve");
+        assertSame(testItem1, inventory.findItemByName("GREEN APPLE"), "New name should resolve case-insensitively");
+        assertFalse(inventory.renameItem("Missing", "Anything"), "Rename of missing item should fail");
+    }
+
+    @Test
+    @DisplayName("Index: category index follows setCategory and removal")
+    void testCategoryIndex_FollowsChanges() {
+        // Arrange
+        inventory.addItem(testItem1);
+        inventory.addItem(testItem2);
+        inventory.addItem(testItem3);
+
+        // Act
+        testItem2.setCategory("Vegetables");
+        inventory.removeItem("Carrot");
+
+        // Assert
+        assertEquals(List.of(testItem1), inventory.getItemsByCategory("Fruits"));
+        assertEquals(List.of(testItem2), inventory.getItemsByCategory("Vegetables"));
+        assertEquals(List.of("Fruits", "Vegetables"), inventory.getCategories());
+    }
+
+    @Test
+    @DisplayName("Index: first match is kept when duplicates are removed through the list")
+    void testNameIndex_ListMutationKeepsFirstMatch() {
+        // Arrange
+        Item apple1 = new Item("Apple", "Fruits", 0.5, 1.0, 100);
+        Item apple2 = new Item("Apple", "Organic", 0.7, 1.5, 50);
+        inventory.addItem(apple1);
+        inventory.addItem(apple2);
+
+        // Act
+        Item firstBeforeRemoval = inventory.findItemByName("apple");
+        inventory.getItems().remove(0);
+
+        // Assert
+        assertSame(apple1, firstBeforeRemoval, "First added item should win");
+        assertSame(apple2, inventory.findItemByName("apple"), "Remaining duplicate should be found");
+        inventory.getItems().clear();
+        assertNull(inventory.findItemByName("apple"), "Cleared inventory should find nothing");
+    }
+
+    // ==================== Stock Change Log ====================
+
+    @Test
+    @DisplayName("Logged stock change survives reload and checkpoint folds it into the file")
+    void testRecordStockChange_ReplayAndCheckpoint() throws IOException {
+        // Arrange
+        File dataFile = tempDir.resolve("inventory.txt").toFile();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(dataFile))) {
+            writer.write("Apple,Fruits,0.50,1.00,100");
+            writer.newLine();
+            writer.write("Banana,Fruits,0.30,0.80,50");
+            writer.newLine();
+        }
+        Inventory store = new Inventory(tempDir.toString());
+        Item apple = store.findItemByName("Apple");
+
+        // Act
+        apple.setStockLevel(97);
+        store.recordStockChange(apple);
+        Inventory reloaded = new Inventory(tempDir.toString());
+
+        // Assert
+        assertEquals(100, Files.readAllLines(dataFile.toPath()).stream()
+                .filter(line -> line.startsWith("Apple,")).mapToInt(line -> Integer.parseInt(line.split(",")[4]))
+                .findFirst().orElse(-1), "Sale should not rewrite the inventory file");
+        assertEquals(97, reloaded.findItemByName("Apple").getStockLevel(), "Reload should apply the logged change");
+        assertTrue(reloaded.findItemByName("Apple").isDirty(), "Replayed item should be pending a checkpoint");
+
+        // Act
+        reloaded.checkpoint();
+
+        // Assert
+        assertTrue(Files.readAllLines(dataFile.toPath()).contains("Apple,Fruits,0.50,1.00,97"),
+                "Checkpoint should write the new stock level");
+        assertEquals(0, Files.size(tempDir.resolve("inventory_changes.log")),
+                "Checkpoint should empty the change log");
+        assertFalse(reloaded.findItemByName("Apple").isDirty(), "Checkpointed item should be clean");
+    }
+
+    @Test
+    @DisplayName("Lookups from other threads should stay consistent while items change")
+    void testLookups_ConcurrentChanges_ShouldNotFail() throws Exception {
+        // Arrange
+        Inventory store = new Inventory(tempDir.toString());
+        store.addItem(new Item("Apple", "Fruits", 0.5, 1.0, 100));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                for (int i = 0; i < 20_000; i++) {
+                    assertNotNull(store.findItemByName("Apple"), "Apple is never removed");
+                    for (Item item : store.getItemsByCategory("Fruits")) {
+                        assertNotNull(item);
+                    }
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+
+        // Act
+        reader.start();
+        for (int i = 0; i < 2_000; i++) {
+            store.addItem(new Item("Pear" + i, "Fruits", 0.5, 1.0, 1));
+            store.renameItem("Pear" + i, "Quince" + i);
+            store.removeItem("Quince" + i);
+        }
+        reader.join();
+
+        // Assert
+        assertNull(failure.get(), () -> "Reader failed: " + failure.get());
+        assertEquals(List.of("Apple"), store.getItemsByCategory("Fruits").stream().map(Item::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Searching should not wait for a thread holding the inventory monitor")
+    void testSearchItems_MonitorHeld_ShouldNotBlock() throws Exception {
+        // Arrange
+        Inventory store = new Inventory(tempDir.toString());
+        store.addItem(new Item("Apple", "Fruits", 0.5, 1.0, 100));
+        store.searchItems("app", 10);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (store) {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        // Act
+        AtomicReference<List<Item>> found = new AtomicReference<>();
+        Thread searcher = new Thread(() -> found.set(store.searchItems("app", 10)));
+        searcher.start();
+        searcher.join(TimeUnit.SECONDS.toMillis(5));
+        boolean finished = !searcher.isAlive();
+        release.countDown();
+        holder.join();
+        searcher.join();
+
+        // Assert
+        assertTrue(finished, "Search should use the published index without the monitor");
+        assertEquals("Apple", found.get().get(0).getName());
+    }
 }
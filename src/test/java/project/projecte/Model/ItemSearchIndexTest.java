@@ -0,0 +1,89 @@
+package project.projecte.Model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ItemSearchIndex class
+ *
+ * Testing Coverage:
+ * - Prefix matching on name and category words, ranking and the result limit
+ * - Typo tolerance (substitution, swapped letters) for longer words
+ * - Inventory.searchItems following renames and new items
+ */
+@DisplayName("ItemSearchIndex Class Tests")
+class ItemSearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final List<Item> CATALOG = List.of(
+            new Item("USB Cable", "Accessories", 1.0, 3.0, 50),
+            new Item("Keyboard", "Electronics", 10.0, 18.0, 20),
+            new Item("Wireless Keyboard", "Electronics", 15.0, 29.0, 10),
+            new Item("Keyboard Cover", "Accessories", 1.0, 4.0, 30),
+            new Item("Mouse", "Electronics", 5.0, 12.0, 40),
+            new Item("Monitor27", "Displays", 90.0, 150.0, 5));
+
+    @Test
+    @DisplayName("Prefix search should rank exact, name-prefix, word and category matches")
+    void testSearch_Prefixes_ShouldRankMatches() {
+        // Arrange
+        ItemSearchIndex index = new ItemSearchIndex(CATALOG);
+
+        // Act
+        List<Item> keyboards = index.search("keyboard", 10);
+        List<Item> accessories = index.search("acc", 10);
+        List<Item> words = index.search("usb ca", 10);
+
+        // Assert
+        assertEquals(List.of("Keyboard", "Keyboard Cover", "Wireless Keyboard"), names(keyboards));
+        assertEquals(List.of("Keyboard Cover", "USB Cable"), names(accessories), "Category words should match");
+        assertEquals(List.of("USB Cable"), names(words), "Every query word should match");
+        assertEquals("Monitor27", index.search("monitor 27", 1).get(0).getName(), "Digits should be their own word");
+        assertEquals(2, index.search("", 2).size(), "The limit should cap the results");
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Typos in longer words should still find the item")
+    void testSearch_Typos_ShouldMatchWithinEditLimit() {
+        // Arrange
+        ItemSearchIndex index = new ItemSearchIndex(CATALOG);
+
+        // Act & Assert
+        assertEquals("Keyboard", index.search("keybaord", 1).get(0).getName(), "Swapped letters are one edit");
+        assertEquals("Mouse", index.search("mpuse", 5).get(0).getName());
+        assertEquals("Wireless Keyboard", index.search("wirel", 5).get(0).getName());
+        assertTrue(index.search("mqq", 5).isEmpty(), "Short words should not match loosely");
+        assertEquals(1, ItemSearchIndex.prefixEdits("keyb0", "keyboard", 2));
+        assertEquals(3, ItemSearchIndex.prefixEdits("abcdef", "keyboard", 2), "Over the limit reports limit + 1");
+    }
+
+    @Test
+    @DisplayName("Inventory search should reflect renamed and added items")
+    void testInventorySearch_AfterChanges_ShouldRebuild() {
+        // Arrange
+        Inventory inventory = new Inventory(tempDir.toString());
+        inventory.addItem(new Item("Mouse", "Electronics", 5.0, 12.0, 40));
+        assertEquals(1, inventory.searchItems("mou", 5).size());
+
+        // Act
+        inventory.renameItem("Mouse", "Trackball");
+        inventory.addItem(new Item("Mousepad", "Accessories", 1.0, 3.0, 10));
+
+        // Assert
+        assertEquals(List.of("Mousepad"), names(inventory.searchItems("mou", 5)));
+        assertEquals(List.of("Trackball"), names(inventory.searchItems("track", 5)));
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream().map(Item::getName).toList();
+    }
+}
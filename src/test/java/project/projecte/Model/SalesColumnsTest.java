@@ -0,0 +1,111 @@
+package project.projecte.Model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesColumns class
+ *
+ * Testing Coverage:
+ * - Group-by sums per item, category, cashier and hour
+ * - Date range, cashier and category filters; unknown names match nothing
+ * - Sums over many parallel chunks
+ */
+@DisplayName("SalesColumns Class Tests")
+class SalesColumnsTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 3, 10, 9, 15);
+    private static final LocalDateTime EVENING = LocalDateTime.of(2025, 3, 10, 18, 40);
+
+    private Inventory inventory;
+    private Item apple;
+    private Item milk;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new Inventory();
+        inventory.getItems().clear();
+        apple = new Item("Apple", "Fruits", 0.50, 1.25, 100);
+        milk = new Item("Milk", "Dairy", 0.60, 0.99, 100);
+        inventory.addItem(apple);
+        inventory.addItem(milk);
+    }
+
+    @Test
+    @DisplayName("Group-by should sum revenue, units and lines per dimension")
+    void testSumBy_ShouldGroupPerDimension() {
+        // Arrange
+        Bill first = new Bill(1, "anna", MORNING);
+        first.addItem(apple, 4);
+        first.addItem(milk, 1);
+        Bill second = new Bill(2, "ben", EVENING);
+        second.addItem(apple, 2);
+        first.addItem(new Item("Gift card", "Other", 0, 10.00, 1), 1); // not in the inventory
+
+        // Act
+        SalesColumns columns = SalesColumns.from(List.of(first, second), inventory);
+
+        // Assert
+        assertEquals(4, columns.getRowCount());
+        Map<String, Long> byItem = columns.query().sumBy(SalesColumns.Dimension.ITEM, SalesColumns.Metric.REVENUE_CENTS);
+        assertEquals(750, byItem.get("Apple"));
+        assertEquals(99, byItem.get("Milk"));
+        Map<String, Long> byCategory = columns.query().sumBy(SalesColumns.Dimension.CATEGORY, SalesColumns.Metric.UNITS);
+        assertEquals(6, byCategory.get("Fruits"));
+        assertEquals(1, byCategory.get(""), "Items no longer stocked have no category");
+        Map<String, Long> byHour = columns.query().sumBy(SalesColumns.Dimension.HOUR, SalesColumns.Metric.LINES);
+        assertEquals(Map.of("09", 3L, "18", 1L), byHour);
+    }
+
+    @Test
+    @DisplayName("Filters should narrow the rows that are summed")
+    void testQuery_Filters_ShouldNarrowRows() {
+        // Arrange
+        Bill first = new Bill(1, "anna", MORNING);
+        first.addItem(apple, 4);
+        first.addItem(milk, 1);
+        Bill second = new Bill(2, "ben", EVENING);
+        second.addItem(apple, 2);
+        SalesColumns columns = SalesColumns.from(List.of(first, second), inventory);
+
+        // Act & Assert
+        assertEquals(250, columns.query().cashier("ben").sum(SalesColumns.Metric.REVENUE_CENTS));
+        assertEquals(5, columns.query().between(MORNING, MORNING.plusHours(1)).sum(SalesColumns.Metric.UNITS));
+        assertEquals(Map.of("anna", 99L), columns.query().category("Dairy")
+                .sumBy(SalesColumns.Dimension.CASHIER, SalesColumns.Metric.REVENUE_CENTS));
+        assertEquals(0, columns.query().cashier("nobody").sum(SalesColumns.Metric.LINES),
+                "Unknown cashier should match nothing");
+    }
+
+    @Test
+    @DisplayName("Sums over many chunks should match the row-by-row total")
+    void testSum_ManyChunks_ShouldMatchSerialTotal() {
+        // Arrange
+        List<Bill> bills = new ArrayList<>();
+        long expectedCents = 0;
+        for (int i = 0; i < 50_000; i++) {
+            Bill bill = new Bill(i, i % 2 == 0 ? "anna" : "ben", MORNING.plusMinutes(i));
+            bill.addItem(apple, 1 + i % 3);
+            bill.addItem(milk, 1);
+            expectedCents += bill.getTotalCents();
+            bills.add(bill);
+        }
+
+        // Act
+        SalesColumns columns = SalesColumns.from(bills, inventory);
+        Map<String, Long> byCashier = columns.query().sumBy(SalesColumns.Dimension.CASHIER, SalesColumns.Metric.REVENUE_CENTS);
+
+        // Assert
+        assertEquals(100_000, columns.getRowCount());
+        assertEquals(expectedCents, columns.query().sum(SalesColumns.Metric.REVENUE_CENTS));
+        assertEquals(expectedCents, byCashier.get("anna") + byCashier.get("ben"));
+    }
+}
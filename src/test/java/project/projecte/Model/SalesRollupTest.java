@@ -0,0 +1,86 @@
+package project.projecte.Model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesRollup class
+ *
+ * Testing Coverage:
+ * - Per-cashier and per-item totals for whole days and partial (hourly) ranges
+ * - BillManager keeps rollups across compaction and restart
+ * - Rollups are rebuilt from the partitions when the rollup file is missing
+ */
+@DisplayName("SalesRollup Class Tests")
+class SalesRollupTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 3, 10, 9, 15);
+    private static final LocalDateTime EVENING = LocalDateTime.of(2025, 3, 10, 18, 40);
+    private static final LocalDateTime NEXT_DAY = LocalDateTime.of(2025, 3, 11, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Totals should respect days and hours of the queried range")
+    void testTotals_ByCashierAndItem() {
+        // Arrange
+        SalesRollup rollup = new SalesRollup();
+        rollup.add(bill(1, "anna", MORNING, "Apple", 1.25, 4));
+        rollup.add(bill(2, "Ben", EVENING, "Apple", 1.25, 2));
+        rollup.add(bill(3, "anna", NEXT_DAY, "Pear", 2.00, 1));
+
+        // Act
+        Map<String, SalesRollup.Totals> firstDay =
+                rollup.getTotalsByCashier(MORNING.toLocalDate().atStartOfDay(), MORNING.toLocalDate().atTime(23, 59));
+        Map<String, SalesRollup.Totals> morningOnly =
+                rollup.getTotalsByCashier(MORNING.toLocalDate().atStartOfDay(), MORNING.withHour(12));
+        Map<String, SalesRollup.Totals> items = rollup.getTotalsByItem(MORNING, NEXT_DAY);
+
+        // Assert
+        assertEquals(500, firstDay.get("anna").getRevenueCents());
+        assertEquals(250, firstDay.get("ben").getRevenueCents(), "Cashiers should be keyed case-folded");
+        assertFalse(morningOnly.containsKey("ben"), "Evening sale is outside the range");
+        assertEquals(6, items.get("Apple").getUnits());
+        assertEquals(2, items.get("Apple").getBills());
+        assertEquals(9.50, rollup.getTotal(MORNING, NEXT_DAY).getRevenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("BillManager rollups should survive compaction, restart and a lost rollup file")
+    void testBillManager_RollupsPersistAndRebuild() throws IOException {
+        // Arrange
+        BillManager manager = new BillManager(tempDir.toString());
+        manager.addBill(bill(1, "anna", MORNING, "Apple", 1.25, 4));
+        manager.compact();
+        manager.addBill(bill(2, "anna", NEXT_DAY, "Pear", 2.00, 3));
+
+        // Act
+        Map<String, SalesRollup.Totals> reloaded =
+                new BillManager(tempDir.toString()).getSalesByCashier(MORNING, NEXT_DAY);
+        Files.delete(tempDir.resolve("bills_rollup.bin"));
+        Files.deleteIfExists(tempDir.resolve("bills_rollup.bin.bak"));
+        Map<String, SalesRollup.Totals> rebuilt =
+                new BillManager(tempDir.toString()).getSalesByCashier(MORNING, NEXT_DAY);
+
+        // Assert
+        assertEquals(1100, reloaded.get("anna").getRevenueCents(), "Stored and journaled bills should count");
+        assertEquals(2, reloaded.get("anna").getBills());
+        assertEquals(1100, rebuilt.get("anna").getRevenueCents(), "Rollups should be rebuilt from partitions");
+    }
+
+    private static Bill bill(int number, String cashier, LocalDateTime date, String item, double price, int quantity) {
+        Bill bill = new Bill(number, cashier, date);
+        bill.addItem(new Item(item, "Test", price / 2, price, 100), quantity);
+        return bill;
+    }
+}
@@ -0,0 +1,91 @@
+package project.projecte.Util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Log class
+ *
+ * Testing Coverage:
+ * - Disabled levels never evaluate their message supplier
+ * - Enabled messages reach the console after flush, errors on stderr
+ * - Level names from the system property
+ */
+@DisplayName("Log Class Tests")
+class LogTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private Log.Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = Log.getLevel();
+        Log.setOutput(new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Log.setLevel(previousLevel);
+        Log.setOutput(System.out, System.err);
+    }
+
+    @Test
+    @DisplayName("Disabled debug logging should not build the message")
+    void testDebug_Disabled_ShouldNotEvaluateSupplier() {
+        // Arrange
+        Log log = Log.get(LogTest.class);
+        Log.setLevel(Log.Level.INFO);
+        AtomicInteger built = new AtomicInteger();
+
+        // Act
+        log.debug(() -> "expensive " + built.incrementAndGet());
+        Log.flush();
+
+        // Assert
+        assertFalse(log.isDebugEnabled());
+        assertEquals(0, built.get(), "Supplier should not run below the threshold");
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Enabled messages should be written by flush, warnings to stderr")
+    void testLog_Enabled_ShouldBeWrittenByFlush() {
+        // Arrange
+        Log log = Log.get(LogTest.class);
+        Log.setLevel(Log.Level.DEBUG);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            int line = i;
+            log.debug(() -> "line " + line);
+        }
+        log.warn("careful");
+        Log.flush();
+
+        // Assert
+        String written = out.toString(StandardCharsets.UTF_8);
+        assertTrue(written.contains("DEBUG"), written);
+        assertTrue(written.contains("LogTest: line 0"));
+        assertTrue(written.contains("LogTest: line 99"));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("WARN"));
+        assertFalse(written.contains("careful"), "Warnings go to stderr only");
+    }
+
+    @Test
+    @DisplayName("Level names should parse case-insensitively with a fallback")
+    void testParseLevel() {
+        assertEquals(Log.Level.DEBUG, Log.parseLevel("debug", Log.Level.INFO));
+        assertEquals(Log.Level.INFO, Log.parseLevel("verbose", Log.Level.INFO));
+        assertEquals(Log.Level.INFO, Log.parseLevel(null, Log.Level.INFO));
+    }
+}
@@ -0,0 +1,54 @@
+package project.projecte.Util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHasher class
+ *
+ * Testing Coverage:
+ * - Hash and verify round trip; salts make equal passwords hash differently
+ * - Wrong passwords and malformed hashes are rejected
+ * - needsRehash for plaintext and for hashes below the current cost
+ */
+@DisplayName("PasswordHasher Class Tests")
+class PasswordHasherTest {
+
+    @Test
+    @DisplayName("Hashes should verify their own password only")
+    void testHash_ShouldVerifyOnlyItsPassword() {
+        // Arrange
+        PasswordHasher hasher = new PasswordHasher(1_000);
+
+        // Act
+        String first = hasher.hash("cashier123");
+        String second = hasher.hash("cashier123");
+
+        // Assert
+        assertTrue(PasswordHasher.isHash(first));
+        assertFalse(first.contains(","), "Hashes must fit in a users.txt column");
+        assertNotEquals(first, second, "Each hash should have its own salt");
+        assertTrue(hasher.verify("cashier123", first));
+        assertTrue(hasher.verify("cashier123", second));
+        assertFalse(hasher.verify("Cashier123", first));
+        assertFalse(hasher.verify("cashier123", "cashier123"), "Plaintext is not a hash");
+        assertFalse(hasher.verify("cashier123", "pbkdf2-sha256$1000$%%%$abc"), "Malformed hash");
+    }
+
+    @Test
+    @DisplayName("Plaintext and cheaper hashes should need a rehash")
+    void testNeedsRehash_ShouldFlagPlaintextAndLowerCost() {
+        // Arrange
+        PasswordHasher cheap = new PasswordHasher(1_000);
+        PasswordHasher current = new PasswordHasher(2_000);
+        String cheapHash = cheap.hash("secret");
+
+        // Act & Assert
+        assertTrue(current.needsRehash("secret"));
+        assertTrue(current.needsRehash(cheapHash));
+        assertFalse(current.needsRehash(current.hash("secret")));
+        assertTrue(current.verify("secret", cheapHash), "Old hashes keep their own iteration count");
+    }
+}